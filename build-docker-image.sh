@@ -3,12 +3,12 @@ set -euo pipefail
 
 echo "Building Docker image for xp-ohlcv-generator-service ..."
 
-# Find the single jar in target/
+# Find the single jar in xp-ohlcv-generator-service/target/
 shopt -s nullglob
-JARS=(target/*.jar)
+JARS=(xp-ohlcv-generator-service/target/*.jar)
 
 if [ "${#JARS[@]}" -ne 1 ]; then
-  echo "❌ Expected exactly one JAR in target/, found ${#JARS[@]}." >&2
+  echo "❌ Expected exactly one JAR in xp-ohlcv-generator-service/target/, found ${#JARS[@]}." >&2
   exit 1
 fi
 
@@ -3,6 +3,6 @@ set -euo pipefail
 
 git reset --hard origin/main \
   && git clean -fd \
-  && rm -rf target \
+  && rm -rf target */target \
   && mvn clean
 
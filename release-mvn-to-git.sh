@@ -2,12 +2,12 @@
 set -euo pipefail
 
 # Remove target directory - try multiple times with delays for Windows file locks
-echo "Removing target directory..."
-rm -rf target 2>/dev/null || true
+echo "Removing target directories..."
+rm -rf target */target 2>/dev/null || true
 sleep 1
-rm -rf target 2>/dev/null || true
+rm -rf target */target 2>/dev/null || true
 sleep 1
-rm -rf target 2>/dev/null || true
+rm -rf target */target 2>/dev/null || true
 
 # Wait longer for Windows to fully release file handles before Maven runs
 # Maven's clean goal will also try to delete target, so handles must be released
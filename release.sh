@@ -4,7 +4,7 @@ set -e
 # Always run from the directory where this script is located
 cd "$(dirname "$0")"
 
-rm -rf target
+rm -rf target */target
 
 echo ">>> Releasing Maven build to Git..."
 ./release-mvn-to-git.sh
@@ -0,0 +1,30 @@
+package ca.digilogue.xp.book;
+
+/**
+ * Receives order book events published by an {@link OrderBook}.
+ * <p>
+ * Level updates are delivered with primitive arguments on the generator thread for every
+ * book event, so implementations must be cheap and must not block. A size of zero means
+ * the price level was removed. Applying all updates with a sequence greater than that of
+ * the last {@link BookSnapshot} reproduces the current book.
+ */
+public interface BookListener {
+
+    /**
+     * Called for every change to a single price level.
+     *
+     * @param symbol   The trading symbol
+     * @param sequence Book sequence number, incremented per update
+     * @param bid      true for the bid side, false for the ask side
+     * @param price    Price of the level
+     * @param size     New aggregate size at the level (0 = level removed)
+     */
+    void onLevelUpdate(String symbol, long sequence, boolean bid, double price, double size);
+
+    /**
+     * Called periodically with a full copy of the book.
+     *
+     * @param snapshot The book snapshot
+     */
+    void onSnapshot(BookSnapshot snapshot);
+}
@@ -0,0 +1,18 @@
+package ca.digilogue.xp.book;
+
+/**
+ * Full copy of an order book at a given sequence number. Index 0 of each side is the
+ * best level; empty levels have a size of zero.
+ *
+ * @param symbol      The trading symbol
+ * @param sequence    Sequence number of the last update included in the snapshot
+ * @param epochMillis Time of the tick the snapshot was taken on
+ * @param bidPrices   Bid prices, best (highest) first
+ * @param bidSizes    Aggregate sizes for each bid price
+ * @param askPrices   Ask prices, best (lowest) first
+ * @param askSizes    Aggregate sizes for each ask price
+ */
+public record BookSnapshot(String symbol, long sequence, long epochMillis,
+                           double[] bidPrices, double[] bidSizes,
+                           double[] askPrices, double[] askSizes) {
+}
@@ -0,0 +1,12 @@
+package ca.digilogue.xp.book;
+
+/**
+ * A single price level change of an order book.
+ *
+ * @param sequence Book sequence number of the update
+ * @param bid      true for the bid side, false for the ask side
+ * @param price    Price of the level
+ * @param size     New aggregate size at the level (0 = level removed)
+ */
+public record BookUpdate(long sequence, boolean bid, double price, double size) {
+}
@@ -0,0 +1,86 @@
+package ca.digilogue.xp.book;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded ring of the most recent level updates of one order book, so clients can fetch a
+ * {@link BookSnapshot} and then catch up with the updates that followed it.
+ * <p>
+ * Updates are stored in primitive arrays, so recording one does not allocate. Appends come
+ * from the book's generator thread while reads run on request threads; both are short
+ * critical sections on the buffer.
+ */
+public final class BookUpdateBuffer implements BookListener {
+
+    private final long[] sequences;
+    private final boolean[] sides;
+    private final double[] prices;
+    private final double[] sizes;
+    private final BookListener snapshotListener;
+
+    private long first; // Oldest sequence of the current run of contiguous updates
+    private long last; // Newest sequence, 0 if empty
+
+    /**
+     * @param capacity         Number of most recent updates kept
+     * @param snapshotListener Receives the book's snapshots (its level updates are not forwarded)
+     */
+    public BookUpdateBuffer(int capacity, BookListener snapshotListener) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Update buffer capacity must be positive: " + capacity);
+        }
+        this.sequences = new long[capacity];
+        this.sides = new boolean[capacity];
+        this.prices = new double[capacity];
+        this.sizes = new double[capacity];
+        this.snapshotListener = snapshotListener;
+    }
+
+    @Override
+    public synchronized void onLevelUpdate(String symbol, long sequence, boolean bid, double price, double size) {
+        if (last == 0 || sequence != last + 1) {
+            first = sequence; // New book (e.g. the symbol was re-added): older updates no longer apply
+        }
+        int slot = (int) Long.remainderUnsigned(sequence, sequences.length);
+        sequences[slot] = sequence;
+        sides[slot] = bid;
+        prices[slot] = price;
+        sizes[slot] = size;
+        last = sequence;
+    }
+
+    @Override
+    public void onSnapshot(BookSnapshot snapshot) {
+        snapshotListener.onSnapshot(snapshot);
+    }
+
+    /**
+     * Gets the updates after a sequence number, oldest first.
+     *
+     * @param sequence Sequence of the last update the client has (e.g. its snapshot's)
+     * @return The updates, or null if some of them are no longer retained
+     */
+    public synchronized List<BookUpdate> since(long sequence) {
+        if (sequence >= last) {
+            return List.of();
+        }
+        long oldest = Math.max(first, last - sequences.length + 1);
+        if (sequence + 1 < oldest) {
+            return null;
+        }
+        List<BookUpdate> updates = new ArrayList<>((int) (last - sequence));
+        for (long s = sequence + 1; s <= last; s++) {
+            int slot = (int) Long.remainderUnsigned(s, sequences.length);
+            updates.add(new BookUpdate(sequences[slot], sides[slot], prices[slot], sizes[slot]));
+        }
+        return updates;
+    }
+
+    /**
+     * Gets the sequence of the newest update, or 0 if none has been recorded.
+     */
+    public synchronized long getLastSequence() {
+        return last;
+    }
+}
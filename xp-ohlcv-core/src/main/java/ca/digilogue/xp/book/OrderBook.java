@@ -0,0 +1,249 @@
+package ca.digilogue.xp.book;
+
+import ca.digilogue.xp.generator.SeededRandom;
+
+/**
+ * Synthetic level-2 order book that evolves around a moving mid price.
+ * <p>
+ * Each side is a fixed-depth ladder of aggregate sizes stored in a primitive array, with
+ * prices implied by the best price and the tick size: no per-order objects are kept and
+ * advancing the book does not allocate. On every tick the mid price is walked from the
+ * candle's open to its close while a random number of order arrivals and cancellations
+ * (averaging the configured rates) are applied. Every level change is published to the
+ * {@link BookListener} and a full {@link BookSnapshot} is published every
+ * {@code snapshotEvery} ticks.
+ * <p>
+ * The book holds no random state of its own: it draws from the random sequence passed to
+ * {@link #advance}, normally the owning generator's, so a seeded generator produces the same
+ * book every run and a checkpoint of the generator covers the book's random state too.
+ * <p>
+ * Not thread-safe: an order book is owned and advanced by a single generator thread.
+ */
+public class OrderBook {
+
+    private static final double MEAN_ORDER_SIZE = 100.0;
+
+    private final String symbol;
+    private final int levels;
+    private final double tickSize;
+    private final double arrivalRate; // Mean order arrivals per tick
+    private final double cancelRate; // Mean cancellations per tick
+    private final int snapshotEvery; // Publish a snapshot every N ticks
+    private final BookListener listener;
+    private SeededRandom random; // The sequence of the current advance
+    private final Ladder bids;
+    private final Ladder asks;
+
+    private long sequence;
+    private long tickCount;
+    private long eventCount;
+    private boolean initialized;
+
+    public OrderBook(String symbol, int levels, double tickSize, double arrivalRate, double cancelRate,
+                     int snapshotEvery, BookListener listener) {
+        if (levels <= 0 || tickSize <= 0) {
+            throw new IllegalArgumentException("Order book levels and tick size must be positive");
+        }
+        this.symbol = symbol;
+        this.levels = levels;
+        this.tickSize = tickSize;
+        this.arrivalRate = arrivalRate;
+        this.cancelRate = cancelRate;
+        this.snapshotEvery = Math.max(1, snapshotEvery);
+        this.listener = listener;
+        this.bids = new Ladder(true);
+        this.asks = new Ladder(false);
+    }
+
+    /**
+     * Advances the book through one tick while the mid price moves from {@code open} to {@code close}.
+     *
+     * @param open        Mid price at the start of the tick
+     * @param close       Mid price at the end of the tick
+     * @param epochMillis Timestamp of the tick
+     * @param random      Random sequence to draw arrivals, cancellations, levels and sizes from
+     */
+    public void advance(double open, double close, long epochMillis, SeededRandom random) {
+        this.random = random;
+        if (!initialized) {
+            recentre(open);
+            initialized = true;
+        }
+
+        int arrivals = sampleCount(arrivalRate);
+        int cancels = sampleCount(cancelRate);
+        int events = arrivals + cancels;
+
+        for (int i = 0; i < events; i++) {
+            // Walk the mid linearly across the tick so the book drifts with the price
+            recentre(open + (close - open) * (i + 1) / events);
+
+            Ladder side = random.nextDouble() < 0.5 ? bids : asks;
+            int level = sampleLevel();
+            if ((int) (random.nextDouble() * (events - i)) < arrivals) {
+                arrivals--;
+                side.add(level, MEAN_ORDER_SIZE * (0.5 + random.nextDouble()));
+            } else {
+                side.cancel(level, MEAN_ORDER_SIZE * (0.5 + random.nextDouble()));
+            }
+        }
+        recentre(close);
+        eventCount += events;
+
+        if (tickCount++ % snapshotEvery == 0) {
+            listener.onSnapshot(snapshot(epochMillis));
+        }
+    }
+
+    /**
+     * Creates a full copy of the current book.
+     *
+     * @param epochMillis Timestamp to stamp the snapshot with
+     * @return The snapshot
+     */
+    public BookSnapshot snapshot(long epochMillis) {
+        double[] bidPrices = new double[levels];
+        double[] askPrices = new double[levels];
+        for (int i = 0; i < levels; i++) {
+            bidPrices[i] = bids.price(i);
+            askPrices[i] = asks.price(i);
+        }
+        return new BookSnapshot(symbol, sequence, epochMillis,
+            bidPrices, bids.sizes.clone(), askPrices, asks.sizes.clone());
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    /**
+     * Gets the total number of arrival and cancellation events applied so far.
+     */
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * Moves both sides so the best bid is the last tick at or below the mid and the best ask the next tick.
+     */
+    private void recentre(double mid) {
+        long bestBid = (long) Math.floor(mid / tickSize);
+        bids.moveTo(bestBid);
+        asks.moveTo(bestBid + 1);
+    }
+
+    /**
+     * Samples an event count averaging {@code rate}, rounding the fractional part randomly.
+     */
+    private int sampleCount(double rate) {
+        int count = (int) rate;
+        return random.nextDouble() < rate - count ? count + 1 : count;
+    }
+
+    /**
+     * Samples a level with geometrically decreasing probability away from the touch.
+     */
+    private int sampleLevel() {
+        int level = (int) (-Math.log(1.0 - random.nextDouble()) * levels / 4.0);
+        return Math.min(level, levels - 1);
+    }
+
+    private double seedSize() {
+        return MEAN_ORDER_SIZE * (1.0 + random.nextDouble() * 4.0);
+    }
+
+    /**
+     * One side of the book: aggregate sizes per level, best level first.
+     */
+    private final class Ladder {
+        private final boolean bid;
+        private final int direction; // Price step away from the touch, in ticks
+        private final double[] sizes = new double[levels];
+        private long best; // Best price in ticks
+
+        Ladder(boolean bid) {
+            this.bid = bid;
+            this.direction = bid ? -1 : 1;
+        }
+
+        double price(int level) {
+            return (best + (long) direction * level) * tickSize;
+        }
+
+        void add(int level, double size) {
+            sizes[level] += size;
+            publish(level);
+        }
+
+        void cancel(int level, double size) {
+            if (sizes[level] > 0) {
+                sizes[level] = Math.max(0.0, sizes[level] - size);
+                publish(level);
+            }
+        }
+
+        /**
+         * Re-anchors the ladder on a new best price, dropping levels that crossed or fell
+         * off the far end and seeding the levels that came into range.
+         */
+        void moveTo(long newBest) {
+            if (!initialized) {
+                best = newBest;
+                for (int i = 0; i < levels; i++) {
+                    sizes[i] = seedSize();
+                    publish(i);
+                }
+                return;
+            }
+
+            // Positive shift: existing levels move further from the touch
+            long shift = (best - newBest) * direction;
+            if (shift == 0) {
+                return;
+            }
+
+            if (Math.abs(shift) >= levels) {
+                for (int i = 0; i < levels; i++) {
+                    publishRemoved(i);
+                }
+                best = newBest;
+                for (int i = 0; i < levels; i++) {
+                    sizes[i] = seedSize();
+                    publish(i);
+                }
+                return;
+            }
+
+            int s = (int) Math.abs(shift);
+            if (shift > 0) {
+                for (int i = levels - s; i < levels; i++) {
+                    publishRemoved(i);
+                }
+                System.arraycopy(sizes, 0, sizes, s, levels - s);
+                best = newBest;
+                for (int i = 0; i < s; i++) {
+                    sizes[i] = seedSize();
+                    publish(i);
+                }
+            } else {
+                for (int i = 0; i < s; i++) {
+                    publishRemoved(i);
+                }
+                System.arraycopy(sizes, s, sizes, 0, levels - s);
+                best = newBest;
+                for (int i = levels - s; i < levels; i++) {
+                    sizes[i] = seedSize();
+                    publish(i);
+                }
+            }
+        }
+
+        private void publish(int level) {
+            listener.onLevelUpdate(symbol, ++sequence, bid, price(level), sizes[level]);
+        }
+
+        private void publishRemoved(int level) {
+            listener.onLevelUpdate(symbol, ++sequence, bid, price(level), 0.0);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package ca.digilogue.xp.checkpoint;
+
+import ca.digilogue.xp.generator.GeneratorState;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Memory-mapped file holding fixed-size generator state records.
+ * <p>
+ * Layout: a 64-byte file header followed by two regions, each with a 64-byte region
+ * header and {@code capacity} records of {@value #RECORD_SIZE} bytes. A checkpoint is
+ * written into the inactive region, flushed, and only then made active by flipping the
+ * file header, so a crash mid-write always leaves the previous checkpoint intact. Each
+ * region carries a CRC32 of its records, which is verified on load.
+ * <p>
+ * Not thread-safe: checkpoints are written by a single checkpointer thread.
+ */
+public class CheckpointFile implements AutoCloseable {
+
+    static final int MAGIC = 0x4F484356; // "OHCV"
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int REGION_HEADER_SIZE = 64;
+    static final int RECORD_SIZE = 128;
+    static final int MAX_SYMBOL_BYTES = 46;
+    // Largest capacity whose two regions still fit a single mapping with int offsets
+    static final int MAX_CAPACITY = (Integer.MAX_VALUE - HEADER_SIZE - 2 * REGION_HEADER_SIZE) / (2 * RECORD_SIZE);
+
+    // File header offsets
+    private static final int OFF_MAGIC = 0;
+    private static final int OFF_VERSION = 4;
+    private static final int OFF_RECORD_SIZE = 8;
+    private static final int OFF_CAPACITY = 12;
+    private static final int OFF_ACTIVE_REGION = 16;
+
+    // Region header offsets
+    private static final int OFF_SEQUENCE = 0;
+    private static final int OFF_COUNT = 8;
+    private static final int OFF_CRC = 12;
+
+    // Record offsets
+    private static final int OFF_SYMBOL_LENGTH = 0;
+    private static final int OFF_SYMBOL = 2;
+    private static final int OFF_CURRENT_PRICE = 48;
+    private static final int OFF_BASE_PRICE = 56;
+    private static final int OFF_VOLATILITY = 64;
+    private static final int OFF_RANDOM_STATE = 72;
+    private static final int OFF_INTERVAL = 80;
+    private static final int OFF_LAST_TICK = 88;
+    private static final int OFF_MODEL_STATE_A = 96;
+    private static final int OFF_MODEL_STATE_B = 104;
+    // Bytes 112-127 are reserved
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final CRC32 crc = new CRC32();
+    private long sequence;
+
+    private CheckpointFile(FileChannel channel, MappedByteBuffer buffer, int capacity) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Opens an existing checkpoint file, or creates an empty one sized for {@code capacity} generators.
+     * An existing file with a different layout or capacity is recreated.
+     *
+     * @param path     Location of the checkpoint file
+     * @param capacity Maximum number of generator records per checkpoint, in [1, {@value #MAX_CAPACITY}]
+     * @return The opened file
+     * @throws IOException              if the file cannot be created or mapped
+     * @throws IllegalArgumentException if the capacity is out of range
+     */
+    public static CheckpointFile open(Path path, int capacity) throws IOException {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Checkpoint capacity must be in [1, " + MAX_CAPACITY + "]: " + capacity);
+        }
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        long size = HEADER_SIZE + 2L * regionSize(capacity);
+        boolean existing = Files.exists(path) && Files.size(path) == size;
+
+        FileChannel channel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        CheckpointFile file = new CheckpointFile(channel, buffer, capacity);
+        if (!existing || !file.hasValidHeader()) {
+            file.initialize();
+        } else {
+            file.sequence = buffer.getLong(file.regionOffset(file.activeRegion()) + OFF_SEQUENCE);
+        }
+        return file;
+    }
+
+    /**
+     * Writes a checkpoint of the given states and makes it the active one.
+     *
+     * @param states Generator states to write (at most {@code capacity} are written)
+     * @param count  Number of entries of {@code states} to write
+     * @return The number of records written
+     * @throws IllegalArgumentException if a symbol does not {@link #fits(String) fit} a record; nothing is written
+     */
+    public int write(GeneratorState[] states, int count) {
+        int region = 1 - activeRegion();
+        int regionOffset = regionOffset(region);
+        int written = Math.min(count, capacity);
+        for (int i = 0; i < written; i++) {
+            if (!fits(states[i].symbol)) {
+                throw new IllegalArgumentException("Symbol does not fit a checkpoint record: " + states[i].symbol);
+            }
+        }
+
+        for (int i = 0; i < written; i++) {
+            writeRecord(regionOffset + REGION_HEADER_SIZE + i * RECORD_SIZE, states[i]);
+        }
+        buffer.putLong(regionOffset + OFF_SEQUENCE, ++sequence);
+        buffer.putInt(regionOffset + OFF_COUNT, written);
+        buffer.putInt(regionOffset + OFF_CRC, checksum(regionOffset, written));
+        buffer.force(regionOffset, REGION_HEADER_SIZE + written * RECORD_SIZE);
+
+        // Flip only once the new region is durable
+        buffer.putInt(OFF_ACTIVE_REGION, region);
+        buffer.force(0, HEADER_SIZE);
+        return written;
+    }
+
+    /**
+     * Reads the active checkpoint.
+     *
+     * @return Map of symbol to its checkpointed state, empty if there is no valid checkpoint
+     */
+    public Map<String, GeneratorState> read() {
+        Map<String, GeneratorState> states = new LinkedHashMap<>();
+        int regionOffset = regionOffset(activeRegion());
+        int count = buffer.getInt(regionOffset + OFF_COUNT);
+        if (count <= 0 || count > capacity || buffer.getInt(regionOffset + OFF_CRC) != checksum(regionOffset, count)) {
+            return states;
+        }
+        for (int i = 0; i < count; i++) {
+            GeneratorState state = readRecord(regionOffset + REGION_HEADER_SIZE + i * RECORD_SIZE);
+            states.put(state.symbol, state);
+        }
+        return states;
+    }
+
+    /**
+     * Whether a symbol fits a record: at most {@value #MAX_SYMBOL_BYTES} bytes of UTF-8.
+     * Longer symbols are not truncated, since the truncated name could restore another symbol.
+     */
+    public static boolean fits(String symbol) {
+        return symbol != null && symbol.getBytes(StandardCharsets.UTF_8).length <= MAX_SYMBOL_BYTES;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the sequence number of the active checkpoint (0 if none has been written).
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void writeRecord(int offset, GeneratorState state) {
+        byte[] symbol = state.symbol.getBytes(StandardCharsets.UTF_8);
+        buffer.putShort(offset + OFF_SYMBOL_LENGTH, (short) symbol.length);
+        buffer.put(offset + OFF_SYMBOL, symbol);
+        buffer.putDouble(offset + OFF_CURRENT_PRICE, state.currentPrice);
+        buffer.putDouble(offset + OFF_BASE_PRICE, state.basePrice);
+        buffer.putDouble(offset + OFF_VOLATILITY, state.volatility);
+        buffer.putLong(offset + OFF_RANDOM_STATE, state.randomState);
+        buffer.putLong(offset + OFF_INTERVAL, state.intervalMillis);
+        buffer.putLong(offset + OFF_LAST_TICK, state.lastTick);
+        buffer.putDouble(offset + OFF_MODEL_STATE_A, state.modelStateA);
+        buffer.putDouble(offset + OFF_MODEL_STATE_B, state.modelStateB);
+    }
+
+    private GeneratorState readRecord(int offset) {
+        GeneratorState state = new GeneratorState();
+        byte[] symbol = new byte[buffer.getShort(offset + OFF_SYMBOL_LENGTH)];
+        buffer.get(offset + OFF_SYMBOL, symbol);
+        state.symbol = new String(symbol, StandardCharsets.UTF_8);
+        state.currentPrice = buffer.getDouble(offset + OFF_CURRENT_PRICE);
+        state.basePrice = buffer.getDouble(offset + OFF_BASE_PRICE);
+        state.volatility = buffer.getDouble(offset + OFF_VOLATILITY);
+        state.randomState = buffer.getLong(offset + OFF_RANDOM_STATE);
+        state.intervalMillis = buffer.getLong(offset + OFF_INTERVAL);
+        state.lastTick = buffer.getLong(offset + OFF_LAST_TICK);
+        state.modelStateA = buffer.getDouble(offset + OFF_MODEL_STATE_A);
+        state.modelStateB = buffer.getDouble(offset + OFF_MODEL_STATE_B);
+        return state;
+    }
+
+    private int checksum(int regionOffset, int count) {
+        crc.reset();
+        crc.update(buffer.slice(regionOffset + REGION_HEADER_SIZE, count * RECORD_SIZE));
+        return (int) crc.getValue();
+    }
+
+    private boolean hasValidHeader() {
+        return buffer.getInt(OFF_MAGIC) == MAGIC
+            && buffer.getInt(OFF_VERSION) == FORMAT_VERSION
+            && buffer.getInt(OFF_RECORD_SIZE) == RECORD_SIZE
+            && buffer.getInt(OFF_CAPACITY) == capacity;
+    }
+
+    private void initialize() {
+        for (int i = 0; i < buffer.capacity(); i += Long.BYTES) {
+            buffer.putLong(i, 0L);
+        }
+        buffer.putInt(OFF_MAGIC, MAGIC);
+        buffer.putInt(OFF_VERSION, FORMAT_VERSION);
+        buffer.putInt(OFF_RECORD_SIZE, RECORD_SIZE);
+        buffer.putInt(OFF_CAPACITY, capacity);
+        buffer.putInt(OFF_ACTIVE_REGION, 0);
+        buffer.force();
+    }
+
+    private int activeRegion() {
+        return buffer.getInt(OFF_ACTIVE_REGION) == 1 ? 1 : 0;
+    }
+
+    private int regionOffset(int region) {
+        return (int) (HEADER_SIZE + region * regionSize(capacity)); // Fits: capacity <= MAX_CAPACITY
+    }
+
+    private static long regionSize(int capacity) {
+        return REGION_HEADER_SIZE + (long) capacity * RECORD_SIZE;
+    }
+}
@@ -0,0 +1,40 @@
+package ca.digilogue.xp.clock;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simulated time running at a fixed multiple of real time from a chosen start instant,
+ * e.g. a multiplier of 60 plays one simulated minute per real second.
+ */
+public class ScaledClock implements SimulationClock {
+
+    private final long startMillis;
+    private final long startNanos;
+    private final double multiplier;
+
+    public ScaledClock(long startMillis, double multiplier) {
+        if (multiplier <= 0) {
+            throw new IllegalArgumentException("Clock multiplier must be positive");
+        }
+        this.startMillis = startMillis;
+        this.startNanos = System.nanoTime();
+        this.multiplier = multiplier;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return startMillis + (long) ((System.nanoTime() - startNanos) / 1_000_000.0 * multiplier);
+    }
+
+    @Override
+    public void sleepUntil(long epochMillis) throws InterruptedException {
+        long remaining = epochMillis - currentTimeMillis();
+        if (remaining > 0) {
+            TimeUnit.NANOSECONDS.sleep((long) (remaining * 1_000_000.0 / multiplier));
+        }
+    }
+
+    public double getMultiplier() {
+        return multiplier;
+    }
+}
@@ -0,0 +1,46 @@
+package ca.digilogue.xp.clock;
+
+/**
+ * Source of time and pacing for generation, collection and publishing.
+ * <p>
+ * Every timestamp and every sleep in the pipeline goes through the clock, so the same
+ * code can run in real time ({@link SystemClock}), at a fixed speed-up ({@link ScaledClock})
+ * or in discrete virtual time that advances as fast as the pipeline can absorb
+ * ({@link VirtualClock}). Threads that pace themselves with the clock register as
+ * participants for the lifetime of their loop.
+ */
+public interface SimulationClock {
+
+    /**
+     * Gets the current time in epoch milliseconds.
+     */
+    long currentTimeMillis();
+
+    /**
+     * Blocks until the clock reaches {@code epochMillis}; returns immediately if it already has.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    void sleepUntil(long epochMillis) throws InterruptedException;
+
+    /**
+     * Registers the calling thread as a participant that paces itself with this clock.
+     */
+    default void register() {
+    }
+
+    /**
+     * Deregisters a participant previously added with {@link #register()}.
+     */
+    default void deregister() {
+    }
+
+    /**
+     * Blocks for {@code millis} of clock time.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    default void sleep(long millis) throws InterruptedException {
+        sleepUntil(currentTimeMillis() + millis);
+    }
+}
@@ -0,0 +1,22 @@
+package ca.digilogue.xp.clock;
+
+/**
+ * Real wall-clock time.
+ */
+public class SystemClock implements SimulationClock {
+
+    public static final SystemClock INSTANCE = new SystemClock();
+
+    @Override
+    public long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    @Override
+    public void sleepUntil(long epochMillis) throws InterruptedException {
+        long remaining = epochMillis - System.currentTimeMillis();
+        if (remaining > 0) {
+            Thread.sleep(remaining);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package ca.digilogue.xp.clock;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Discrete-event virtual time that advances as fast as the pipeline can absorb.
+ * <p>
+ * Time only moves when every registered participant is blocked in {@link #sleepUntil}; it
+ * then jumps straight to the earliest pending deadline. A participant that is still busy
+ * (generating, writing to InfluxDB, blocked on a full Kafka buffer, ...) therefore holds
+ * virtual time back, so downstream systems are never outrun. Only registered
+ * participants may sleep on a virtual clock.
+ */
+public class VirtualClock implements SimulationClock {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition advanced = lock.newCondition();
+    private final PriorityQueue<Long> deadlines = new PriorityQueue<>();
+
+    private volatile long now;
+    private int participants;
+    private int waiting;
+
+    public VirtualClock(long startMillis) {
+        this.now = startMillis;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return now;
+    }
+
+    @Override
+    public void sleepUntil(long epochMillis) throws InterruptedException {
+        lock.lock();
+        try {
+            if (epochMillis <= now) {
+                return;
+            }
+            Long deadline = epochMillis;
+            deadlines.add(deadline);
+            waiting++;
+            try {
+                while (now < epochMillis) {
+                    if (!advanceIfIdle()) {
+                        advanced.await();
+                    }
+                }
+            } finally {
+                waiting--;
+                deadlines.remove(deadline);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void register() {
+        lock.lock();
+        try {
+            participants++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void deregister() {
+        lock.lock();
+        try {
+            participants--;
+            advanceIfIdle();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Jumps to the earliest deadline if every participant is waiting and none is already due.
+     * Must be called with the lock held.
+     *
+     * @return true if time advanced
+     */
+    private boolean advanceIfIdle() {
+        Long earliest = deadlines.peek();
+        if (waiting == 0 || waiting < participants || earliest == null || earliest <= now) {
+            return false;
+        }
+        now = earliest;
+        advanced.signalAll();
+        return true;
+    }
+}
@@ -0,0 +1,48 @@
+package ca.digilogue.xp.cluster;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An instance taking part in symbol sharding.
+ *
+ * @param id  Instance id (e.g. "ohlcv-1"); its position on the hash ring derives from it
+ * @param url Base URL other instances reach it on for state handoff (e.g. "http://ohlcv-1:8083")
+ */
+public record ClusterMember(String id, String url) {
+
+    /**
+     * Parses a member spec of the form {@code id=url}.
+     *
+     * @throws IllegalArgumentException if the spec is malformed
+     */
+    public static ClusterMember parse(String spec) {
+        int separator = spec.indexOf('=');
+        if (separator <= 0 || separator == spec.length() - 1) {
+            throw new IllegalArgumentException("Invalid cluster member (expected id=url): " + spec);
+        }
+        String url = spec.substring(separator + 1).trim();
+        while (url.endsWith("/")) {
+            url = url.substring(0, url.length() - 1);
+        }
+        return new ClusterMember(spec.substring(0, separator).trim(), url);
+    }
+
+    /**
+     * Parses member specs separated by commas or line breaks. Blank entries and lines
+     * starting with {@code #} are ignored.
+     */
+    public static List<ClusterMember> parseList(String specs) {
+        List<ClusterMember> members = new ArrayList<>();
+        if (specs == null) {
+            return members;
+        }
+        for (String spec : specs.split("[,\\r\\n]+")) {
+            String trimmed = spec.trim();
+            if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+                members.add(parse(trimmed));
+            }
+        }
+        return members;
+    }
+}
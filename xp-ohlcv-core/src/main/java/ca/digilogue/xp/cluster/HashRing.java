@@ -0,0 +1,153 @@
+package ca.digilogue.xp.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable consistent-hash ring assigning symbols to cluster members.
+ * <p>
+ * Every member is placed on a 64-bit ring at {@code virtualNodes} pseudo-random points
+ * derived from its id, and a symbol belongs to the member owning the first point at or
+ * after the symbol's hash. Virtual nodes even out the share of each member, and when a
+ * member joins or leaves only the symbols on the arcs it gains or loses change owner
+ * (about 1/N of them), so rebalancing moves the minimum of generator state.
+ * <p>
+ * Every instance building a ring from the same members gets the same assignment and the
+ * same {@link #getVersion() version}, which instances compare before handing off state.
+ */
+public final class HashRing {
+
+    private final List<ClusterMember> members;
+    private final int virtualNodes;
+    private final long[] points; // Sorted ring positions
+    private final int[] owners; // Member index of each position
+    private final String version;
+
+    /**
+     * @param members      The members; duplicates by id are collapsed (first one wins)
+     * @param virtualNodes Points per member on the ring
+     */
+    public HashRing(Collection<ClusterMember> members, int virtualNodes) {
+        Map<String, ClusterMember> unique = new LinkedHashMap<>();
+        for (ClusterMember member : members) {
+            unique.putIfAbsent(member.id(), member);
+        }
+        List<ClusterMember> sorted = new ArrayList<>(unique.values());
+        sorted.sort(Comparator.comparing(ClusterMember::id));
+        this.members = List.copyOf(sorted);
+        this.virtualNodes = Math.max(1, virtualNodes);
+
+        int count = this.members.size() * this.virtualNodes;
+        long[] rawPoints = new long[count];
+        for (int m = 0; m < this.members.size(); m++) {
+            String id = this.members.get(m).id();
+            for (int v = 0; v < this.virtualNodes; v++) {
+                rawPoints[m * this.virtualNodes + v] = hash(id + '#' + v);
+            }
+        }
+
+        // Sort positions, carrying the owning member along (ties broken by member order)
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.<Integer>comparingLong(i -> rawPoints[i]).thenComparingInt(i -> i));
+        this.points = new long[count];
+        this.owners = new int[count];
+        for (int i = 0; i < count; i++) {
+            points[i] = rawPoints[order[i]];
+            owners[i] = order[i] / this.virtualNodes;
+        }
+
+        StringBuilder identity = new StringBuilder().append(this.virtualNodes);
+        for (ClusterMember member : this.members) {
+            identity.append(';').append(member.id()).append('=').append(member.url());
+        }
+        this.version = Long.toHexString(hash(identity.toString()));
+    }
+
+    /**
+     * Gets the member owning a symbol.
+     *
+     * @param symbol The trading symbol (e.g., "MEGA-USD")
+     * @return The owning member, or null if the ring has no members
+     */
+    public ClusterMember ownerOf(String symbol) {
+        if (points.length == 0) {
+            return null;
+        }
+        long h = hash(symbol);
+        int index = Arrays.binarySearch(points, h);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        if (index == points.length) {
+            index = 0; // Wrap around
+        }
+        return members.get(owners[index]);
+    }
+
+    /**
+     * Whether the member with the given id owns a symbol.
+     */
+    public boolean isOwner(String memberId, String symbol) {
+        ClusterMember owner = ownerOf(symbol);
+        return owner != null && owner.id().equals(memberId);
+    }
+
+    /**
+     * Gets a member by id.
+     *
+     * @return The member, or null if it is not on the ring
+     */
+    public ClusterMember member(String id) {
+        for (ClusterMember member : members) {
+            if (member.id().equals(id)) {
+                return member;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the members, sorted by id.
+     */
+    public List<ClusterMember> getMembers() {
+        return members;
+    }
+
+    public int getVirtualNodes() {
+        return virtualNodes;
+    }
+
+    /**
+     * Gets a fingerprint of the members and virtual node count; equal versions mean equal assignments.
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes, finished with the MurmurHash3 mixer so that
+     * similar keys (e.g. "SYN00001-USD", "SYN00002-USD") spread over the whole ring.
+     */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,96 @@
+package ca.digilogue.xp.encoding;
+
+import ca.digilogue.xp.generator.OhlcvCandle;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+/**
+ * Encodes candles into a compact big-endian binary format:
+ * <pre>
+ * int    magic ("OHLC")
+ * short  version
+ * int    candle count
+ * long   tick
+ * per candle:
+ *   short  symbol length, symbol (UTF-8)
+ *   long   epoch millis
+ *   double open, high, low, close, volume
+ *   short  indicator count
+ *   per indicator: short name length, name (UTF-8), double value (NaN while warming up)
+ * </pre>
+ */
+public final class BinaryCandleEncoder {
+
+    public static final int MAGIC = 0x4F48_4C43; // "OHLC"
+    public static final short VERSION = 1;
+
+    private static final int HEADER_SIZE = 4 + 2 + 4 + 8;
+    private static final int CANDLE_FIXED_SIZE = 2 + 8 + 5 * 8 + 2;
+
+    private BinaryCandleEncoder() {
+    }
+
+    /**
+     * Encodes candles into a new heap buffer, flipped and ready to be read.
+     *
+     * @param tick    The tick the candles belong to
+     * @param candles The candles to encode
+     * @return The encoded bytes
+     */
+    public static ByteBuffer encode(long tick, Collection<OhlcvCandle> candles) {
+        int size = HEADER_SIZE;
+        for (OhlcvCandle candle : candles) {
+            size += CANDLE_FIXED_SIZE + utf8Length(candle.getSymbol());
+            for (int i = 0; i < candle.indicatorCount(); i++) {
+                size += 2 + utf8Length(candle.indicatorName(i)) + 8;
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putInt(candles.size());
+        buffer.putLong(tick);
+        for (OhlcvCandle candle : candles) {
+            putString(buffer, candle.getSymbol());
+            buffer.putLong(candle.getEpochMillis());
+            buffer.putDouble(candle.getOpen());
+            buffer.putDouble(candle.getHigh());
+            buffer.putDouble(candle.getLow());
+            buffer.putDouble(candle.getClose());
+            buffer.putDouble(candle.getVolume());
+            buffer.putShort((short) candle.indicatorCount());
+            for (int i = 0; i < candle.indicatorCount(); i++) {
+                putString(buffer, candle.indicatorName(i));
+                buffer.putDouble(candle.indicatorValue(i));
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static int utf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
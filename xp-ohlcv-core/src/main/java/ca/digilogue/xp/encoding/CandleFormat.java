@@ -0,0 +1,32 @@
+package ca.digilogue.xp.encoding;
+
+/**
+ * Wire formats candle snapshots are encoded to.
+ */
+public enum CandleFormat {
+    JSON("application/json"),
+    BINARY("application/x-ohlcv");
+
+    private final String contentType;
+
+    CandleFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    /**
+     * Picks the format for an HTTP Accept header: binary only when explicitly accepted, JSON otherwise.
+     *
+     * @param accept The Accept header value (may be null)
+     * @return The format to respond with
+     */
+    public static CandleFormat fromAccept(String accept) {
+        if (accept != null && accept.contains(BINARY.contentType)) {
+            return BINARY;
+        }
+        return JSON;
+    }
+}
@@ -0,0 +1,38 @@
+package ca.digilogue.xp.encoding;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A snapshot (or part of one) encoded once and shared by every response for the same tick.
+ *
+ * @param tick   The tick the encoded candles belong to
+ * @param format The wire format
+ * @param etag   Strong entity tag derived from the tick and content
+ * @param body   Read-only heap buffer holding the encoded bytes; use {@link #body()}{@code .duplicate()}
+ *               so concurrent writers do not share a position
+ */
+public record EncodedSnapshot(long tick, CandleFormat format, String etag, ByteBuffer body) {
+
+    public int size() {
+        return body.remaining();
+    }
+
+    /**
+     * Checks an If-None-Match header against this entity's tag.
+     *
+     * @param ifNoneMatch The header value (may be null)
+     * @return True if the client already has this exact encoding
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String trimmed = tag.trim();
+            if (trimmed.equals("*") || trimmed.equals(etag) || trimmed.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
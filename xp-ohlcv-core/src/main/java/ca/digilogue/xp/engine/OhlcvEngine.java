@@ -0,0 +1,503 @@
+package ca.digilogue.xp.engine;
+
+import ca.digilogue.xp.clock.SimulationClock;
+import ca.digilogue.xp.clock.SystemClock;
+import ca.digilogue.xp.generator.CandleSnapshot;
+import ca.digilogue.xp.generator.GeneratorOptions;
+import ca.digilogue.xp.generator.OhlcvCandle;
+import ca.digilogue.xp.generator.OhlcvGenerator;
+import ca.digilogue.xp.indicator.IndicatorSet;
+import ca.digilogue.xp.indicator.IndicatorSpec;
+import ca.digilogue.xp.jfr.CollectorCycleEvent;
+import ca.digilogue.xp.price.PriceModel;
+import ca.digilogue.xp.price.PriceModels;
+import ca.digilogue.xp.sink.CandleSink;
+import ca.digilogue.xp.sink.SnapshotSink;
+
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import jdk.jfr.EventType;
+
+/**
+ * Embeddable OHLCV engine: runs one generator per symbol and a collector that assembles a
+ * tick-consistent {@link CandleSnapshot} once per tick and hands it to the snapshot sinks.
+ * <p>
+ * Depends on the JDK only, so it starts in milliseconds and can run inside any JVM or test:
+ * <pre>
+ * OhlcvEngine engine = OhlcvEngine.builder()
+ *     .symbol("MEGA-USD", 100.0, 2.0)
+ *     .options(new GeneratorOptions(250, false, 0))
+ *     .snapshotSink((snapshot, timestampMillis) -&gt; System.out.println(snapshot))
+ *     .build();
+ * engine.start();
+ * </pre>
+ * Persistence and publishing are plugged in through {@link CandleSink} (per candle, on the
+ * generator threads) and {@link SnapshotSink} (per tick, on the collector thread).
+ * Symbols can be added and removed while the engine runs (e.g. when instances rebalance).
+ */
+public class OhlcvEngine {
+
+    private static final Logger log = System.getLogger(OhlcvEngine.class.getName());
+    private static final EventType CYCLE_EVENT = EventType.getEventType(CollectorCycleEvent.class);
+
+    // How often per interval the collector checks for a new tick, and what share of an interval it waits for slow generators
+    private static final long COLLECTOR_POLLS_PER_INTERVAL = 10;
+    private static final double COLLECTOR_GRACE_FRACTION = 0.5;
+
+    private final List<OhlcvGenerator> generators = new CopyOnWriteArrayList<>();
+    private final Map<String, OhlcvGenerator> generatorsBySymbol = new ConcurrentHashMap<>();
+    private final Map<OhlcvGenerator, Future<?>> running = new ConcurrentHashMap<>();
+    private final Function<SymbolSpec, OhlcvGenerator> factory;
+    private final List<SnapshotSink> snapshotSinks;
+    private final SimulationClock clock;
+    private final long intervalMillis;
+
+    // Latest tick-consistent snapshot of candles from all generators (replaced atomically per tick)
+    private volatile CandleSnapshot latestSnapshot = CandleSnapshot.EMPTY;
+    private volatile boolean collectorRunning;
+    private ExecutorService executorService;
+    private Thread collectorThread;
+
+    private OhlcvEngine(List<SymbolSpec> symbols, Function<SymbolSpec, OhlcvGenerator> factory,
+                        List<SnapshotSink> snapshotSinks, SimulationClock clock, long intervalMillis) {
+        this.factory = factory;
+        for (SymbolSpec symbol : symbols) {
+            OhlcvGenerator generator = factory.apply(symbol);
+            generators.add(generator);
+            generatorsBySymbol.put(generator.getSymbol(), generator);
+        }
+        this.snapshotSinks = List.copyOf(snapshotSinks);
+        this.clock = clock;
+        this.intervalMillis = intervalMillis;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Starts the generators and the collector. Returns once every generator is running.
+     */
+    public synchronized void start() {
+        if (executorService != null) {
+            throw new IllegalStateException("Engine already started");
+        }
+        long start = System.nanoTime();
+
+        // Hold the clock while the pipeline starts so virtual time cannot advance before every thread paces on it
+        clock.register();
+        try {
+            // Create thread pool with one thread per generator (growing as symbols are added)
+            executorService = Executors.newCachedThreadPool(r -> {
+                Thread t = new Thread(r);
+                t.setDaemon(true); // Allow JVM to exit even if threads are running
+                return t;
+            });
+            for (OhlcvGenerator generator : generators) {
+                running.put(generator, executorService.submit(generator));
+            }
+            startCollector();
+            awaitGeneratorsRunning();
+        } finally {
+            clock.deregister();
+        }
+
+        log.log(Level.INFO, "OHLCV engine started ({0} generators, {1} ms interval) in {2} ms",
+            generators.size(), intervalMillis, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Stops the collector and the generators, waiting briefly for their threads to finish.
+     */
+    public synchronized void stop() {
+        stopCollector();
+
+        // Stop all generators
+        for (OhlcvGenerator generator : generators) {
+            generator.stop();
+        }
+
+        // Shutdown executor service
+        if (executorService != null) {
+            executorService.shutdown();
+            try {
+                if (!executorService.awaitTermination(5, TimeUnit.SECONDS)) {
+                    executorService.shutdownNow();
+                    log.log(Level.WARNING, "Forced shutdown of executor service");
+                }
+            } catch (InterruptedException e) {
+                executorService.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        log.log(Level.INFO, "All OHLCV generators stopped");
+    }
+
+    /**
+     * Adds a symbol, starting its generator right away if the engine is running.
+     *
+     * @param symbol The symbol to generate
+     * @param init   Applied to the new generator before it starts (e.g. to restore handed-off state)
+     * @return The new generator
+     * @throws IllegalStateException if the symbol is already being generated
+     */
+    public synchronized OhlcvGenerator addSymbol(SymbolSpec symbol, Consumer<OhlcvGenerator> init) {
+        if (generatorsBySymbol.containsKey(symbol.symbol())) {
+            throw new IllegalStateException("Symbol already generated: " + symbol.symbol());
+        }
+        OhlcvGenerator generator = factory.apply(symbol);
+        init.accept(generator);
+        generatorsBySymbol.put(generator.getSymbol(), generator);
+        generators.add(generator);
+        if (executorService != null && !executorService.isShutdown()) {
+            running.put(generator, executorService.submit(generator));
+        }
+        return generator;
+    }
+
+    /**
+     * Removes symbols and waits (up to 5 seconds) for their generators to stop, so the state
+     * captured from them afterwards is final.
+     *
+     * @param symbols The symbols to remove; unknown ones are ignored
+     * @return The removed generators
+     */
+    public synchronized List<OhlcvGenerator> removeSymbols(Collection<String> symbols) {
+        List<OhlcvGenerator> removed = new ArrayList<>();
+        List<OhlcvGenerator> stopping = new ArrayList<>();
+        for (String symbol : symbols) {
+            OhlcvGenerator generator = generatorsBySymbol.remove(symbol);
+            if (generator == null) {
+                continue;
+            }
+            generators.remove(generator);
+            removed.add(generator);
+            generator.stop();
+            Future<?> future = running.remove(generator);
+            if (future != null) {
+                future.cancel(true); // Wake it from its sleep until the next tick
+                stopping.add(generator);
+            }
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        for (OhlcvGenerator generator : stopping) {
+            try {
+                if (!generator.awaitStopped(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    log.log(Level.WARNING, "Generator for {0} did not stop in time", generator.getSymbol());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Waits (up to 5 seconds) until every generator thread has started and registered with the clock.
+     */
+    private void awaitGeneratorsRunning() {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (generators.stream().anyMatch(g -> !g.isRunning()) && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Starts a background thread that assembles a tick-consistent snapshot of the latest
+     * candles from all generators once per tick and hands it to the snapshot sinks.
+     */
+    private void startCollector() {
+        collectorRunning = true;
+        collectorThread = new Thread(() -> {
+            log.log(Level.INFO, "Candle collector thread started");
+            while (collectorRunning) {
+                try {
+                    CollectorCycleEvent cycleEvent = CYCLE_EVENT.isEnabled() ? new CollectorCycleEvent() : null;
+                    if (cycleEvent != null) {
+                        cycleEvent.begin();
+                    }
+                    CandleSnapshot snapshot = collectSnapshot();
+
+                    if (snapshot != null) {
+                        latestSnapshot = snapshot;
+                        publish(snapshot);
+                    }
+
+                    if (cycleEvent != null) {
+                        cycleEvent.end();
+                    }
+                    if (cycleEvent != null && cycleEvent.shouldCommit()) {
+                        if (snapshot != null) {
+                            cycleEvent.tick = snapshot.tick();
+                            cycleEvent.batchSize = snapshot.candles().size();
+                            cycleEvent.published = true;
+                        }
+                        cycleEvent.commit();
+                    }
+
+                    clock.sleep(Math.max(1, intervalMillis / COLLECTOR_POLLS_PER_INTERVAL));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    log.log(Level.WARNING, "Candle collector thread interrupted");
+                    break;
+                } catch (Exception e) {
+                    log.log(Level.ERROR, "Error collecting/publishing candles", e);
+                }
+            }
+            clock.deregister();
+            log.log(Level.INFO, "Candle collector thread stopped");
+        }, "candle-collector");
+        collectorThread.setDaemon(true);
+        clock.register(); // On behalf of the collector thread, which deregisters when it stops
+        collectorThread.start();
+    }
+
+    private void publish(CandleSnapshot snapshot) {
+        long timestampMillis = snapshot.tick() * intervalMillis;
+        for (SnapshotSink sink : snapshotSinks) {
+            try {
+                sink.publish(snapshot, timestampMillis);
+            } catch (RuntimeException e) {
+                log.log(Level.ERROR, "Snapshot sink failed for tick " + snapshot.tick(), e);
+            }
+        }
+    }
+
+    /**
+     * Builds a snapshot for the newest tick once every generator has produced it, or once
+     * the grace period for that tick has elapsed (late generators are then left out).
+     *
+     * @return A new snapshot, or null if there is nothing new to publish yet
+     */
+    private CandleSnapshot collectSnapshot() {
+        long newestTick = -1;
+        boolean complete = true;
+        long publishedTick = latestSnapshot.tick();
+
+        for (OhlcvGenerator generator : generators) {
+            OhlcvCandle candle = generator.getLatestCandle();
+            if (candle != null) {
+                long tick = generator.tickOf(candle.getEpochMillis());
+                if (tick != newestTick && newestTick != -1) {
+                    complete = false;
+                }
+                newestTick = Math.max(newestTick, tick);
+            }
+        }
+
+        if (newestTick <= publishedTick) {
+            return null;
+        }
+        long graceDeadline = (long) ((newestTick + 1 + COLLECTOR_GRACE_FRACTION) * intervalMillis);
+        if (!complete && clock.currentTimeMillis() < graceDeadline) {
+            return null;
+        }
+
+        Map<String, OhlcvCandle> candles = new LinkedHashMap<>();
+        for (OhlcvGenerator generator : generators) {
+            OhlcvCandle candle = generator.getCandleForTick(newestTick);
+            if (candle != null) {
+                candles.put(candle.getSymbol(), candle);
+            }
+        }
+        return new CandleSnapshot(newestTick, Collections.unmodifiableMap(candles));
+    }
+
+    /**
+     * Stops the candle collector thread gracefully.
+     */
+    private void stopCollector() {
+        collectorRunning = false;
+        if (collectorThread != null) {
+            collectorThread.interrupt();
+            try {
+                collectorThread.join(2000); // Wait up to 2 seconds
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.log(Level.WARNING, "Interrupted while waiting for candle collector thread to stop");
+            }
+        }
+        log.log(Level.INFO, "Candle collector stopped");
+    }
+
+    /**
+     * Gets the latest tick-consistent snapshot of candles.
+     *
+     * @return The latest snapshot, or {@link CandleSnapshot#EMPTY} before the first tick
+     */
+    public CandleSnapshot getLatestSnapshot() {
+        return latestSnapshot;
+    }
+
+    /**
+     * Gets the generator for a specific symbol.
+     *
+     * @param symbol The trading symbol (e.g., "MEGA-USD")
+     * @return The generator for the symbol, or null if not found
+     */
+    public OhlcvGenerator getGenerator(String symbol) {
+        return generatorsBySymbol.get(symbol);
+    }
+
+    /**
+     * Gets all generators, in the order they were added.
+     *
+     * @return An unmodifiable live view of the generators
+     */
+    public List<OhlcvGenerator> getGenerators() {
+        return Collections.unmodifiableList(generators);
+    }
+
+    public long getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    public SimulationClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Configures and creates an {@link OhlcvEngine}.
+     */
+    public static class Builder {
+
+        private final List<SymbolSpec> symbols = new ArrayList<>();
+        private final List<CandleSink> candleSinks = new ArrayList<>();
+        private final List<SnapshotSink> snapshotSinks = new ArrayList<>();
+        private GeneratorOptions options = GeneratorOptions.DEFAULTS;
+        private SimulationClock clock = SystemClock.INSTANCE;
+        private Function<String, PriceModel> priceModels = symbol -> PriceModels.create(PriceModels.DEFAULT_SPEC);
+        private List<IndicatorSpec> indicators = List.of();
+        private Consumer<OhlcvGenerator> customizer = generator -> { };
+
+        private Builder() {
+        }
+
+        public Builder symbol(String symbol, double basePrice, double volatility) {
+            symbols.add(new SymbolSpec(symbol, basePrice, volatility));
+            return this;
+        }
+
+        public Builder symbols(Collection<SymbolSpec> specs) {
+            symbols.addAll(specs);
+            return this;
+        }
+
+        /**
+         * Sets the interval, candle slot reuse and console sampling (default: {@link GeneratorOptions#DEFAULTS}).
+         */
+        public Builder options(GeneratorOptions options) {
+            this.options = options;
+            return this;
+        }
+
+        /**
+         * Sets the clock timestamps and pacing come from (default: the system clock).
+         */
+        public Builder clock(SimulationClock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        /**
+         * Sets the price model factory, called once per symbol (default: random walk for every symbol).
+         */
+        public Builder priceModels(Function<String, PriceModel> priceModels) {
+            this.priceModels = priceModels;
+            return this;
+        }
+
+        /**
+         * Sets the indicators computed for every candle (default: none).
+         */
+        public Builder indicators(List<IndicatorSpec> indicators) {
+            this.indicators = List.copyOf(indicators);
+            return this;
+        }
+
+        /**
+         * Adds a sink that receives every candle on its generator's thread.
+         */
+        public Builder candleSink(CandleSink sink) {
+            candleSinks.add(sink);
+            return this;
+        }
+
+        /**
+         * Adds a sink that receives every snapshot on the collector thread, in the order added.
+         */
+        public Builder snapshotSink(SnapshotSink sink) {
+            snapshotSinks.add(sink);
+            return this;
+        }
+
+        /**
+         * Adds a hook applied to every generator after it is created and before it starts,
+         * e.g. to restore checkpointed state or attach an order book.
+         */
+        public Builder customizer(Consumer<OhlcvGenerator> customizer) {
+            this.customizer = this.customizer.andThen(customizer);
+            return this;
+        }
+
+        public OhlcvEngine build() {
+            CandleSink candleSink = compose(candleSinks);
+            GeneratorOptions options = this.options;
+            SimulationClock clock = this.clock;
+            Function<String, PriceModel> priceModels = this.priceModels;
+            List<IndicatorSpec> indicators = this.indicators;
+            Consumer<OhlcvGenerator> customizer = this.customizer;
+
+            // Also used for symbols added later, so it must not see later builder changes
+            Function<SymbolSpec, OhlcvGenerator> factory = spec -> {
+                OhlcvGenerator generator = new OhlcvGenerator(
+                    spec.symbol(),
+                    spec.basePrice(),
+                    spec.volatility(),
+                    candleSink,
+                    options,
+                    priceModels.apply(spec.symbol()),
+                    clock
+                );
+                if (!indicators.isEmpty()) {
+                    generator.attachIndicators(new IndicatorSet(indicators));
+                }
+                customizer.accept(generator);
+                return generator;
+            };
+            return new OhlcvEngine(symbols, factory, snapshotSinks, clock, options.intervalMillis());
+        }
+
+        private static CandleSink compose(List<CandleSink> sinks) {
+            if (sinks.isEmpty()) {
+                return CandleSink.NONE;
+            }
+            if (sinks.size() == 1) {
+                return sinks.get(0);
+            }
+            CandleSink[] all = sinks.toArray(new CandleSink[0]);
+            return candle -> {
+                for (CandleSink sink : all) {
+                    sink.accept(candle);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package ca.digilogue.xp.engine;
+
+/**
+ * A symbol for the engine to generate.
+ *
+ * @param symbol     The trading symbol (e.g., "MEGA-USD")
+ * @param basePrice  Starting (and mean-reversion) price
+ * @param volatility Per-tick volatility handed to the price model
+ */
+public record SymbolSpec(String symbol, double basePrice, double volatility) {
+}
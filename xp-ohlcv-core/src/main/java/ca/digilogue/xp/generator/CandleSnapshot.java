@@ -0,0 +1,21 @@
+package ca.digilogue.xp.generator;
+
+import java.util.Map;
+
+/**
+ * Immutable, tick-consistent view of the latest candles across all symbols.
+ * Every candle in a snapshot was generated during the same tick, and the candle map
+ * is unmodifiable so a single snapshot can be shared by any number of readers.
+ *
+ * @param tick    The tick all candles belong to (epoch millis divided by the generator interval),
+ *                or -1 for the empty snapshot
+ * @param candles Unmodifiable map of symbol to candle
+ */
+public record CandleSnapshot(long tick, Map<String, OhlcvCandle> candles) {
+
+    public static final CandleSnapshot EMPTY = new CandleSnapshot(-1, Map.of());
+
+    public boolean isEmpty() {
+        return candles.isEmpty();
+    }
+}
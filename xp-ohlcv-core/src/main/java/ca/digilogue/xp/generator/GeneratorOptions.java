@@ -0,0 +1,19 @@
+package ca.digilogue.xp.generator;
+
+/**
+ * Tuning options shared by the generators of a run.
+ *
+ * @param intervalMillis     Candle interval; generators tick on multiples of it
+ * @param reuseCandleSlots   Whether candles are recycled from a preallocated ring instead of allocated per tick
+ * @param consoleSampleEvery Print every Nth candle to the console (0 disables console output)
+ */
+public record GeneratorOptions(long intervalMillis, boolean reuseCandleSlots, int consoleSampleEvery) {
+
+    public static final GeneratorOptions DEFAULTS = new GeneratorOptions(1000, false, 1);
+
+    public GeneratorOptions {
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("Generator interval must be positive");
+        }
+    }
+}
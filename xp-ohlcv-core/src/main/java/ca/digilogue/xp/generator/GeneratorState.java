@@ -0,0 +1,18 @@
+package ca.digilogue.xp.generator;
+
+/**
+ * Mutable holder for the restorable state of an {@link OhlcvGenerator}, used for
+ * checkpointing. Reused across checkpoints so capturing state does not allocate.
+ */
+public class GeneratorState {
+
+    public String symbol;
+    public double currentPrice;
+    public double basePrice;
+    public double volatility;
+    public long randomState;
+    public long intervalMillis;
+    public long lastTick;
+    public double modelStateA;
+    public double modelStateB;
+}
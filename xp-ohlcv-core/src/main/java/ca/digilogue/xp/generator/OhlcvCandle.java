@@ -0,0 +1,176 @@
+package ca.digilogue.xp.generator;
+
+import java.lang.invoke.VarHandle;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Represents an OHLCV (Open, High, Low, Close, Volume) candle.
+ * <p>
+ * The timestamp is held as epoch milliseconds so that generating a candle never
+ * allocates an {@link Instant}; {@link #getTimestamp()} materializes one on demand.
+ * Generators running with reusable candle slots update an existing instance in place
+ * through {@link #update}, so candles obtained from such a generator must not be held
+ * beyond a few ticks (see {@link OhlcvGenerator}).
+ * <p>
+ * A candle may carry technical indicator values computed by the generator. Names are
+ * shared across all candles of a symbol and values are stored in a primitive array;
+ * {@link #getIndicators()} builds a map view only when serialized.
+ */
+public class OhlcvCandle {
+    private final String symbol;
+    private double open;
+    private double high;
+    private double low;
+    private double close;
+    private double volume;
+    private long epochMillis;
+    private String[] indicatorNames = NO_INDICATOR_NAMES;
+    private double[] indicatorValues = NO_INDICATOR_VALUES;
+
+    private static final String[] NO_INDICATOR_NAMES = new String[0];
+    private static final double[] NO_INDICATOR_VALUES = new double[0];
+
+    public OhlcvCandle(String symbol, double open, double high, double low, double close, double volume) {
+        this(symbol, open, high, low, close, volume, System.currentTimeMillis());
+    }
+
+    public OhlcvCandle(String symbol, double open, double high, double low, double close, double volume,
+                       long epochMillis) {
+        this.symbol = symbol;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.volume = volume;
+        this.epochMillis = epochMillis;
+    }
+
+    /**
+     * Creates an empty candle slot to be filled later through {@link #update}.
+     */
+    OhlcvCandle(String symbol) {
+        this.symbol = symbol;
+    }
+
+    /**
+     * Overwrites this candle in place. Only used by generators for their reusable slots.
+     * The new timestamp is stored before any price, so a reader that sees the old timestamp
+     * after copying knows the copy was not torn (see {@link OhlcvGenerator#getCandleForTick(long)}).
+     */
+    void update(double open, double high, double low, double close, double volume, long epochMillis) {
+        this.epochMillis = epochMillis;
+        VarHandle.storeStoreFence();
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.volume = volume;
+    }
+
+    /**
+     * Attaches indicator storage to this candle. Only used by generators.
+     */
+    void attachIndicators(String[] names, double[] values) {
+        this.indicatorNames = names;
+        this.indicatorValues = values;
+    }
+
+    /**
+     * Gets the indicator values array for the generator to fill in place.
+     */
+    double[] indicatorValues() {
+        return indicatorValues;
+    }
+
+    /**
+     * Creates a detached copy of this candle.
+     */
+    OhlcvCandle copy() {
+        OhlcvCandle copy = new OhlcvCandle(symbol, open, high, low, close, volume, epochMillis);
+        copy.attachIndicators(indicatorNames, indicatorValues.clone());
+        return copy;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public double getOpen() {
+        return open;
+    }
+
+    public double getHigh() {
+        return high;
+    }
+
+    public double getLow() {
+        return low;
+    }
+
+    public double getClose() {
+        return close;
+    }
+
+    public double getVolume() {
+        return volume;
+    }
+
+    /**
+     * Gets the candle timestamp as milliseconds since the epoch.
+     *
+     * @return The candle timestamp in epoch milliseconds
+     */
+    public long getEpochMillis() {
+        return epochMillis;
+    }
+
+    public Instant getTimestamp() {
+        return Instant.ofEpochMilli(epochMillis);
+    }
+
+    /**
+     * Gets the indicator values by name. Indicators that are still warming up are omitted.
+     *
+     * @return Map of indicator output name to value (empty if no indicators are configured)
+     */
+    public Map<String, Double> getIndicators() {
+        Map<String, Double> indicators = new LinkedHashMap<>();
+        for (int i = 0; i < indicatorValues.length; i++) {
+            if (!Double.isNaN(indicatorValues[i])) {
+                indicators.put(indicatorNames[i], indicatorValues[i]);
+            }
+        }
+        return indicators;
+    }
+
+    /**
+     * Gets the number of indicator outputs carried by this candle.
+     */
+    public int indicatorCount() {
+        return indicatorValues.length;
+    }
+
+    /**
+     * Gets the name of the indicator output at the given index.
+     */
+    public String indicatorName(int index) {
+        return indicatorNames[index];
+    }
+
+    /**
+     * Gets the value of the indicator output at the given index ({@link Double#NaN} while warming up).
+     */
+    public double indicatorValue(int index) {
+        return indicatorValues[index];
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "OhlcvCandle{symbol='%s', open=%.2f, high=%.2f, low=%.2f, close=%.2f, volume=%.2f, timestamp=%s}",
+            symbol, open, high, low, close, volume, getTimestamp()
+        );
+    }
+}
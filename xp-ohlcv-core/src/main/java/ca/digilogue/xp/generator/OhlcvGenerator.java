@@ -0,0 +1,512 @@
+package ca.digilogue.xp.generator;
+
+import ca.digilogue.xp.book.OrderBook;
+import ca.digilogue.xp.clock.SimulationClock;
+import ca.digilogue.xp.clock.SystemClock;
+import ca.digilogue.xp.indicator.IndicatorSet;
+import ca.digilogue.xp.jfr.CandleGenerationEvent;
+import ca.digilogue.xp.jfr.GeneratorTickEvent;
+import ca.digilogue.xp.price.PriceModel;
+import ca.digilogue.xp.price.PriceModels;
+import ca.digilogue.xp.price.PricePaths;
+import ca.digilogue.xp.shm.SharedCandleSlot;
+import ca.digilogue.xp.sink.CandleSink;
+import ca.digilogue.xp.stats.CandleStatistics;
+import ca.digilogue.xp.store.CompressedCandleSeries;
+
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import jdk.jfr.EventType;
+
+/**
+ * Generates OHLCV candle data every interval (one second by default) for a given symbol.
+ * The close of each candle comes from a pluggable {@link PriceModel} (a uniform random walk
+ * with mean reversion by default); high, low and volume are derived around it.
+ * <p>
+ * Timestamps and pacing come from a {@link SimulationClock}, so generation can run in real,
+ * scaled or virtual time. Generation is aligned to interval boundaries, so every generator produces at
+ * most one candle per tick ({@code epochMillis / intervalMillis}). The last {@value #SLOT_COUNT}
+ * candles are kept in a ring indexed by tick, which lets the collector assemble snapshots
+ * in which every candle belongs to the same tick (see {@link #getCandleForTick(long)}).
+ * <p>
+ * When configured with {@code reuseCandleSlots} the ring is preallocated and candles are
+ * overwritten in place instead of allocated per tick, so the steady-state generation path
+ * allocates nothing. A slot is overwritten {@value #SLOT_COUNT} ticks after it was published;
+ * consumers that need a candle for longer than that must copy it.
+ * <p>
+ * Each tick is reported to JDK Flight Recorder as a {@link GeneratorTickEvent} (flagged when it
+ * overruns into the next tick) enclosing a {@link CandleGenerationEvent}.
+ */
+public class OhlcvGenerator implements Runnable {
+    
+    private static final Logger log = System.getLogger(OhlcvGenerator.class.getName());
+    private static final EventType TICK_EVENT = EventType.getEventType(GeneratorTickEvent.class);
+    private static final EventType GENERATION_EVENT = EventType.getEventType(CandleGenerationEvent.class);
+    
+    static final int SLOT_COUNT = 8; // Must be a power of two
+    
+    private final String symbol;
+    private final double basePrice;
+    private final double volatility;
+    private final SeededRandom random;
+    private final CandleSink sink; // Receives every candle (e.g. persists it to InfluxDB)
+    private final OhlcvCandle[] ring; // Recent candles indexed by tick
+    private final long intervalMillis; // Candle interval; ticks are epoch millis divided by it
+    private final boolean reuseCandleSlots; // Whether ring slots are overwritten in place
+    private final int consoleSampleEvery; // Print every Nth candle to the console (0 = disabled)
+    
+    private volatile boolean running = false;
+    private final AtomicBoolean started = new AtomicBoolean(); // Claimed by run(), or by stop() if it came first
+    private final CountDownLatch finished = new CountDownLatch(1); // Released when run() returns
+    private final PriceModel priceModel;
+    private final SimulationClock clock;
+    private final PricePaths path; // This symbol's price and model state; generators do not share batches
+    private long tickCount;
+    private volatile OhlcvCandle latestCandle; // Latest generated candle (thread-safe access)
+    private OrderBook orderBook; // Optional synthetic order book driven by the price path
+    private IndicatorSet indicators; // Optional streaming indicators attached to each candle
+    private CompressedCandleSeries history; // Optional in-memory compressed history
+    private CandleStatistics statistics; // Optional streaming return, range and volume distributions
+    private SharedCandleSlot sharedSlot; // Optional shared-memory feed slot for co-located readers
+    
+    // Checkpoint view of the generator state, republished after every tick under a seqlock
+    private volatile long stateVersion;
+    private volatile double statePrice;
+    private volatile double stateModelA;
+    private volatile double stateModelB;
+    private volatile long stateRandom;
+    private volatile long stateTick = -1;
+    
+    public OhlcvGenerator(String symbol, double basePrice, double volatility, CandleSink sink) {
+        this(symbol, basePrice, volatility, sink, GeneratorOptions.DEFAULTS,
+            PriceModels.create(PriceModels.DEFAULT_SPEC), SystemClock.INSTANCE);
+    }
+    
+    public OhlcvGenerator(String symbol, double basePrice, double volatility, CandleSink sink,
+                          GeneratorOptions options, PriceModel priceModel, SimulationClock clock) {
+        this.symbol = symbol;
+        this.basePrice = basePrice;
+        this.volatility = volatility;
+        this.random = new SeededRandom(System.nanoTime() ^ symbol.hashCode() * 0x9E3779B97F4A7C15L);
+        this.priceModel = priceModel;
+        this.clock = clock;
+        this.path = new PricePaths(1);
+        this.path.init(0, basePrice, volatility);
+        this.sink = sink;
+        this.intervalMillis = options.intervalMillis();
+        this.consoleSampleEvery = options.consoleSampleEvery();
+        this.reuseCandleSlots = options.reuseCandleSlots();
+        this.ring = new OhlcvCandle[SLOT_COUNT];
+        
+        if (reuseCandleSlots) {
+            for (int i = 0; i < SLOT_COUNT; i++) {
+                ring[i] = new OhlcvCandle(symbol);
+            }
+        }
+        publishState(-1);
+    }
+    
+    @Override
+    public void run() {
+        clock.register();
+        running = true;
+        if (!started.compareAndSet(false, true)) {
+            running = false; // Stopped before it started
+            clock.deregister();
+            return;
+        }
+        log.log(Level.INFO, "OHLCV Generator started for symbol: {0}", symbol);
+        
+        try {
+            loop();
+        } finally {
+            clock.deregister();
+            finished.countDown();
+        }
+        
+        log.log(Level.INFO, "OHLCV Generator stopped for symbol: {0}", symbol);
+    }
+    
+    private void loop() {
+        while (running) {
+            try {
+                step(clock.currentTimeMillis());
+                
+                // Sleep until the next tick boundary
+                clock.sleepUntil((tickOf(clock.currentTimeMillis()) + 1) * intervalMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.log(Level.WARNING, "OHLCV Generator interrupted");
+                break;
+            } catch (Exception e) {
+                log.log(Level.ERROR, "Error generating/writing OHLCV candle", e);
+            }
+        }
+    }
+    
+    /**
+     * Generates the candle for the tick containing {@code epochMillis}, publishes it and hands
+     * it to the sink. The generator's own thread calls this once per tick when it is run;
+     * schedulers driving many generators from a shared pool call it directly instead.
+     * Not thread-safe: at most one thread may step a generator at a time.
+     * 
+     * @param epochMillis Timestamp of the candle in epoch milliseconds
+     * @return The generated candle
+     */
+    public OhlcvCandle step(long epochMillis) {
+        // Events are only created while a recording enables them, so steady-state ticks do not allocate
+        GeneratorTickEvent tickEvent = TICK_EVENT.isEnabled() ? new GeneratorTickEvent() : null;
+        if (tickEvent != null) {
+            tickEvent.begin();
+        }
+        
+        CandleGenerationEvent generationEvent = GENERATION_EVENT.isEnabled() ? new CandleGenerationEvent() : null;
+        if (generationEvent != null) {
+            generationEvent.begin();
+        }
+        OhlcvCandle candle = generateCandle(epochMillis);
+        long tick = tickOf(epochMillis);
+        if (generationEvent != null && generationEvent.shouldCommit()) {
+            generationEvent.symbol = symbol;
+            generationEvent.tick = tick;
+            generationEvent.commit();
+        }
+        
+        // Store the latest candle (thread-safe - volatile ensures visibility)
+        latestCandle = candle;
+        publishState(tick);
+        
+        // Publish to co-located readers through shared memory
+        if (sharedSlot != null) {
+            sharedSlot.publish(tick, candle.getEpochMillis(), candle.getOpen(), candle.getHigh(),
+                candle.getLow(), candle.getClose(), candle.getVolume());
+        }
+        
+        // Evolve the order book along this tick's price move
+        if (orderBook != null) {
+            orderBook.advance(candle.getOpen(), candle.getClose(), candle.getEpochMillis(), random);
+        }
+        
+        // Append to the in-memory compressed history
+        if (history != null) {
+            history.append(candle.getEpochMillis(), candle.getOpen(), candle.getHigh(),
+                candle.getLow(), candle.getClose(), candle.getVolume());
+        }
+        
+        // Update the streaming distributions
+        if (statistics != null) {
+            statistics.update(candle.getOpen(), candle.getHigh(), candle.getLow(), candle.getClose(),
+                candle.getVolume());
+        }
+        
+        // Hand off to the sink (InfluxDB in the service)
+        sink.accept(candle);
+        
+        if (tickEvent != null) {
+            tickEvent.end();
+        }
+        if (tickEvent != null && tickEvent.shouldCommit()) {
+            tickEvent.symbol = symbol;
+            tickEvent.tick = tick;
+            tickEvent.intervalMillis = intervalMillis;
+            tickEvent.overrun = tickOf(clock.currentTimeMillis()) > tick;
+            tickEvent.commit();
+        }
+        
+        // Also log to console for debugging (sampled, as formatting allocates)
+        if (consoleSampleEvery > 0 && tickCount % consoleSampleEvery == 0) {
+            System.out.println(candle);
+        }
+        tickCount++;
+        return candle;
+    }
+    
+    /**
+     * Generates a single OHLCV candle with realistic price movements.
+     */
+    private OhlcvCandle generateCandle(long epochMillis) {
+        // Open price is the previous close (or current price for first candle)
+        double open = path.price[0];
+        
+        // Advance the price model by one tick to get the close
+        priceModel.advance(path, 0, 1, random);
+        double close = path.price[0];
+        
+        // Generate high and low within the candle
+        // High is between open and close (or above if there's volatility)
+        double candleRange = Math.abs(close - open) + (volatility * random.nextDouble() * 0.5);
+        double high = Math.max(open, close) + (candleRange * random.nextDouble() * 0.3);
+        double low = Math.min(open, close) - (candleRange * random.nextDouble() * 0.3);
+        
+        // Ensure low doesn't go negative
+        if (low < 0.01) {
+            low = 0.01;
+        }
+        
+        // Ensure high >= all other prices
+        high = Math.max(high, Math.max(open, close));
+        
+        // Ensure low <= all other prices
+        low = Math.min(low, Math.min(open, close));
+        
+        // Generate volume (random between 1000 and 100000)
+        double volume = 1000.0 + (random.nextDouble() * 99000.0);
+        
+        int index = (int) (tickOf(epochMillis) & (SLOT_COUNT - 1));
+        OhlcvCandle candle;
+        if (reuseCandleSlots) {
+            // Overwrite the slot in place instead of allocating a new candle
+            candle = ring[index];
+            candle.update(open, high, low, close, volume, epochMillis);
+        } else {
+            candle = new OhlcvCandle(symbol, open, high, low, close, volume, epochMillis);
+            if (indicators != null) {
+                candle.attachIndicators(indicators.outputNames(), new double[indicators.outputNames().length]);
+            }
+        }
+        
+        // Update the streaming indicators with this candle before it is published
+        if (indicators != null) {
+            indicators.update(open, high, low, close, volume, candle.indicatorValues());
+        }
+        
+        ring[index] = candle;
+        return candle;
+    }
+    
+    /**
+     * Publishes the state needed to resume this generator for concurrent checkpointing.
+     */
+    private void publishState(long tick) {
+        stateVersion = stateVersion + 1; // Odd: update in progress
+        statePrice = path.price[0];
+        stateModelA = path.stateA[0];
+        stateModelB = path.stateB[0];
+        stateRandom = random.getState();
+        stateTick = tick;
+        stateVersion = stateVersion + 1;
+    }
+    
+    /**
+     * Copies a consistent view of this generator's state as of its last tick, without
+     * pausing generation.
+     * 
+     * @param into The holder to fill
+     */
+    public void captureState(GeneratorState into) {
+        long version;
+        do {
+            version = stateVersion;
+            into.currentPrice = statePrice;
+            into.modelStateA = stateModelA;
+            into.modelStateB = stateModelB;
+            into.randomState = stateRandom;
+            into.lastTick = stateTick;
+        } while ((version & 1) != 0 || version != stateVersion);
+        
+        into.symbol = symbol;
+        into.basePrice = basePrice;
+        into.volatility = volatility;
+        into.intervalMillis = intervalMillis;
+    }
+    
+    /**
+     * Resumes the price path and random sequence from a checkpoint, so the series
+     * continues where it left off. Must be called before the generator is started.
+     * The configured base price and volatility are kept.
+     * 
+     * @param state The checkpointed state for this generator's symbol
+     */
+    public void restoreState(GeneratorState state) {
+        path.price[0] = state.currentPrice;
+        path.stateA[0] = state.modelStateA;
+        path.stateB[0] = state.modelStateB;
+        random.setState(state.randomState);
+        publishState(state.lastTick);
+    }
+    
+    /**
+     * Reseeds the random sequence, so generators with the same seed, symbol and price model
+     * produce the same series. Must be called before the generator is started.
+     * 
+     * @param seed The seed (mixed with the symbol, so symbols sharing a seed still diverge)
+     */
+    public void seed(long seed) {
+        random.setState(seed ^ symbol.hashCode() * 0x9E3779B97F4A7C15L);
+        publishState(stateTick);
+    }
+    
+    /**
+     * Attaches a synthetic order book that is advanced with every generated candle.
+     * The book draws from this generator's random sequence, so it is reproducible from the
+     * seed and restored with the checkpoint, but enabling it changes the price path that
+     * follows. Must be called before the generator is started.
+     * 
+     * @param orderBook The order book for this generator's symbol
+     */
+    public void attachOrderBook(OrderBook orderBook) {
+        this.orderBook = orderBook;
+    }
+    
+    /**
+     * Attaches the streaming indicators computed for every generated candle.
+     * Must be called before the generator is started.
+     * 
+     * @param indicators The indicator set for this generator's symbol
+     */
+    public void attachIndicators(IndicatorSet indicators) {
+        this.indicators = indicators;
+        if (reuseCandleSlots) {
+            for (OhlcvCandle slot : ring) {
+                slot.attachIndicators(indicators.outputNames(), new double[indicators.outputNames().length]);
+            }
+        }
+    }
+    
+    /**
+     * Attaches the compressed history series every generated candle is appended to.
+     * Must be called before the generator is started.
+     * 
+     * @param history The history series for this generator's symbol
+     */
+    public void attachHistory(CompressedCandleSeries history) {
+        this.history = history;
+    }
+    
+    /**
+     * Attaches the streaming distributions every generated candle is added to.
+     * Must be called before the generator is started.
+     * 
+     * @param statistics The statistics for this generator's symbol
+     */
+    public void attachStatistics(CandleStatistics statistics) {
+        this.statistics = statistics;
+    }
+    
+    /**
+     * Attaches the shared-memory feed slot every generated candle is published to.
+     * Must be called before the generator is started.
+     * 
+     * @param sharedSlot The feed slot for this generator's symbol
+     */
+    public void attachSharedSlot(SharedCandleSlot sharedSlot) {
+        this.sharedSlot = sharedSlot;
+    }
+    
+    public void stop() {
+        running = false;
+        if (started.compareAndSet(false, true)) {
+            finished.countDown(); // Never started, so run() will return straight away
+        }
+    }
+    
+    public boolean isRunning() {
+        return running;
+    }
+    
+    /**
+     * Waits for {@link #run()} to return after {@link #stop()}, after which the captured
+     * state no longer changes (e.g. before handing it to another instance).
+     * 
+     * @return true if the generator thread finished within the timeout
+     */
+    public boolean awaitStopped(long timeout, TimeUnit unit) throws InterruptedException {
+        return finished.await(timeout, unit);
+    }
+    
+    /**
+     * Indicates whether this generator overwrites a ring of reusable candle slots
+     * rather than allocating a new candle per tick.
+     * 
+     * @return true if candles returned by this generator are recycled
+     */
+    public boolean isReusingCandleSlots() {
+        return reuseCandleSlots;
+    }
+    
+    /**
+     * Gets the candle this generator produced for the given tick, if it is still retained.
+     * Candles from a generator reusing its slots are returned as copies, so the result
+     * is always safe to hold on to.
+     * 
+     * @param tick The tick number (epoch millis divided by the interval)
+     * @return The candle for that tick, or null if it was skipped or has been evicted
+     */
+    public OhlcvCandle getCandleForTick(long tick) {
+        // Volatile read first: every ring write up to the latest tick happens-before the reads below
+        OhlcvCandle latest = latestCandle;
+        if (latest == null || tickOf(latest.getEpochMillis()) < tick) {
+            return null;
+        }
+        
+        OhlcvCandle candle = ring[(int) (tick & (SLOT_COUNT - 1))];
+        if (candle == null || tickOf(candle.getEpochMillis()) != tick) {
+            return null;
+        }
+        if (!reuseCandleSlots) {
+            return candle;
+        }
+        
+        // The slot may be overwritten while it is copied. The generator stamps the new time
+        // before any price, so if the slot still holds this tick afterwards the copy is whole.
+        VarHandle.loadLoadFence();
+        OhlcvCandle copy = candle.copy();
+        VarHandle.loadLoadFence();
+        if (tickOf(copy.getEpochMillis()) != tick || tickOf(candle.getEpochMillis()) != tick) {
+            return null;
+        }
+        return copy;
+    }
+    
+    /**
+     * Converts a timestamp to the tick number it falls in.
+     * 
+     * @param epochMillis Timestamp in epoch milliseconds
+     * @return The tick number
+     */
+    public long tickOf(long epochMillis) {
+        return epochMillis / intervalMillis;
+    }
+    
+    /**
+     * Gets the candle interval of this generator.
+     * 
+     * @return The interval in milliseconds
+     */
+    public long getIntervalMillis() {
+        return intervalMillis;
+    }
+    
+    /**
+     * Gets the latest generated candle for this symbol.
+     * Returns null if no candle has been generated yet.
+     * 
+     * @return The latest OHLCV candle, or null if not yet generated
+     */
+    public OhlcvCandle getLatestCandle() {
+        return latestCandle;
+    }
+    
+    /**
+     * Gets the symbol this generator is producing candles for.
+     * 
+     * @return The trading symbol (e.g., "MEGA-USD")
+     */
+    public String getSymbol() {
+        return symbol;
+    }
+    
+    /**
+     * Gets the price model driving this generator.
+     * 
+     * @return The price model
+     */
+    public PriceModel getPriceModel() {
+        return priceModel;
+    }
+}
+
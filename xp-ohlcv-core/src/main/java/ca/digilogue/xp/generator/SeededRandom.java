@@ -0,0 +1,69 @@
+package ca.digilogue.xp.generator;
+
+/**
+ * Small, fast pseudo-random generator (SplitMix64) whose entire state is a single long,
+ * so it can be checkpointed and restored exactly.
+ * <p>
+ * Not thread-safe: each generator owns its own instance.
+ */
+public class SeededRandom {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    private long state;
+    private double nextGaussian = Double.NaN;
+
+    public SeededRandom(long seed) {
+        this.state = seed;
+    }
+
+    public long nextLong() {
+        long z = (state += GOLDEN_GAMMA);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Returns a uniformly distributed double in {@code [0, 1)}.
+     */
+    public double nextDouble() {
+        return (nextLong() >>> 11) * DOUBLE_UNIT;
+    }
+
+    /**
+     * Returns a standard normally distributed double (Marsaglia polar method).
+     */
+    public double nextGaussian() {
+        if (!Double.isNaN(nextGaussian)) {
+            double gaussian = nextGaussian;
+            nextGaussian = Double.NaN;
+            return gaussian;
+        }
+        double u;
+        double v;
+        double s;
+        do {
+            u = nextDouble() * 2.0 - 1.0;
+            v = nextDouble() * 2.0 - 1.0;
+            s = u * u + v * v;
+        } while (s >= 1.0 || s == 0.0);
+        double multiplier = Math.sqrt(-2.0 * Math.log(s) / s);
+        nextGaussian = v * multiplier;
+        return u * multiplier;
+    }
+
+    /**
+     * Gets the internal state; restoring it with {@link #setState(long)} replays the same sequence.
+     * A cached second Gaussian is discarded on restore.
+     */
+    public long getState() {
+        return state;
+    }
+
+    public void setState(long state) {
+        this.state = state;
+        this.nextGaussian = Double.NaN;
+    }
+}
@@ -0,0 +1,41 @@
+package ca.digilogue.xp.indicator;
+
+/**
+ * Average true range using Wilder's smoothing.
+ */
+public class AverageTrueRange implements Indicator {
+
+    private final String[] outputNames;
+    private final int period;
+    private int count;
+    private double previousClose = Double.NaN;
+    private double value;
+
+    public AverageTrueRange(int period) {
+        this.outputNames = new String[] {"atr" + period};
+        this.period = period;
+    }
+
+    @Override
+    public String[] outputNames() {
+        return outputNames;
+    }
+
+    @Override
+    public void update(double open, double high, double low, double close, double volume, double[] out, int offset) {
+        double trueRange = high - low;
+        if (!Double.isNaN(previousClose)) {
+            trueRange = Math.max(trueRange, Math.max(Math.abs(high - previousClose), Math.abs(low - previousClose)));
+        }
+        previousClose = close;
+
+        if (count < period) {
+            value += trueRange / period;
+            count++;
+            out[offset] = count == period ? value : Double.NaN;
+            return;
+        }
+        value = (value * (period - 1) + trueRange) / period;
+        out[offset] = value;
+    }
+}
@@ -0,0 +1,40 @@
+package ca.digilogue.xp.indicator;
+
+/**
+ * Bollinger bands: the simple moving average of the close and bands {@code multiplier}
+ * standard deviations above and below it.
+ */
+public class BollingerBands implements Indicator {
+
+    private final String[] outputNames;
+    private final double multiplier;
+    private final RollingWindow window;
+
+    public BollingerBands(int period, double multiplier) {
+        String prefix = "bb" + period;
+        this.outputNames = new String[] {prefix + "_mid", prefix + "_upper", prefix + "_lower"};
+        this.multiplier = multiplier;
+        this.window = new RollingWindow(period);
+    }
+
+    @Override
+    public String[] outputNames() {
+        return outputNames;
+    }
+
+    @Override
+    public void update(double open, double high, double low, double close, double volume, double[] out, int offset) {
+        window.add(close);
+        if (!window.isFull()) {
+            out[offset] = Double.NaN;
+            out[offset + 1] = Double.NaN;
+            out[offset + 2] = Double.NaN;
+            return;
+        }
+        double mean = window.mean();
+        double width = multiplier * Math.sqrt(window.variance());
+        out[offset] = mean;
+        out[offset + 1] = mean + width;
+        out[offset + 2] = mean - width;
+    }
+}
@@ -0,0 +1,37 @@
+package ca.digilogue.xp.indicator;
+
+/**
+ * Exponential moving average of the close with smoothing factor {@code 2 / (period + 1)},
+ * seeded with the simple average of the first {@code period} closes.
+ */
+public class ExponentialMovingAverage implements Indicator {
+
+    private final String[] outputNames;
+    private final int period;
+    private final double alpha;
+    private int count;
+    private double value;
+
+    public ExponentialMovingAverage(int period) {
+        this.outputNames = new String[] {"ema" + period};
+        this.period = period;
+        this.alpha = 2.0 / (period + 1);
+    }
+
+    @Override
+    public String[] outputNames() {
+        return outputNames;
+    }
+
+    @Override
+    public void update(double open, double high, double low, double close, double volume, double[] out, int offset) {
+        if (count < period) {
+            value += close / period;
+            count++;
+            out[offset] = count == period ? value : Double.NaN;
+            return;
+        }
+        value += alpha * (close - value);
+        out[offset] = value;
+    }
+}
@@ -0,0 +1,24 @@
+package ca.digilogue.xp.indicator;
+
+/**
+ * A streaming technical indicator updated once per candle.
+ * <p>
+ * Implementations keep their rolling state in primitive fields and arrays sized at
+ * construction, so {@link #update} is O(1) and does not allocate. Until enough candles
+ * have been seen to produce a value, outputs are {@link Double#NaN}.
+ */
+public interface Indicator {
+
+    /**
+     * Gets the output names of this indicator (e.g. {@code "sma20"}); most indicators have one output.
+     */
+    String[] outputNames();
+
+    /**
+     * Feeds the next candle into the indicator and writes its outputs.
+     *
+     * @param out    Destination array
+     * @param offset Index in {@code out} of the first output
+     */
+    void update(double open, double high, double low, double close, double volume, double[] out, int offset);
+}
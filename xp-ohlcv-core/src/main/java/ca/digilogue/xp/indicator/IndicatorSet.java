@@ -0,0 +1,46 @@
+package ca.digilogue.xp.indicator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The configured indicators for a single symbol, updated together with each new candle.
+ * Output values are written into a caller-supplied array laid out in {@link #outputNames()} order.
+ */
+public class IndicatorSet {
+
+    private final Indicator[] indicators;
+    private final int[] offsets;
+    private final String[] outputNames;
+
+    public IndicatorSet(List<IndicatorSpec> specs) {
+        this.indicators = new Indicator[specs.size()];
+        this.offsets = new int[specs.size()];
+
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < indicators.length; i++) {
+            indicators[i] = specs.get(i).create();
+            offsets[i] = names.size();
+            names.addAll(List.of(indicators[i].outputNames()));
+        }
+        this.outputNames = names.toArray(new String[0]);
+    }
+
+    /**
+     * Gets the output names of all indicators, shared by every candle of this symbol.
+     */
+    public String[] outputNames() {
+        return outputNames;
+    }
+
+    /**
+     * Feeds the next candle into every indicator.
+     *
+     * @param out Destination array of length {@code outputNames().length}
+     */
+    public void update(double open, double high, double low, double close, double volume, double[] out) {
+        for (int i = 0; i < indicators.length; i++) {
+            indicators[i].update(open, high, low, close, volume, out, offsets[i]);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package ca.digilogue.xp.indicator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Configuration of a single indicator, parsed from a spec such as {@code sma:20} or {@code bb:20:2}.
+ * <p>
+ * Supported types: {@code sma}, {@code ema}, {@code vwap}, {@code rsi}, {@code atr}
+ * (each taking a period) and {@code bb} (period and standard deviation multiplier, default 2).
+ *
+ * @param type       Indicator type
+ * @param period     Window length in candles
+ * @param multiplier Band width multiplier (Bollinger bands only)
+ */
+public record IndicatorSpec(String type, int period, double multiplier) {
+
+    /**
+     * Parses a single indicator spec.
+     *
+     * @param spec The spec, e.g. {@code rsi:14}
+     * @return The parsed spec
+     * @throws IllegalArgumentException if the spec is malformed or the type is unknown
+     */
+    public static IndicatorSpec parse(String spec) {
+        return parse(spec, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Parses a single indicator spec, rejecting periods above a limit. Windowed indicators
+     * allocate their whole period up front, so untrusted specs must be bounded.
+     *
+     * @param spec      The spec, e.g. {@code rsi:14}
+     * @param maxPeriod The largest period accepted
+     * @return The parsed spec
+     * @throws IllegalArgumentException if the spec is malformed, the type is unknown or the period is out of range
+     */
+    public static IndicatorSpec parse(String spec, int maxPeriod) {
+        String[] parts = spec.trim().toLowerCase(Locale.ROOT).split(":");
+        try {
+            String type = parts[0];
+            int period = parts.length > 1 ? Integer.parseInt(parts[1]) : 14;
+            double multiplier = parts.length > 2 ? Double.parseDouble(parts[2]) : 2.0;
+            IndicatorSpec parsed = new IndicatorSpec(type, period, multiplier);
+            if (period <= 0 || period > maxPeriod) {
+                throw new IllegalArgumentException("Indicator period must be in [1, " + maxPeriod + "]: " + spec);
+            }
+            parsed.create(); // Validate the type
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid indicator spec: " + spec, e);
+        }
+    }
+
+    /**
+     * Parses a comma-separated list of indicator specs; blank input yields an empty list.
+     *
+     * @param specs The specs, e.g. {@code sma:20,rsi:14,bb:20:2}
+     * @return The parsed specs
+     */
+    public static List<IndicatorSpec> parseList(String specs) {
+        return parseList(specs, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Parses a comma-separated list of indicator specs, rejecting periods above a limit.
+     *
+     * @param specs     The specs, e.g. {@code sma:20,rsi:14,bb:20:2}
+     * @param maxPeriod The largest period accepted
+     * @return The parsed specs
+     */
+    public static List<IndicatorSpec> parseList(String specs, int maxPeriod) {
+        List<IndicatorSpec> parsed = new ArrayList<>();
+        if (specs == null || specs.isBlank()) {
+            return parsed;
+        }
+        for (String spec : specs.split(",")) {
+            if (!spec.isBlank()) {
+                parsed.add(parse(spec, maxPeriod));
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * Creates a fresh indicator instance for this spec.
+     */
+    public Indicator create() {
+        return switch (type) {
+            case "sma" -> new SimpleMovingAverage(period);
+            case "ema" -> new ExponentialMovingAverage(period);
+            case "vwap" -> new VolumeWeightedAveragePrice(period);
+            case "rsi" -> new RelativeStrengthIndex(period);
+            case "atr" -> new AverageTrueRange(period);
+            case "bb" -> new BollingerBands(period, multiplier);
+            default -> throw new IllegalArgumentException("Unknown indicator type: " + type);
+        };
+    }
+}
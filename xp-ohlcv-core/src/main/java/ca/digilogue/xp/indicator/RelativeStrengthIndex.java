@@ -0,0 +1,58 @@
+package ca.digilogue.xp.indicator;
+
+/**
+ * Relative strength index of the close using Wilder's smoothing.
+ */
+public class RelativeStrengthIndex implements Indicator {
+
+    private final String[] outputNames;
+    private final int period;
+    private int count;
+    private double previousClose;
+    private double averageGain;
+    private double averageLoss;
+
+    public RelativeStrengthIndex(int period) {
+        this.outputNames = new String[] {"rsi" + period};
+        this.period = period;
+    }
+
+    @Override
+    public String[] outputNames() {
+        return outputNames;
+    }
+
+    @Override
+    public void update(double open, double high, double low, double close, double volume, double[] out, int offset) {
+        if (count == 0) {
+            previousClose = close;
+            count++;
+            out[offset] = Double.NaN;
+            return;
+        }
+
+        double change = close - previousClose;
+        double gain = Math.max(change, 0.0);
+        double loss = Math.max(-change, 0.0);
+        previousClose = close;
+
+        if (count <= period) {
+            // Seed with the simple average of the first period changes
+            averageGain += gain / period;
+            averageLoss += loss / period;
+            count++;
+            out[offset] = count > period ? rsi() : Double.NaN;
+            return;
+        }
+        averageGain = (averageGain * (period - 1) + gain) / period;
+        averageLoss = (averageLoss * (period - 1) + loss) / period;
+        out[offset] = rsi();
+    }
+
+    private double rsi() {
+        if (averageLoss == 0.0) {
+            return averageGain == 0.0 ? 50.0 : 100.0;
+        }
+        return 100.0 - 100.0 / (1.0 + averageGain / averageLoss);
+    }
+}
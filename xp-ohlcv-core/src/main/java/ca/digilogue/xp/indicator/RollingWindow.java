@@ -0,0 +1,78 @@
+package ca.digilogue.xp.indicator;
+
+/**
+ * Fixed-size ring of doubles with a running sum and sum of squared deviations from the mean.
+ * <p>
+ * The deviations are updated Welford-style rather than as a raw sum of squares, which would
+ * lose every significant digit to cancellation for prices far from zero (e.g. 100.00 +/- 0.01).
+ * Each full pass over the ring recomputes both sums exactly, so rounding errors cannot
+ * accumulate over long runs.
+ */
+final class RollingWindow {
+
+    private final double[] values;
+    private int next;
+    private int count;
+    private double sum;
+    private double squaredDeviations;
+
+    RollingWindow(int size) {
+        this.values = new double[size];
+    }
+
+    /**
+     * Adds a value, evicting the oldest one once the window is full.
+     */
+    void add(double value) {
+        if (count == values.length) {
+            double evicted = values[next];
+            double oldMean = sum / count;
+            sum += value - evicted;
+            squaredDeviations += (value - evicted) * (value - sum / count + evicted - oldMean);
+        } else {
+            double oldMean = count == 0 ? 0.0 : sum / count;
+            count++;
+            sum += value;
+            squaredDeviations += (value - oldMean) * (value - sum / count);
+        }
+        values[next] = value;
+        next = next + 1 == values.length ? 0 : next + 1;
+        if (next == 0) {
+            recompute();
+        }
+    }
+
+    private void recompute() {
+        double total = 0.0;
+        for (int i = 0; i < count; i++) {
+            total += values[i];
+        }
+        double mean = total / count;
+        double deviations = 0.0;
+        for (int i = 0; i < count; i++) {
+            double d = values[i] - mean;
+            deviations += d * d;
+        }
+        sum = total;
+        squaredDeviations = deviations;
+    }
+
+    boolean isFull() {
+        return count == values.length;
+    }
+
+    double sum() {
+        return sum;
+    }
+
+    double mean() {
+        return sum / count;
+    }
+
+    /**
+     * Population variance of the values in the window.
+     */
+    double variance() {
+        return Math.max(0.0, squaredDeviations / count);
+    }
+}
@@ -0,0 +1,26 @@
+package ca.digilogue.xp.indicator;
+
+/**
+ * Simple moving average of the close over the last {@code period} candles.
+ */
+public class SimpleMovingAverage implements Indicator {
+
+    private final String[] outputNames;
+    private final RollingWindow window;
+
+    public SimpleMovingAverage(int period) {
+        this.outputNames = new String[] {"sma" + period};
+        this.window = new RollingWindow(period);
+    }
+
+    @Override
+    public String[] outputNames() {
+        return outputNames;
+    }
+
+    @Override
+    public void update(double open, double high, double low, double close, double volume, double[] out, int offset) {
+        window.add(close);
+        out[offset] = window.isFull() ? window.mean() : Double.NaN;
+    }
+}
@@ -0,0 +1,31 @@
+package ca.digilogue.xp.indicator;
+
+/**
+ * Rolling volume-weighted average of the typical price {@code (high + low + close) / 3}
+ * over the last {@code period} candles.
+ */
+public class VolumeWeightedAveragePrice implements Indicator {
+
+    private final String[] outputNames;
+    private final RollingWindow priceVolume;
+    private final RollingWindow volumes;
+
+    public VolumeWeightedAveragePrice(int period) {
+        this.outputNames = new String[] {"vwap" + period};
+        this.priceVolume = new RollingWindow(period);
+        this.volumes = new RollingWindow(period);
+    }
+
+    @Override
+    public String[] outputNames() {
+        return outputNames;
+    }
+
+    @Override
+    public void update(double open, double high, double low, double close, double volume, double[] out, int offset) {
+        double typicalPrice = (high + low + close) / 3.0;
+        priceVolume.add(typicalPrice * volume);
+        volumes.add(volume);
+        out[offset] = volumes.isFull() && volumes.sum() > 0 ? priceVolume.sum() / volumes.sum() : Double.NaN;
+    }
+}
@@ -0,0 +1,24 @@
+package ca.digilogue.xp.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Generation of one candle by a generator: the price model step, high/low/volume and indicators.
+ */
+@Name("ca.digilogue.xp.CandleGeneration")
+@Label("Candle Generation")
+@Category({"OHLCV", "Generator"})
+@Description("Price model step, high/low/volume and indicator update for one candle")
+@StackTrace(false)
+public class CandleGenerationEvent extends jdk.jfr.Event {
+
+    @Label("Symbol")
+    public String symbol;
+
+    @Label("Tick")
+    public long tick;
+}
@@ -0,0 +1,28 @@
+package ca.digilogue.xp.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One poll of the candle collector, including the snapshot sinks (e.g. Kafka) when a snapshot was published.
+ */
+@Name("ca.digilogue.xp.CollectorCycle")
+@Label("Collector Cycle")
+@Category({"OHLCV", "Collector"})
+@Description("Snapshot assembly and sink publish for one poll of the candle collector")
+@StackTrace(false)
+public class CollectorCycleEvent extends jdk.jfr.Event {
+
+    @Label("Tick")
+    public long tick = -1;
+
+    @Label("Batch Size")
+    @Description("Number of candles in the published snapshot (0 if nothing was published)")
+    public int batchSize;
+
+    @Label("Published")
+    public boolean published;
+}
@@ -0,0 +1,33 @@
+package ca.digilogue.xp.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * All work a generator does for one tick, from generation to the candle sink hand-off.
+ */
+@Name("ca.digilogue.xp.GeneratorTick")
+@Label("Generator Tick")
+@Category({"OHLCV", "Generator"})
+@Description("Generation, order book, history and sink hand-off (InfluxDB write) for one tick of one symbol")
+@StackTrace(false)
+public class GeneratorTickEvent extends jdk.jfr.Event {
+
+    @Label("Symbol")
+    public String symbol;
+
+    @Label("Tick")
+    public long tick;
+
+    @Label("Interval")
+    @Timespan(Timespan.MILLISECONDS)
+    public long intervalMillis;
+
+    @Label("Overrun")
+    @Description("The tick's work finished after the next tick boundary")
+    public boolean overrun;
+}
@@ -0,0 +1,17 @@
+package ca.digilogue.xp.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Explicit flush of pending InfluxDB writes.
+ */
+@Name("ca.digilogue.xp.InfluxFlush")
+@Label("InfluxDB Flush")
+@Category({"OHLCV", "InfluxDB"})
+public class InfluxFlushEvent extends jdk.jfr.Event {
+
+    @Label("Success")
+    public boolean success;
+}
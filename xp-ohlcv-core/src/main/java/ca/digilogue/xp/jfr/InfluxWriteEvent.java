@@ -0,0 +1,30 @@
+package ca.digilogue.xp.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Building a point and handing it to the InfluxDB write API.
+ */
+@Name("ca.digilogue.xp.InfluxWrite")
+@Label("InfluxDB Write")
+@Category({"OHLCV", "InfluxDB"})
+@Description("Point construction and hand-off to the InfluxDB write API")
+@StackTrace(false)
+public class InfluxWriteEvent extends jdk.jfr.Event {
+
+    @Label("Symbol")
+    public String symbol;
+
+    @Label("Batch Size")
+    public int batchSize;
+
+    @Label("Fields")
+    public int fieldCount;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,32 @@
+package ca.digilogue.xp.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Kafka send from the call to its acknowledgement (or failure). Committed on the
+ * producer's I/O thread, so its duration includes batching and the broker round trip.
+ */
+@Name("ca.digilogue.xp.KafkaCompletion")
+@Label("Kafka Completion")
+@Category({"OHLCV", "Kafka"})
+@Description("Kafka send from the call until the broker acknowledged it or it failed")
+@StackTrace(false)
+public class KafkaCompletionEvent extends jdk.jfr.Event {
+
+    @Label("Topic")
+    public String topic;
+
+    @Label("Batch Size")
+    @Description("Number of candles in the message")
+    public int batchSize;
+
+    @Label("Partition")
+    public int partition = -1;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,26 @@
+package ca.digilogue.xp.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The synchronous part of a Kafka send on the caller's thread (serialization, partitioning
+ * and appending to the producer's buffer).
+ */
+@Name("ca.digilogue.xp.KafkaSend")
+@Label("Kafka Send")
+@Category({"OHLCV", "Kafka"})
+@Description("Synchronous part of a Kafka send: serialization, partitioning and buffering")
+@StackTrace(false)
+public class KafkaSendEvent extends jdk.jfr.Event {
+
+    @Label("Topic")
+    public String topic;
+
+    @Label("Batch Size")
+    @Description("Number of candles in the message")
+    public int batchSize;
+}
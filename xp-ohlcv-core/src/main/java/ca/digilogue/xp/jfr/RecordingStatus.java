@@ -0,0 +1,22 @@
+package ca.digilogue.xp.jfr;
+
+import java.time.Instant;
+
+/**
+ * State of the service's continuous flight recording, as reported by the {@code jfr} actuator endpoint.
+ *
+ * @param recording   Whether the recording is running
+ * @param name        Recording name
+ * @param settings    JFR settings the recording was started with ("default" or "profile")
+ * @param startTime   When the recording was started (null if never started)
+ * @param sizeBytes   Data recorded so far and still retained
+ * @param destination File the recording is written to when it stops or the JVM exits
+ */
+public record RecordingStatus(
+        boolean recording,
+        String name,
+        String settings,
+        Instant startTime,
+        long sizeBytes,
+        String destination) {
+}
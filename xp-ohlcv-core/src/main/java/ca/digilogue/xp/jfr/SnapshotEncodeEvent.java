@@ -0,0 +1,41 @@
+package ca.digilogue.xp.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Encoding of a snapshot (or part of one) into the per-tick response cache. Happens once per
+ * tick, format and symbol subset; every further request for it is served from the cache.
+ */
+@Name("ca.digilogue.xp.SnapshotEncode")
+@Label("Snapshot Encode")
+@Category({"OHLCV", "Encoding"})
+@Description("One-time encoding of a snapshot view for the response cache")
+@StackTrace(false)
+public class SnapshotEncodeEvent extends jdk.jfr.Event {
+
+    @Label("Format")
+    public String format;
+
+    @Label("View")
+    public String view;
+
+    @Label("Tick")
+    public long tick;
+
+    @Label("Batch Size")
+    @Description("Number of candles encoded")
+    public int batchSize;
+
+    @Label("Size")
+    @DataAmount
+    public int bytes;
+
+    @Label("Cached")
+    @Description("False when the per-tick cache was full and the encoding was used once")
+    public boolean cached;
+}
@@ -0,0 +1,181 @@
+package ca.digilogue.xp.multicast;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Fixed layout of the multicast candle packets (big-endian), shared by the publisher and
+ * the reference receiver. A tick's candles are split across as few packets as fit the MTU;
+ * every packet carries its own sequence number.
+ * <pre>
+ * Header (32 bytes)
+ *   0  magic         int   ("OHMC")
+ *   4  version       short
+ *   6  candle count  short
+ *   8  sequence      long  (per packet, monotonic within a session)
+ *   16 tick          long
+ *   24 part index    short (packet index within the tick)
+ *   26 part count    short (packets for the tick)
+ *   28 session       int   (changes when the publisher restarts)
+ *
+ * Candle (64 bytes)
+ *   0  symbol        16 bytes printable US-ASCII, zero padded
+ *   16 epoch millis  long
+ *   24 open / 32 high / 40 low / 48 close / 56 volume   double
+ * </pre>
+ */
+public final class CandlePacket {
+
+    public static final int MAGIC = 0x4F48_4D43; // "OHMC"
+    public static final short VERSION = 1;
+
+    public static final int HEADER_SIZE = 32;
+    public static final int CANDLE_SIZE = 64;
+    public static final int SYMBOL_SIZE = 16;
+    public static final int MAX_PACKET_SIZE = 1400; // Fits a standard Ethernet MTU without fragmentation
+    public static final int MAX_CANDLES = (MAX_PACKET_SIZE - HEADER_SIZE) / CANDLE_SIZE;
+
+    static final int MAGIC_OFFSET = 0;
+    static final int VERSION_OFFSET = 4;
+    static final int COUNT_OFFSET = 6;
+    static final int SEQUENCE_OFFSET = 8;
+    static final int TICK_OFFSET = 16;
+    static final int PART_INDEX_OFFSET = 24;
+    static final int PART_COUNT_OFFSET = 26;
+    static final int SESSION_OFFSET = 28;
+
+    private CandlePacket() {
+    }
+
+    static void putHeader(ByteBuffer packet, int candleCount, long sequence, long tick, int partIndex,
+                          int partCount, int session) {
+        packet.putInt(MAGIC_OFFSET, MAGIC);
+        packet.putShort(VERSION_OFFSET, VERSION);
+        packet.putShort(COUNT_OFFSET, (short) candleCount);
+        packet.putLong(SEQUENCE_OFFSET, sequence);
+        packet.putLong(TICK_OFFSET, tick);
+        packet.putShort(PART_INDEX_OFFSET, (short) partIndex);
+        packet.putShort(PART_COUNT_OFFSET, (short) partCount);
+        packet.putInt(SESSION_OFFSET, session);
+    }
+
+    static void putCandle(ByteBuffer packet, int index, byte[] symbol, long epochMillis, double open,
+                          double high, double low, double close, double volume) {
+        int offset = HEADER_SIZE + index * CANDLE_SIZE;
+        for (int i = 0; i < SYMBOL_SIZE; i++) {
+            packet.put(offset + i, i < symbol.length ? symbol[i] : 0);
+        }
+        packet.putLong(offset + 16, epochMillis);
+        packet.putDouble(offset + 24, open);
+        packet.putDouble(offset + 32, high);
+        packet.putDouble(offset + 40, low);
+        packet.putDouble(offset + 48, close);
+        packet.putDouble(offset + 56, volume);
+    }
+
+    /**
+     * Checks that a symbol fits the fixed symbol field unchanged: 1 to 16 printable ASCII characters.
+     * Longer or non-ASCII symbols would be truncated or replaced on the wire and collide with others.
+     *
+     * @throws IllegalArgumentException If the symbol does not fit
+     */
+    public static void checkSymbol(String symbol) {
+        if (symbol == null || symbol.isEmpty() || symbol.length() > SYMBOL_SIZE) {
+            throw new IllegalArgumentException("Symbol must be 1 to " + SYMBOL_SIZE
+                + " characters for the multicast feed: " + symbol);
+        }
+        for (int i = 0; i < symbol.length(); i++) {
+            char c = symbol.charAt(i);
+            if (c < 0x20 || c > 0x7E) {
+                throw new IllegalArgumentException("Symbol must be printable ASCII for the multicast feed: " + symbol);
+            }
+        }
+    }
+
+    /**
+     * Encodes a symbol into the fixed symbol field.
+     *
+     * @throws IllegalArgumentException If the symbol does not fit (see {@link #checkSymbol})
+     */
+    static byte[] symbolBytes(String symbol) {
+        checkSymbol(symbol);
+        return symbol.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Gets the size of a packet carrying the given number of candles.
+     */
+    public static int size(int candleCount) {
+        return HEADER_SIZE + candleCount * CANDLE_SIZE;
+    }
+
+    /**
+     * Checks that the buffer (from its position) starts with a packet of this layout.
+     */
+    public static boolean isValid(ByteBuffer packet) {
+        int base = packet.position();
+        return packet.remaining() >= HEADER_SIZE
+            && packet.getInt(base + MAGIC_OFFSET) == MAGIC
+            && packet.getShort(base + VERSION_OFFSET) == VERSION
+            && packet.remaining() >= size(packet.getShort(base + COUNT_OFFSET));
+    }
+
+    public static int candleCount(ByteBuffer packet) {
+        return packet.getShort(packet.position() + COUNT_OFFSET);
+    }
+
+    public static long sequence(ByteBuffer packet) {
+        return packet.getLong(packet.position() + SEQUENCE_OFFSET);
+    }
+
+    public static long tick(ByteBuffer packet) {
+        return packet.getLong(packet.position() + TICK_OFFSET);
+    }
+
+    public static int partIndex(ByteBuffer packet) {
+        return packet.getShort(packet.position() + PART_INDEX_OFFSET);
+    }
+
+    public static int partCount(ByteBuffer packet) {
+        return packet.getShort(packet.position() + PART_COUNT_OFFSET);
+    }
+
+    public static int session(ByteBuffer packet) {
+        return packet.getInt(packet.position() + SESSION_OFFSET);
+    }
+
+    public static String symbol(ByteBuffer packet, int index) {
+        int offset = packet.position() + HEADER_SIZE + index * CANDLE_SIZE;
+        int length = 0;
+        while (length < SYMBOL_SIZE && packet.get(offset + length) != 0) {
+            length++;
+        }
+        byte[] bytes = new byte[length];
+        packet.get(offset, bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    public static long epochMillis(ByteBuffer packet, int index) {
+        return packet.getLong(packet.position() + HEADER_SIZE + index * CANDLE_SIZE + 16);
+    }
+
+    public static double open(ByteBuffer packet, int index) {
+        return packet.getDouble(packet.position() + HEADER_SIZE + index * CANDLE_SIZE + 24);
+    }
+
+    public static double high(ByteBuffer packet, int index) {
+        return packet.getDouble(packet.position() + HEADER_SIZE + index * CANDLE_SIZE + 32);
+    }
+
+    public static double low(ByteBuffer packet, int index) {
+        return packet.getDouble(packet.position() + HEADER_SIZE + index * CANDLE_SIZE + 40);
+    }
+
+    public static double close(ByteBuffer packet, int index) {
+        return packet.getDouble(packet.position() + HEADER_SIZE + index * CANDLE_SIZE + 48);
+    }
+
+    public static double volume(ByteBuffer packet, int index) {
+        return packet.getDouble(packet.position() + HEADER_SIZE + index * CANDLE_SIZE + 56);
+    }
+}
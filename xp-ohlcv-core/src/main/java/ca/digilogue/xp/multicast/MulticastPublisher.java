@@ -0,0 +1,160 @@
+package ca.digilogue.xp.multicast;
+
+import ca.digilogue.xp.generator.OhlcvCandle;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Publishes candles as fixed-layout UDP multicast packets (see {@link CandlePacket}), one
+ * batch per tick, and retains recent packets for retransmission.
+ * <p>
+ * Fire-and-forget: there are no acknowledgements, so a publish costs a few datagram sends.
+ * Receivers detect loss through the per-packet sequence numbers and recover via
+ * {@link #copyPackets}.
+ */
+public class MulticastPublisher implements Closeable {
+
+    private final DatagramChannel channel;
+    private final InetSocketAddress group;
+    private final RetransmitRing ring;
+    private final int session;
+    private final ByteBuffer packet = ByteBuffer.allocateDirect(CandlePacket.MAX_PACKET_SIZE);
+    private final Map<String, byte[]> symbols = new HashMap<>();
+    private long nextSequence = 1;
+
+    private MulticastPublisher(DatagramChannel channel, InetSocketAddress group, int retainPackets) {
+        this.channel = channel;
+        this.group = group;
+        this.ring = new RetransmitRing(retainPackets);
+        this.session = (int) (System.currentTimeMillis() / 1000);
+    }
+
+    /**
+     * Opens the sending socket.
+     *
+     * @param group         Multicast group address (e.g., 239.255.10.1)
+     * @param port          Destination port
+     * @param interfaceName Network interface to send on (e.g., "lo" for a single box), or null for the default
+     * @param ttl           Multicast TTL (1 keeps packets on the local subnet)
+     * @param retainPackets Number of recent packets kept for retransmission
+     * @return The publisher
+     */
+    public static MulticastPublisher open(String group, int port, String interfaceName, int ttl, int retainPackets)
+            throws IOException {
+        InetAddress address = InetAddress.getByName(group);
+        if (!address.isMulticastAddress()) {
+            throw new IllegalArgumentException("Not a multicast address: " + group);
+        }
+        DatagramChannel channel = DatagramChannel.open(StandardProtocolFamily.INET);
+        try {
+            channel.setOption(StandardSocketOptions.IP_MULTICAST_TTL, ttl);
+            channel.setOption(StandardSocketOptions.IP_MULTICAST_LOOP, true);
+            if (interfaceName != null && !interfaceName.isBlank()) {
+                NetworkInterface networkInterface = NetworkInterface.getByName(interfaceName);
+                if (networkInterface == null) {
+                    throw new IOException("Unknown network interface: " + interfaceName);
+                }
+                channel.setOption(StandardSocketOptions.IP_MULTICAST_IF, networkInterface);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return new MulticastPublisher(channel, new InetSocketAddress(address, port), retainPackets);
+    }
+
+    /**
+     * Sends one tick's candles, split into as many packets as needed.
+     *
+     * @param tick    The tick the candles belong to
+     * @param candles The candles to send
+     * @return The number of packets sent
+     * @throws IllegalArgumentException If a symbol does not fit the packet's symbol field
+     *                                  (see {@link CandlePacket#checkSymbol}); nothing is sent for the tick
+     */
+    public synchronized int publish(long tick, Collection<OhlcvCandle> candles) throws IOException {
+        for (OhlcvCandle candle : candles) {
+            symbols.computeIfAbsent(candle.getSymbol(), CandlePacket::symbolBytes);
+        }
+
+        int partCount = Math.max(1, (candles.size() + CandlePacket.MAX_CANDLES - 1) / CandlePacket.MAX_CANDLES);
+        int partIndex = 0;
+        int count = 0;
+        for (OhlcvCandle candle : candles) {
+            CandlePacket.putCandle(packet, count++, symbols.get(candle.getSymbol()),
+                candle.getEpochMillis(), candle.getOpen(), candle.getHigh(), candle.getLow(), candle.getClose(),
+                candle.getVolume());
+            if (count == CandlePacket.MAX_CANDLES) {
+                send(tick, count, partIndex++, partCount);
+                count = 0;
+            }
+        }
+        if (count > 0 || partIndex == 0) {
+            send(tick, count, partIndex++, partCount);
+        }
+        return partIndex;
+    }
+
+    private void send(long tick, int count, int partIndex, int partCount) throws IOException {
+        long sequence = nextSequence++;
+        CandlePacket.putHeader(packet, count, sequence, tick, partIndex, partCount, session);
+        packet.clear().limit(CandlePacket.size(count));
+        ring.put(sequence, packet);
+        channel.send(packet, group);
+        packet.clear();
+    }
+
+    /**
+     * Appends retained packets {@code from..to} (inclusive) to the output buffer, back to back.
+     *
+     * @return The number of packets copied, or -1 if {@code from} is no longer retained
+     */
+    public int copyPackets(long from, long to, ByteBuffer out) {
+        int copied = 0;
+        for (long sequence = from; sequence <= to; sequence++) {
+            if (!ring.copy(sequence, out)) {
+                return copied == 0 ? -1 : copied;
+            }
+            copied++;
+        }
+        return copied;
+    }
+
+    public int getSession() {
+        return session;
+    }
+
+    /**
+     * Gets the sequence of the last packet sent (0 before the first).
+     */
+    public long getLastSequence() {
+        return ring.newest();
+    }
+
+    /**
+     * Gets the oldest sequence that can still be retransmitted.
+     */
+    public long getOldestRetained() {
+        return ring.oldest();
+    }
+
+    public InetSocketAddress getGroup() {
+        return group;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
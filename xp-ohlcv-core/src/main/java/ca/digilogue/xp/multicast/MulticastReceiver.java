@@ -0,0 +1,318 @@
+package ca.digilogue.xp.multicast;
+
+import ca.digilogue.xp.encoding.BinaryCandleEncoder;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reference receiver for the multicast candle feed. Depends on the JDK only.
+ * <p>
+ * Delivers candles in sequence order. When a gap is detected it fetches the missing
+ * packets from the service's retransmit endpoint ({@code GET /multicast/packets}); if they
+ * are no longer retained it falls back to the latest snapshot ({@code GET /candles} in
+ * binary) and resumes from the packet that revealed the gap. Recovery is synchronous,
+ * which keeps ordering simple at the cost of delaying packets that arrive meanwhile
+ * (they are buffered by the socket).
+ * <p>
+ * Run standalone to watch a feed:
+ * {@code java ca.digilogue.xp.multicast.MulticastReceiver 239.255.10.1 40100 lo http://localhost:8083}
+ */
+public class MulticastReceiver implements Runnable, Closeable {
+
+    /**
+     * Receives candles and recovery notifications.
+     */
+    public interface Listener {
+
+        /**
+         * Called for every candle, in sequence order.
+         *
+         * @param sequence The packet sequence, or -1 for candles recovered from a snapshot
+         */
+        void onCandle(long sequence, long tick, String symbol, long epochMillis, double open, double high,
+                      double low, double close, double volume);
+
+        /**
+         * Called once a gap has been handled.
+         *
+         * @param fromSequence First missing sequence
+         * @param toSequence   Last missing sequence
+         * @param recovered    True if every missing packet was retransmitted, false if a snapshot was used
+         */
+        default void onGap(long fromSequence, long toSequence, boolean recovered) {
+        }
+    }
+
+    private static final String BINARY_CONTENT_TYPE = "application/x-ohlcv";
+    private static final int MAX_RETRANSMIT = 1024; // Packets per retransmit request
+
+    private final DatagramChannel channel;
+    private final String serviceUrl;
+    private final Listener listener;
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(CandlePacket.MAX_PACKET_SIZE);
+
+    private int session;
+    private long expected; // Next sequence to deliver (0 until the first packet)
+
+    private final AtomicLong packets = new AtomicLong();
+    private final AtomicLong gaps = new AtomicLong();
+    private final AtomicLong retransmitted = new AtomicLong();
+    private final AtomicLong snapshots = new AtomicLong();
+
+    private MulticastReceiver(DatagramChannel channel, String serviceUrl, Listener listener) {
+        this.channel = channel;
+        this.serviceUrl = serviceUrl;
+        this.listener = listener;
+    }
+
+    /**
+     * Joins the multicast group.
+     *
+     * @param group         Multicast group address
+     * @param port          Port the feed is sent to
+     * @param interfaceName Interface to join on (e.g., "lo"), or null for the first multicast-capable one
+     * @param serviceUrl    Base URL of the service for gap recovery (e.g., http://localhost:8083)
+     * @param listener      Receives the candles
+     * @return The receiver; call {@link #run()} (typically on its own thread) to start receiving
+     */
+    public static MulticastReceiver open(String group, int port, String interfaceName, String serviceUrl,
+                                         Listener listener) throws IOException {
+        InetAddress address = InetAddress.getByName(group);
+        NetworkInterface networkInterface = interfaceName != null && !interfaceName.isBlank()
+            ? NetworkInterface.getByName(interfaceName)
+            : NetworkInterface.networkInterfaces()
+                .filter(MulticastReceiver::supportsMulticast)
+                .findFirst()
+                .orElse(null);
+        if (networkInterface == null) {
+            throw new IOException("No multicast interface " + (interfaceName != null ? interfaceName : "found"));
+        }
+
+        DatagramChannel channel = DatagramChannel.open(StandardProtocolFamily.INET);
+        try {
+            channel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+            channel.setOption(StandardSocketOptions.SO_RCVBUF, 4 * 1024 * 1024);
+            channel.bind(new InetSocketAddress(port));
+            channel.join(address, networkInterface);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return new MulticastReceiver(channel, serviceUrl, listener);
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (channel.isOpen()) {
+                buffer.clear();
+                channel.receive(buffer);
+                buffer.flip();
+                if (CandlePacket.isValid(buffer)) {
+                    onPacket(buffer);
+                }
+            }
+        } catch (ClosedChannelException e) {
+            // Closed by close()
+        } catch (IOException e) {
+            throw new IllegalStateException("Multicast receive failed", e);
+        }
+    }
+
+    private void onPacket(ByteBuffer packet) {
+        long sequence = CandlePacket.sequence(packet);
+        int packetSession = CandlePacket.session(packet);
+        if (expected == 0 || packetSession != session) {
+            // First packet, or the publisher restarted: start following the new stream
+            session = packetSession;
+            expected = sequence;
+        }
+        if (sequence < expected) {
+            return; // Duplicate or already recovered
+        }
+        if (sequence > expected) {
+            recover(expected, sequence - 1);
+        }
+        deliver(packet);
+        expected = sequence + 1;
+    }
+
+    private void recover(long from, long to) {
+        gaps.incrementAndGet();
+        long next = from;
+        try {
+            while (next <= to) {
+                long batchEnd = Math.min(to, next + MAX_RETRANSMIT - 1);
+                HttpResponse<byte[]> response = http.send(HttpRequest.newBuilder(
+                        URI.create(serviceUrl + "/multicast/packets?from=" + next + "&to=" + batchEnd))
+                        .timeout(Duration.ofSeconds(5))
+                        .build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+                if (response.statusCode() != 200) {
+                    break;
+                }
+                ByteBuffer body = ByteBuffer.wrap(response.body());
+                long before = next;
+                while (CandlePacket.isValid(body)) {
+                    if (CandlePacket.session(body) != session) {
+                        break;
+                    }
+                    if (CandlePacket.sequence(body) == next) {
+                        deliver(body);
+                        retransmitted.incrementAndGet();
+                        next++;
+                    }
+                    body.position(body.position() + CandlePacket.size(CandlePacket.candleCount(body)));
+                }
+                if (next == before) {
+                    break; // Nothing usable in this batch
+                }
+            }
+        } catch (IOException e) {
+            // Fall through to the snapshot
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        boolean recovered = next > to;
+        if (!recovered) {
+            recoverFromSnapshot();
+        }
+        listener.onGap(from, to, recovered);
+    }
+
+    private void recoverFromSnapshot() {
+        try {
+            HttpResponse<byte[]> response = http.send(HttpRequest.newBuilder(URI.create(serviceUrl + "/candles"))
+                    .header("Accept", BINARY_CONTENT_TYPE)
+                    .timeout(Duration.ofSeconds(5))
+                    .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                return;
+            }
+            ByteBuffer body = ByteBuffer.wrap(response.body());
+            // Binary snapshot format of GET /candles; a newer layout cannot be parsed safely
+            if (body.remaining() < 18 || body.getInt() != BinaryCandleEncoder.MAGIC
+                    || body.getShort() != BinaryCandleEncoder.VERSION) {
+                return;
+            }
+            int count = body.getInt();
+            long tick = body.getLong();
+            for (int i = 0; i < count; i++) {
+                String symbol = readString(body);
+                long epochMillis = body.getLong();
+                double open = body.getDouble();
+                double high = body.getDouble();
+                double low = body.getDouble();
+                double close = body.getDouble();
+                double volume = body.getDouble();
+                int indicators = body.getShort();
+                for (int j = 0; j < indicators; j++) {
+                    readString(body);
+                    body.getDouble();
+                }
+                listener.onCandle(-1, tick, symbol, epochMillis, open, high, low, close, volume);
+            }
+            snapshots.incrementAndGet();
+        } catch (IOException e) {
+            // Nothing more to do; the feed continues from the next packet
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void deliver(ByteBuffer packet) {
+        long sequence = CandlePacket.sequence(packet);
+        long tick = CandlePacket.tick(packet);
+        int count = CandlePacket.candleCount(packet);
+        for (int i = 0; i < count; i++) {
+            listener.onCandle(sequence, tick, CandlePacket.symbol(packet, i), CandlePacket.epochMillis(packet, i),
+                CandlePacket.open(packet, i), CandlePacket.high(packet, i), CandlePacket.low(packet, i),
+                CandlePacket.close(packet, i), CandlePacket.volume(packet, i));
+        }
+        packets.incrementAndGet();
+    }
+
+    private static String readString(ByteBuffer body) {
+        byte[] bytes = new byte[body.getShort()];
+        body.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static boolean supportsMulticast(NetworkInterface networkInterface) {
+        try {
+            return networkInterface.isUp() && networkInterface.supportsMulticast();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public long getPacketCount() {
+        return packets.get();
+    }
+
+    public long getGapCount() {
+        return gaps.get();
+    }
+
+    public long getRetransmittedCount() {
+        return retransmitted.get();
+    }
+
+    public long getSnapshotCount() {
+        return snapshots.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Prints feed statistics: {@code <group> <port> <interface|-> <service url>}.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4) {
+            System.err.println("Usage: MulticastReceiver <group> <port> <interface|-> <service url>");
+            System.exit(1);
+        }
+        AtomicLong candles = new AtomicLong();
+        AtomicLong latencySum = new AtomicLong();
+        Listener listener = (sequence, tick, symbol, epochMillis, open, high, low, close, volume) -> {
+            candles.incrementAndGet();
+            latencySum.addAndGet(System.currentTimeMillis() - epochMillis);
+        };
+        String interfaceName = "-".equals(args[2]) ? null : args[2];
+        MulticastReceiver receiver = open(args[0], Integer.parseInt(args[1]), interfaceName, args[3], listener);
+        Thread thread = new Thread(receiver, "multicast-receiver");
+        thread.setDaemon(true);
+        thread.start();
+
+        while (thread.isAlive()) {
+            Thread.sleep(5000);
+            long count = candles.getAndSet(0);
+            long latency = latencySum.getAndSet(0);
+            System.out.printf("packets=%d gaps=%d retransmitted=%d snapshots=%d candles/5s=%d avgAgeMs=%.1f%n",
+                receiver.getPacketCount(), receiver.getGapCount(), receiver.getRetransmittedCount(),
+                receiver.getSnapshotCount(), count, count > 0 ? (double) latency / count : 0.0);
+        }
+    }
+}
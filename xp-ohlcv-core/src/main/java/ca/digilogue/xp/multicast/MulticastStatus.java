@@ -0,0 +1,13 @@
+package ca.digilogue.xp.multicast;
+
+/**
+ * Current state of the multicast feed, for receivers deciding how to recover.
+ *
+ * @param group          Multicast group address
+ * @param port           Destination port
+ * @param session        Publisher session; changes on restart, when sequences start over
+ * @param lastSequence   Sequence of the last packet sent (0 before the first)
+ * @param oldestRetained Oldest sequence that can still be retransmitted
+ */
+public record MulticastStatus(String group, int port, int session, long lastSequence, long oldestRetained) {
+}
@@ -0,0 +1,76 @@
+package ca.digilogue.xp.multicast;
+
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Retains the most recently sent packets by sequence number so receivers can recover gaps.
+ * Single writer (the publisher); any number of concurrent readers. A slot's sequence is
+ * cleared while it is overwritten and checked again after a copy (a seqlock, fenced like
+ * {@code SharedCandleSlot}), so readers never return a packet that was replaced while they
+ * were copying it.
+ */
+class RetransmitRing {
+
+    private final int capacity;
+    private final byte[] data;
+    private final int[] lengths;
+    private final AtomicLongArray sequences;
+    private volatile long newest;
+
+    RetransmitRing(int capacity) {
+        this.capacity = capacity;
+        this.data = new byte[capacity * CandlePacket.MAX_PACKET_SIZE];
+        this.lengths = new int[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+    }
+
+    void put(long sequence, ByteBuffer packet) {
+        int slot = (int) (sequence % capacity);
+        sequences.set(slot, 0); // Invalidate while overwriting
+        VarHandle.storeStoreFence(); // Keep the overwrite below from becoming visible before the invalidation
+        lengths[slot] = packet.remaining();
+        packet.duplicate().get(data, slot * CandlePacket.MAX_PACKET_SIZE, packet.remaining());
+        sequences.set(slot, sequence);
+        newest = sequence;
+    }
+
+    /**
+     * Appends a retained packet to the output buffer.
+     *
+     * @return False if the packet is no longer (or not yet) retained
+     */
+    boolean copy(long sequence, ByteBuffer out) {
+        int slot = (int) (sequence % capacity);
+        if (sequences.get(slot) != sequence) {
+            return false;
+        }
+        int start = out.position();
+        int length = lengths[slot];
+        if (length > CandlePacket.MAX_PACKET_SIZE) {
+            return false; // Torn by a concurrent overwrite; caught by the check below anyway
+        }
+        out.put(data, slot * CandlePacket.MAX_PACKET_SIZE, length);
+        VarHandle.loadLoadFence(); // Finish reading the packet before re-checking its sequence
+        if (sequences.get(slot) != sequence) {
+            out.position(start);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Gets the newest sequence sent (0 before the first packet).
+     */
+    long newest() {
+        return newest;
+    }
+
+    /**
+     * Gets the oldest sequence that may still be retained.
+     */
+    long oldest() {
+        return Math.max(1, newest - capacity + 1);
+    }
+}
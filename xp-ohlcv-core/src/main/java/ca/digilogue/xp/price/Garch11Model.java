@@ -0,0 +1,50 @@
+package ca.digilogue.xp.price;
+
+import ca.digilogue.xp.generator.SeededRandom;
+
+/**
+ * GARCH(1,1) volatility clustering: the conditional variance of log returns follows
+ * {@code h = omega + alpha * r^2 + beta * h}, with {@code omega} chosen so the long-run
+ * variance matches {@code (volatility / basePrice)^2}. Log returns carry the {@code -h / 2}
+ * drift correction, so like the other log-return models the price has no expected drift.
+ * The conditional variance is kept in {@link PricePaths#stateA}.
+ */
+public class Garch11Model implements PriceModel {
+
+    private final double alpha;
+    private final double beta;
+
+    /**
+     * @param alpha Weight of the last squared return (default 0.1)
+     * @param beta  Weight of the last conditional variance (default 0.85); {@code alpha + beta} must be below 1
+     */
+    public Garch11Model(double alpha, double beta) {
+        if (alpha < 0 || beta < 0 || alpha + beta >= 1.0) {
+            throw new IllegalArgumentException("GARCH(1,1) requires alpha, beta >= 0 and alpha + beta < 1");
+        }
+        this.alpha = alpha;
+        this.beta = beta;
+    }
+
+    @Override
+    public String name() {
+        return "garch";
+    }
+
+    @Override
+    public void advance(PricePaths paths, int from, int to, SeededRandom random) {
+        double[] price = paths.price;
+        double[] variance = paths.stateA;
+        for (int p = from; p < to; p++) {
+            double sigma = paths.volatility[p] / paths.basePrice[p];
+            double longRunVariance = sigma * sigma;
+            if (variance[p] <= 0.0) {
+                variance[p] = longRunVariance;
+            }
+
+            double shock = Math.sqrt(variance[p]) * random.nextGaussian();
+            price[p] = Math.max(PricePaths.MIN_PRICE, price[p] * Math.exp(shock - 0.5 * variance[p]));
+            variance[p] = longRunVariance * (1.0 - alpha - beta) + alpha * shock * shock + beta * variance[p];
+        }
+    }
+}
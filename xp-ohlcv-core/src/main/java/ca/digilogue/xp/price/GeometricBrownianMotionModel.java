@@ -0,0 +1,34 @@
+package ca.digilogue.xp.price;
+
+import ca.digilogue.xp.generator.SeededRandom;
+
+/**
+ * Geometric Brownian motion: log-normal returns with drift {@code mu} per tick and
+ * per-tick return volatility {@code volatility / basePrice}.
+ */
+public class GeometricBrownianMotionModel implements PriceModel {
+
+    private final double drift;
+
+    /**
+     * @param drift Expected log return per tick (default 0)
+     */
+    public GeometricBrownianMotionModel(double drift) {
+        this.drift = drift;
+    }
+
+    @Override
+    public String name() {
+        return "gbm";
+    }
+
+    @Override
+    public void advance(PricePaths paths, int from, int to, SeededRandom random) {
+        double[] price = paths.price;
+        for (int p = from; p < to; p++) {
+            double sigma = paths.volatility[p] / paths.basePrice[p];
+            double logReturn = drift - 0.5 * sigma * sigma + sigma * random.nextGaussian();
+            price[p] = Math.max(PricePaths.MIN_PRICE, price[p] * Math.exp(logReturn));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package ca.digilogue.xp.price;
+
+import ca.digilogue.xp.generator.SeededRandom;
+
+/**
+ * Merton jump-diffusion: geometric Brownian motion plus log-normally distributed jumps
+ * arriving with probability {@code intensity} per tick.
+ */
+public class MertonJumpDiffusionModel implements PriceModel {
+
+    private final double drift;
+    private final double intensity;
+    private final double jumpMean;
+    private final double jumpVolatility;
+
+    /**
+     * @param drift          Expected diffusive log return per tick (default 0)
+     * @param intensity      Jump probability per tick (default 0.01)
+     * @param jumpMean       Mean log jump size (default 0)
+     * @param jumpVolatility Standard deviation of the log jump size (default 0.05)
+     */
+    public MertonJumpDiffusionModel(double drift, double intensity, double jumpMean, double jumpVolatility) {
+        this.drift = drift;
+        this.intensity = intensity;
+        this.jumpMean = jumpMean;
+        this.jumpVolatility = jumpVolatility;
+    }
+
+    @Override
+    public String name() {
+        return "merton";
+    }
+
+    @Override
+    public void advance(PricePaths paths, int from, int to, SeededRandom random) {
+        double[] price = paths.price;
+        for (int p = from; p < to; p++) {
+            double sigma = paths.volatility[p] / paths.basePrice[p];
+            double logReturn = drift - 0.5 * sigma * sigma + sigma * random.nextGaussian();
+            if (random.nextDouble() < intensity) {
+                logReturn += jumpMean + jumpVolatility * random.nextGaussian();
+            }
+            price[p] = Math.max(PricePaths.MIN_PRICE, price[p] * Math.exp(logReturn));
+        }
+    }
+}
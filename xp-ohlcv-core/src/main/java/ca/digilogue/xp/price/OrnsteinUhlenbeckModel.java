@@ -0,0 +1,33 @@
+package ca.digilogue.xp.price;
+
+import ca.digilogue.xp.generator.SeededRandom;
+
+/**
+ * Ornstein-Uhlenbeck process: Gaussian shocks with mean reversion of speed {@code theta}
+ * toward the base price.
+ */
+public class OrnsteinUhlenbeckModel implements PriceModel {
+
+    private final double theta;
+
+    /**
+     * @param theta Mean reversion speed per tick (default 0.05)
+     */
+    public OrnsteinUhlenbeckModel(double theta) {
+        this.theta = theta;
+    }
+
+    @Override
+    public String name() {
+        return "ou";
+    }
+
+    @Override
+    public void advance(PricePaths paths, int from, int to, SeededRandom random) {
+        double[] price = paths.price;
+        for (int p = from; p < to; p++) {
+            double change = theta * (paths.basePrice[p] - price[p]) + paths.volatility[p] * random.nextGaussian();
+            price[p] = Math.max(PricePaths.MIN_PRICE, price[p] + change);
+        }
+    }
+}
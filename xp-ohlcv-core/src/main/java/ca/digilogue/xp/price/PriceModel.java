@@ -0,0 +1,36 @@
+package ca.digilogue.xp.price;
+
+import ca.digilogue.xp.generator.SeededRandom;
+
+/**
+ * SPI for stochastic price processes.
+ * <p>
+ * A model advances a range of paths by one tick per call, reading and writing the
+ * primitive arrays of {@link PricePaths}. Implementations hold only their (immutable)
+ * parameters; all per-path state lives in the paths, so one model instance can be
+ * shared by any number of symbols and threads. {@code volatility} is the configured
+ * per-tick price volatility of a path, in price units, and models derive their own
+ * parameters from it relative to the base price.
+ * <p>
+ * The engine runs one {@link ca.digilogue.xp.generator.OhlcvGenerator} per symbol on its own
+ * thread, with its own random sequence, so it only ever advances a single path per call.
+ * The range form is for callers that step many paths on one thread, such as offline
+ * simulations and tests.
+ */
+public interface PriceModel {
+
+    /**
+     * Gets the model name used in configuration (e.g. {@code gbm}).
+     */
+    String name();
+
+    /**
+     * Advances paths {@code [from, to)} by one tick. Prices never drop below {@link PricePaths#MIN_PRICE}.
+     *
+     * @param paths  The paths to advance
+     * @param from   First path index (inclusive)
+     * @param to     Last path index (exclusive)
+     * @param random Random source of the calling thread
+     */
+    void advance(PricePaths paths, int from, int to, SeededRandom random);
+}
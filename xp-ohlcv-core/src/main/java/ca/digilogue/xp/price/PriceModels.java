@@ -0,0 +1,75 @@
+package ca.digilogue.xp.price;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Creates built-in {@link PriceModel}s from configuration specs of the form
+ * {@code name} or {@code name:param=value,param=value}, e.g. {@code garch:alpha=0.08,beta=0.9}.
+ * <p>
+ * Models: {@code random-walk} (reversion), {@code gbm} (drift), {@code ou} (theta),
+ * {@code merton} (drift, intensity, jump-mean, jump-volatility), {@code garch} (alpha, beta)
+ * and {@code regime} (enter, exit, multiplier).
+ */
+public final class PriceModels {
+
+    public static final String DEFAULT_SPEC = "random-walk";
+
+    private PriceModels() {
+    }
+
+    /**
+     * Creates a model from its spec.
+     *
+     * @param spec The model spec
+     * @return The model
+     * @throws IllegalArgumentException if the spec is malformed or names an unknown model
+     */
+    public static PriceModel create(String spec) {
+        String trimmed = spec == null || spec.isBlank() ? DEFAULT_SPEC : spec.trim().toLowerCase(Locale.ROOT);
+        int colon = trimmed.indexOf(':');
+        String name = colon < 0 ? trimmed : trimmed.substring(0, colon);
+        Map<String, Double> params = parseParams(colon < 0 ? "" : trimmed.substring(colon + 1), spec);
+
+        return switch (name) {
+            case "random-walk" -> new RandomWalkModel(param(params, "reversion", 0.01));
+            case "gbm" -> new GeometricBrownianMotionModel(param(params, "drift", 0.0));
+            case "ou" -> new OrnsteinUhlenbeckModel(param(params, "theta", 0.05));
+            case "merton" -> new MertonJumpDiffusionModel(
+                param(params, "drift", 0.0),
+                param(params, "intensity", 0.01),
+                param(params, "jump-mean", 0.0),
+                param(params, "jump-volatility", 0.05));
+            case "garch" -> new Garch11Model(param(params, "alpha", 0.1), param(params, "beta", 0.85));
+            case "regime" -> new RegimeSwitchingModel(
+                param(params, "enter", 0.01),
+                param(params, "exit", 0.05),
+                param(params, "multiplier", 3.0));
+            default -> throw new IllegalArgumentException("Unknown price model: " + spec);
+        };
+    }
+
+    private static Map<String, Double> parseParams(String params, String spec) {
+        Map<String, Double> parsed = new HashMap<>();
+        for (String param : params.split(",")) {
+            if (param.isBlank()) {
+                continue;
+            }
+            String[] keyValue = param.split("=");
+            if (keyValue.length != 2) {
+                throw new IllegalArgumentException("Invalid price model parameter '" + param + "' in: " + spec);
+            }
+            try {
+                parsed.put(keyValue[0].trim(), Double.parseDouble(keyValue[1].trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid price model parameter '" + param + "' in: " + spec, e);
+            }
+        }
+        return parsed;
+    }
+
+    private static double param(Map<String, Double> params, String key, double defaultValue) {
+        return params.getOrDefault(key, defaultValue);
+    }
+}
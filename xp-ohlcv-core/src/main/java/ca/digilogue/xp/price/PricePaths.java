@@ -0,0 +1,44 @@
+package ca.digilogue.xp.price;
+
+/**
+ * Primitive, structure-of-arrays storage for a batch of price paths advanced together
+ * by a {@link PriceModel}.
+ * <p>
+ * Besides the price and its configuration, each path has two model-owned state slots
+ * ({@link #stateA}, {@link #stateB}), e.g. the conditional variance of a GARCH model or
+ * the current regime of a regime-switching model. They are checkpointed with the
+ * generator, and a value of zero means "not initialized yet".
+ */
+public class PricePaths {
+
+    public static final double MIN_PRICE = 0.01;
+
+    public final double[] price;
+    public final double[] basePrice;
+    public final double[] volatility;
+    public final double[] stateA;
+    public final double[] stateB;
+
+    public PricePaths(int capacity) {
+        this.price = new double[capacity];
+        this.basePrice = new double[capacity];
+        this.volatility = new double[capacity];
+        this.stateA = new double[capacity];
+        this.stateB = new double[capacity];
+    }
+
+    /**
+     * Sets up a path starting at its base price.
+     */
+    public void init(int path, double basePrice, double volatility) {
+        this.price[path] = basePrice;
+        this.basePrice[path] = basePrice;
+        this.volatility[path] = volatility;
+        this.stateA[path] = 0.0;
+        this.stateB[path] = 0.0;
+    }
+
+    public int capacity() {
+        return price.length;
+    }
+}
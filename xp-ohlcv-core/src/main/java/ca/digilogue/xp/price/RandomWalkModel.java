@@ -0,0 +1,35 @@
+package ca.digilogue.xp.price;
+
+import ca.digilogue.xp.generator.SeededRandom;
+
+/**
+ * The original generator process: a uniform random walk with a fixed pull toward the base price.
+ */
+public class RandomWalkModel implements PriceModel {
+
+    private final double reversion;
+
+    /**
+     * @param reversion Fraction of the distance to the base price recovered per tick (default 0.01)
+     */
+    public RandomWalkModel(double reversion) {
+        this.reversion = reversion;
+    }
+
+    @Override
+    public String name() {
+        return "random-walk";
+    }
+
+    @Override
+    public void advance(PricePaths paths, int from, int to, SeededRandom random) {
+        double[] price = paths.price;
+        double[] basePrice = paths.basePrice;
+        double[] volatility = paths.volatility;
+        for (int p = from; p < to; p++) {
+            double change = volatility[p] * (random.nextDouble() * 2.0 - 1.0);
+            change += (basePrice[p] - price[p]) * reversion;
+            price[p] = Math.max(PricePaths.MIN_PRICE, price[p] + change);
+        }
+    }
+}
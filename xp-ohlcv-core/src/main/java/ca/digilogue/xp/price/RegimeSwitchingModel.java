@@ -0,0 +1,48 @@
+package ca.digilogue.xp.price;
+
+import ca.digilogue.xp.generator.SeededRandom;
+
+/**
+ * Two-state Markov regime-switching model: log-normal returns whose volatility is
+ * multiplied by {@code turbulentMultiplier} while in the turbulent regime. The current
+ * regime (0 = calm, 1 = turbulent) is kept in {@link PricePaths#stateA}.
+ */
+public class RegimeSwitchingModel implements PriceModel {
+
+    private final double enterTurbulent;
+    private final double exitTurbulent;
+    private final double turbulentMultiplier;
+
+    /**
+     * @param enterTurbulent      Probability per tick of switching from calm to turbulent (default 0.01)
+     * @param exitTurbulent       Probability per tick of switching from turbulent to calm (default 0.05)
+     * @param turbulentMultiplier Volatility multiplier in the turbulent regime (default 3)
+     */
+    public RegimeSwitchingModel(double enterTurbulent, double exitTurbulent, double turbulentMultiplier) {
+        this.enterTurbulent = enterTurbulent;
+        this.exitTurbulent = exitTurbulent;
+        this.turbulentMultiplier = turbulentMultiplier;
+    }
+
+    @Override
+    public String name() {
+        return "regime";
+    }
+
+    @Override
+    public void advance(PricePaths paths, int from, int to, SeededRandom random) {
+        double[] price = paths.price;
+        double[] regime = paths.stateA;
+        for (int p = from; p < to; p++) {
+            boolean turbulent = regime[p] != 0.0;
+            if (random.nextDouble() < (turbulent ? exitTurbulent : enterTurbulent)) {
+                turbulent = !turbulent;
+                regime[p] = turbulent ? 1.0 : 0.0;
+            }
+
+            double sigma = paths.volatility[p] / paths.basePrice[p] * (turbulent ? turbulentMultiplier : 1.0);
+            double logReturn = -0.5 * sigma * sigma + sigma * random.nextGaussian();
+            price[p] = Math.max(PricePaths.MIN_PRICE, price[p] * Math.exp(logReturn));
+        }
+    }
+}
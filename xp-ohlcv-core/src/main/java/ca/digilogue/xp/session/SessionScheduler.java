@@ -0,0 +1,270 @@
+package ca.digilogue.xp.session;
+
+import ca.digilogue.xp.clock.SimulationClock;
+import ca.digilogue.xp.engine.SymbolSpec;
+import ca.digilogue.xp.generator.GeneratorOptions;
+import ca.digilogue.xp.generator.OhlcvGenerator;
+import ca.digilogue.xp.indicator.IndicatorSet;
+import ca.digilogue.xp.price.PriceModels;
+import ca.digilogue.xp.sink.CandleSink;
+import ca.digilogue.xp.sink.SnapshotSink;
+
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Runs any number of {@link SimulationSession}s on one shared pool of worker threads.
+ * <p>
+ * A single dispatcher thread paces every session on the clock: when a session's next tick
+ * is due it checks the session's rate quota and queues the tick's slices of generators.
+ * Sessions with queued work wait in one ready queue; a worker takes the session at the head,
+ * runs one slice and puts the session back at the tail if it has more. Sessions are thus
+ * served round-robin one slice at a time, so a session with thousands of symbols cannot
+ * starve one with three.
+ * <p>
+ * A tick is only queued once the session's previous tick has completed; ticks missed
+ * because of that are counted as lagged rather than queued up behind it.
+ */
+public class SessionScheduler {
+
+    private static final Logger log = System.getLogger(SessionScheduler.class.getName());
+
+    // Longest the dispatcher sleeps, so new and resumed sessions start promptly
+    private static final long MAX_DISPATCH_SLEEP_MILLIS = 50;
+
+    private final SimulationClock clock;
+    private final int workerCount;
+    private final int sliceSize;
+    private final Map<String, SimulationSession> sessions = new ConcurrentHashMap<>();
+    private final LinkedBlockingQueue<SimulationSession> ready = new LinkedBlockingQueue<>();
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+
+    /**
+     * @param clock       Clock the sessions are paced on and timestamped with
+     * @param workerCount Number of shared worker threads
+     * @param sliceSize   Generators stepped per unit of work (the round-robin granularity)
+     */
+    public SessionScheduler(SimulationClock clock, int workerCount, int sliceSize) {
+        this.clock = clock;
+        this.workerCount = Math.max(1, workerCount);
+        this.sliceSize = Math.max(1, sliceSize);
+    }
+
+    /**
+     * Starts the dispatcher and worker threads.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::work, "session-worker-" + i);
+            worker.setDaemon(true);
+            threads.add(worker);
+            worker.start();
+        }
+        Thread dispatcher = new Thread(this::dispatch, "session-dispatcher");
+        dispatcher.setDaemon(true);
+        clock.register(); // On behalf of the dispatcher, which deregisters when it stops
+        threads.add(dispatcher);
+        dispatcher.start();
+        log.log(Level.INFO, "Session scheduler started with {0} workers", workerCount);
+    }
+
+    /**
+     * Stops every thread; sessions are left as they are.
+     */
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+        for (Thread thread : threads) {
+            try {
+                thread.join(2000); // Wait up to 2 seconds
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        threads.clear();
+        log.log(Level.INFO, "Session scheduler stopped");
+    }
+
+    /**
+     * Creates a session and starts running it on the next tick.
+     *
+     * @param spec         The session definition
+     * @param candleSink   Receives every candle of the session, on a worker thread
+     * @param snapshotSink Receives every snapshot of the session, on a worker thread
+     * @return The new session
+     * @throws IllegalStateException if a session with the same id exists
+     */
+    public SimulationSession create(SessionSpec spec, CandleSink candleSink, SnapshotSink snapshotSink) {
+        GeneratorOptions options = new GeneratorOptions(spec.intervalMillis(), false, 0);
+        List<OhlcvGenerator> generators = new ArrayList<>(spec.symbols().size());
+        for (SymbolSpec symbol : spec.symbols()) {
+            OhlcvGenerator generator = new OhlcvGenerator(
+                symbol.symbol(),
+                symbol.basePrice(),
+                symbol.volatility(),
+                candleSink,
+                options,
+                PriceModels.create(spec.priceModelFor(symbol.symbol())),
+                clock
+            );
+            generator.seed(spec.seed());
+            if (!spec.indicators().isEmpty()) {
+                generator.attachIndicators(new IndicatorSet(spec.indicators()));
+            }
+            generators.add(generator);
+        }
+
+        SimulationSession session = new SimulationSession(spec, generators, snapshotSink, clock.currentTimeMillis());
+        if (sessions.putIfAbsent(spec.id(), session) != null) {
+            throw new IllegalStateException("Session already exists: " + spec.id());
+        }
+        log.log(Level.INFO, "Created session {0} ({1} symbols, {2} ms interval, seed {3})",
+            spec.id(), generators.size(), spec.intervalMillis(), Long.toString(spec.seed()));
+        return session;
+    }
+
+    /**
+     * Pauses a session; a tick already in progress still completes.
+     *
+     * @return The session, or null if not found
+     */
+    public SimulationSession pause(String id) {
+        return transition(id, SessionState.RUNNING, SessionState.PAUSED);
+    }
+
+    /**
+     * Resumes a paused session from the current tick; ticks passed while paused are not generated.
+     *
+     * @return The session, or null if not found
+     */
+    public SimulationSession resume(String id) {
+        return transition(id, SessionState.PAUSED, SessionState.RUNNING);
+    }
+
+    private SimulationSession transition(String id, SessionState from, SessionState to) {
+        SimulationSession session = sessions.get(id);
+        if (session == null) {
+            return null;
+        }
+        synchronized (session) {
+            if (session.getState() == from) {
+                session.setState(to);
+                log.log(Level.INFO, "Session {0} {1}", id, to.name().toLowerCase());
+            }
+        }
+        return session;
+    }
+
+    /**
+     * Destroys a session. Queued work for it is discarded.
+     *
+     * @return The destroyed session, or null if not found
+     */
+    public SimulationSession destroy(String id) {
+        SimulationSession session = sessions.remove(id);
+        if (session != null) {
+            session.setState(SessionState.DESTROYED);
+            log.log(Level.INFO, "Destroyed session {0}", id);
+        }
+        return session;
+    }
+
+    public SimulationSession get(String id) {
+        return sessions.get(id);
+    }
+
+    public Collection<SimulationSession> getSessions() {
+        return sessions.values();
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * Dispatcher loop: queues each running session's tick once it is due.
+     */
+    private void dispatch() {
+        try {
+            while (running) {
+                long now = clock.currentTimeMillis();
+                long wakeAt = now + MAX_DISPATCH_SLEEP_MILLIS;
+
+                for (SimulationSession session : sessions.values()) {
+                    long interval = session.getSpec().intervalMillis();
+                    long tick = now / interval;
+                    wakeAt = Math.min(wakeAt, (tick + 1) * interval);
+
+                    if (session.getState() != SessionState.RUNNING || session.getGenerators().isEmpty()
+                            || tick <= session.lastDispatchedTick) {
+                        continue;
+                    }
+                    session.lastDispatchedTick = tick;
+
+                    if (session.isTickInFlight()) {
+                        session.laggedTicks.increment();
+                    } else if (!session.tryAcquireTick(now)) {
+                        session.throttledTicks.increment();
+                    } else if (session.enqueue(tick, sliceSize)) {
+                        ready.add(session);
+                    }
+                }
+
+                clock.sleepUntil(wakeAt);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.log(Level.ERROR, "Session dispatcher failed", e);
+        } finally {
+            clock.deregister();
+        }
+    }
+
+    /**
+     * Worker loop: runs one slice of the session at the head of the ready queue at a time.
+     */
+    private void work() {
+        while (running) {
+            SimulationSession session;
+            try {
+                session = ready.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            SimulationSession.Slice slice;
+            synchronized (session) {
+                slice = session.poll();
+                if (session.hasQueuedSlices()) {
+                    ready.add(session); // Back of the line behind the other sessions
+                }
+            }
+            if (slice != null) {
+                try {
+                    session.run(slice);
+                } catch (RuntimeException e) {
+                    log.log(Level.ERROR, "Session " + session.getId() + " failed", e);
+                }
+            }
+        }
+    }
+}
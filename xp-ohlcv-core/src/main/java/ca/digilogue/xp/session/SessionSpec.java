@@ -0,0 +1,43 @@
+package ca.digilogue.xp.session;
+
+import ca.digilogue.xp.engine.SymbolSpec;
+import ca.digilogue.xp.indicator.IndicatorSpec;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Definition of an isolated simulation session.
+ *
+ * @param id                  Unique session id
+ * @param symbols             Symbols generated by the session
+ * @param priceModel          Price model spec for every symbol (e.g. "gbm"), see {@link ca.digilogue.xp.price.PriceModels}
+ * @param symbolModels        Per-symbol price model specs overriding {@code priceModel}
+ * @param seed                Seed of every generator's random sequence, so sessions are repeatable
+ * @param intervalMillis      Candle interval
+ * @param maxCandlesPerSecond Rate quota; ticks that would exceed it are skipped (0 = unlimited)
+ * @param indicators          Indicators computed for every candle
+ */
+public record SessionSpec(
+        String id,
+        List<SymbolSpec> symbols,
+        String priceModel,
+        Map<String, String> symbolModels,
+        long seed,
+        long intervalMillis,
+        double maxCandlesPerSecond,
+        List<IndicatorSpec> indicators) {
+
+    public SessionSpec {
+        symbols = List.copyOf(symbols);
+        symbolModels = symbolModels == null ? Map.of() : Map.copyOf(symbolModels);
+        indicators = indicators == null ? List.of() : List.copyOf(indicators);
+    }
+
+    /**
+     * Gets the price model spec for a symbol.
+     */
+    public String priceModelFor(String symbol) {
+        return symbolModels.getOrDefault(symbol, priceModel);
+    }
+}
@@ -0,0 +1,10 @@
+package ca.digilogue.xp.session;
+
+/**
+ * Lifecycle of a {@link SimulationSession}.
+ */
+public enum SessionState {
+    RUNNING,
+    PAUSED,
+    DESTROYED
+}
@@ -0,0 +1,36 @@
+package ca.digilogue.xp.session;
+
+/**
+ * Point-in-time view of a session and the resources it has consumed.
+ *
+ * @param id                  Session id
+ * @param state               Lifecycle state
+ * @param symbols             Number of symbols
+ * @param intervalMillis      Candle interval
+ * @param seed                Seed of the session's random sequences
+ * @param maxCandlesPerSecond Rate quota (0 = unlimited)
+ * @param createdMillis       Creation time (simulation clock)
+ * @param latestTick          Tick of the latest published snapshot (-1 before the first)
+ * @param ticks               Ticks completed
+ * @param candles             Candles generated
+ * @param throttledTicks      Ticks skipped because the rate quota was exhausted
+ * @param laggedTicks         Ticks skipped because the previous tick was still being generated
+ * @param errors              Candles or snapshots whose generation or sink hand-off failed
+ * @param workerMillis        Shared worker pool time spent on the session
+ */
+public record SessionStatus(
+        String id,
+        SessionState state,
+        int symbols,
+        long intervalMillis,
+        long seed,
+        double maxCandlesPerSecond,
+        long createdMillis,
+        long latestTick,
+        long ticks,
+        long candles,
+        long throttledTicks,
+        long laggedTicks,
+        long errors,
+        double workerMillis) {
+}
@@ -0,0 +1,229 @@
+package ca.digilogue.xp.session;
+
+import ca.digilogue.xp.generator.CandleSnapshot;
+import ca.digilogue.xp.generator.OhlcvCandle;
+import ca.digilogue.xp.generator.OhlcvGenerator;
+import ca.digilogue.xp.sink.SnapshotSink;
+
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An isolated synthetic market: its own generators, seed and sinks, driven by a
+ * {@link SessionScheduler} on the shared worker pool instead of threads of its own.
+ * <p>
+ * Each tick is split into slices of generators. The scheduler queues a tick's slices only
+ * once the previous tick has completed, so a generator is never stepped by two workers at
+ * once; the worker completing the last slice assembles the session's snapshot.
+ */
+public class SimulationSession {
+
+    private static final Logger log = System.getLogger(SimulationSession.class.getName());
+
+    /**
+     * A run of generators to step for one tick.
+     */
+    record Slice(long tick, int from, int to) {
+    }
+
+    private final SessionSpec spec;
+    private final List<OhlcvGenerator> generators;
+    private final SnapshotSink snapshotSink;
+    private final long createdMillis;
+
+    private volatile SessionState state = SessionState.RUNNING;
+    private volatile CandleSnapshot latestSnapshot = CandleSnapshot.EMPTY;
+
+    // Work queue, guarded by this session's monitor
+    private final ArrayDeque<Slice> slices = new ArrayDeque<>();
+    private boolean queued; // Whether the session is in the scheduler's ready queue
+    private final AtomicInteger pendingSlices = new AtomicInteger();
+
+    // Dispatcher-owned quota and tick tracking
+    long lastDispatchedTick = -1;
+    double tokens;
+    long tokensUpdatedMillis = -1;
+
+    // Accounting
+    final LongAdder ticks = new LongAdder();
+    final LongAdder candles = new LongAdder();
+    final LongAdder throttledTicks = new LongAdder();
+    final LongAdder laggedTicks = new LongAdder();
+    final LongAdder errors = new LongAdder();
+    final LongAdder workerNanos = new LongAdder();
+
+    SimulationSession(SessionSpec spec, List<OhlcvGenerator> generators, SnapshotSink snapshotSink, long createdMillis) {
+        this.spec = spec;
+        this.generators = List.copyOf(generators);
+        this.snapshotSink = snapshotSink;
+        this.createdMillis = createdMillis;
+    }
+
+    public String getId() {
+        return spec.id();
+    }
+
+    public SessionSpec getSpec() {
+        return spec;
+    }
+
+    public SessionState getState() {
+        return state;
+    }
+
+    void setState(SessionState state) {
+        this.state = state;
+    }
+
+    public List<OhlcvGenerator> getGenerators() {
+        return generators;
+    }
+
+    /**
+     * Gets the latest tick-consistent snapshot of the session's candles.
+     *
+     * @return The latest snapshot, or {@link CandleSnapshot#EMPTY} before the first tick
+     */
+    public CandleSnapshot getLatestSnapshot() {
+        return latestSnapshot;
+    }
+
+    /**
+     * Gets the session's state and resource usage so far.
+     */
+    public SessionStatus status() {
+        return new SessionStatus(
+            spec.id(),
+            state,
+            generators.size(),
+            spec.intervalMillis(),
+            spec.seed(),
+            spec.maxCandlesPerSecond(),
+            createdMillis,
+            latestSnapshot.tick(),
+            ticks.sum(),
+            candles.sum(),
+            throttledTicks.sum(),
+            laggedTicks.sum(),
+            errors.sum(),
+            workerNanos.sum() / 1_000_000.0
+        );
+    }
+
+    /**
+     * Whether slices of the last dispatched tick are still queued or running.
+     */
+    boolean isTickInFlight() {
+        return pendingSlices.get() > 0;
+    }
+
+    /**
+     * Refills the token bucket and takes one tick's worth of candles from it.
+     * Called by the dispatcher thread only.
+     *
+     * @return true if the tick fits in the rate quota
+     */
+    boolean tryAcquireTick(long nowMillis) {
+        double rate = spec.maxCandlesPerSecond();
+        if (rate <= 0) {
+            return true;
+        }
+        int cost = generators.size();
+        // Up to one second of burst, but always enough for a single tick
+        double capacity = Math.max(rate, cost);
+        if (tokensUpdatedMillis < 0) {
+            tokens = capacity;
+        } else {
+            tokens = Math.min(capacity, tokens + rate * (nowMillis - tokensUpdatedMillis) / 1000.0);
+        }
+        tokensUpdatedMillis = nowMillis;
+        if (tokens < cost) {
+            return false;
+        }
+        tokens -= cost;
+        return true;
+    }
+
+    /**
+     * Queues the slices of a tick.
+     *
+     * @return true if the session has to be added to the scheduler's ready queue
+     */
+    synchronized boolean enqueue(long tick, int sliceSize) {
+        int count = generators.size();
+        pendingSlices.set((count + sliceSize - 1) / sliceSize);
+        for (int from = 0; from < count; from += sliceSize) {
+            slices.add(new Slice(tick, from, Math.min(count, from + sliceSize)));
+        }
+        if (queued) {
+            return false;
+        }
+        queued = true;
+        return true;
+    }
+
+    /**
+     * Takes the next slice to run. Afterwards {@link #hasQueuedSlices()} tells whether the
+     * session must go back into the ready queue, behind the other sessions, for the rest.
+     *
+     * @return The slice, or null if none is left
+     */
+    synchronized Slice poll() {
+        Slice slice = slices.poll();
+        queued = !slices.isEmpty();
+        return slice;
+    }
+
+    synchronized boolean hasQueuedSlices() {
+        return queued;
+    }
+
+    /**
+     * Steps the generators of a slice; the worker finishing the tick's last slice publishes the snapshot.
+     */
+    void run(Slice slice) {
+        long start = System.nanoTime();
+        long epochMillis = slice.tick() * spec.intervalMillis();
+        if (state != SessionState.DESTROYED) {
+            for (int i = slice.from(); i < slice.to(); i++) {
+                try {
+                    generators.get(i).step(epochMillis);
+                    candles.increment();
+                } catch (RuntimeException e) {
+                    errors.increment();
+                    log.log(Level.DEBUG, "Session " + spec.id() + " failed to generate a candle", e);
+                }
+            }
+        }
+        if (pendingSlices.decrementAndGet() == 0 && state != SessionState.DESTROYED) {
+            completeTick(slice.tick(), epochMillis);
+        }
+        workerNanos.add(System.nanoTime() - start);
+    }
+
+    private void completeTick(long tick, long epochMillis) {
+        Map<String, OhlcvCandle> snapshotCandles = new LinkedHashMap<>();
+        for (OhlcvGenerator generator : generators) {
+            OhlcvCandle candle = generator.getCandleForTick(tick);
+            if (candle != null) {
+                snapshotCandles.put(candle.getSymbol(), candle);
+            }
+        }
+        CandleSnapshot snapshot = new CandleSnapshot(tick, Collections.unmodifiableMap(snapshotCandles));
+        latestSnapshot = snapshot;
+        ticks.increment();
+        try {
+            snapshotSink.publish(snapshot, epochMillis);
+        } catch (RuntimeException e) {
+            errors.increment();
+            log.log(Level.DEBUG, "Session " + spec.id() + " failed to publish tick " + tick, e);
+        }
+    }
+}
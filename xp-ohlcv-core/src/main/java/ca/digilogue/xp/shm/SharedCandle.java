@@ -0,0 +1,59 @@
+package ca.digilogue.xp.shm;
+
+/**
+ * Mutable holder a {@link SharedCandleReader} copies a slot into, so polling allocates nothing.
+ */
+public class SharedCandle {
+    long sequence;
+    long tick;
+    long epochMillis;
+    double open;
+    double high;
+    double low;
+    double close;
+    double volume;
+
+    /**
+     * Gets the slot sequence the candle was read at; it increases with every update, so
+     * comparing it with a previous read tells whether the candle changed.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public long getEpochMillis() {
+        return epochMillis;
+    }
+
+    public double getOpen() {
+        return open;
+    }
+
+    public double getHigh() {
+        return high;
+    }
+
+    public double getLow() {
+        return low;
+    }
+
+    public double getClose() {
+        return close;
+    }
+
+    public double getVolume() {
+        return volume;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "SharedCandle{tick=%d, open=%.2f, high=%.2f, low=%.2f, close=%.2f, volume=%.2f, epochMillis=%d}",
+            tick, open, high, low, close, volume, epochMillis
+        );
+    }
+}
@@ -0,0 +1,74 @@
+package ca.digilogue.xp.shm;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Layout of the shared-memory candle feed, shared by {@link SharedCandleWriter} and
+ * {@link SharedCandleReader}. All values are in native byte order.
+ * <pre>
+ * Header (64 bytes)
+ *   0  magic            long
+ *   8  layout version   int
+ *   12 capacity         int   (number of slots)
+ *   16 slot count       int   (slots allocated so far; release-published)
+ *   24 directory offset long
+ *   32 slots offset     long
+ *   40 created millis   long  (changes whenever the writer recreates the file)
+ *   48 interval millis  long
+ *
+ * Directory (capacity x 32 bytes)
+ *   0  symbol length    byte
+ *   1  symbol           UTF-8, up to 31 bytes
+ *
+ * Slots (capacity x 128 bytes, 128-byte aligned)
+ *   0  sequence         long  (odd while the writer updates the slot, 0 before the first candle)
+ *   8  tick             long
+ *   16 epoch millis     long
+ *   24 open / 32 high / 40 low / 48 close / 56 volume   double
+ * </pre>
+ */
+final class SharedCandleLayout {
+
+    static final long MAGIC = 0x4F48_4C43_5653_484DL; // "OHLCVSHM"
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 64;
+    static final int MAGIC_OFFSET = 0;
+    static final int VERSION_OFFSET = 8;
+    static final int CAPACITY_OFFSET = 12;
+    static final int SLOT_COUNT_OFFSET = 16;
+    static final int DIRECTORY_OFFSET_OFFSET = 24;
+    static final int SLOTS_OFFSET_OFFSET = 32;
+    static final int CREATED_OFFSET = 40;
+    static final int INTERVAL_OFFSET = 48;
+
+    static final int ENTRY_SIZE = 32;
+    static final int MAX_SYMBOL_BYTES = ENTRY_SIZE - 1;
+
+    static final int SLOT_SIZE = 128; // Two cache lines, so neighbouring slots never share one
+    static final int SEQUENCE = 0;
+    static final int TICK = 8;
+    static final int EPOCH_MILLIS = 16;
+    static final int OPEN = 24;
+    static final int HIGH = 32;
+    static final int LOW = 40;
+    static final int CLOSE = 48;
+    static final int VOLUME = 56;
+
+    static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    static final VarHandle INTS = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    private SharedCandleLayout() {
+    }
+
+    static long slotsOffset(int capacity) {
+        long end = HEADER_SIZE + (long) capacity * ENTRY_SIZE;
+        return (end + SLOT_SIZE - 1) / SLOT_SIZE * SLOT_SIZE;
+    }
+
+    static long fileSize(int capacity) {
+        return slotsOffset(capacity) + (long) capacity * SLOT_SIZE;
+    }
+}
@@ -0,0 +1,197 @@
+package ca.digilogue.xp.shm;
+
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static ca.digilogue.xp.shm.SharedCandleLayout.*;
+
+/**
+ * Reader side of the shared-memory latest-candle feed, for processes on the same host.
+ * Depends on the JDK only, so it can be copied into any consumer.
+ * <pre>
+ * SharedCandleReader reader = SharedCandleReader.open(Path.of("/dev/shm/xp-ohlcv-candles"));
+ * int slot = reader.slotOf("MEGA-USD");
+ * SharedCandle candle = new SharedCandle();
+ * long sequence = reader.read(slot, candle); // 0 until the first candle is published
+ * </pre>
+ * Reads never block the writer: a read that overlaps an update is retried. A slot whose
+ * update never completes (the writer died mid-update) is given up on after
+ * {@link #MAX_STALLED_ATTEMPTS}, so it cannot hang readers. Resolve slots
+ * once and reuse them; a slot keeps its symbol for the lifetime of the writer. When the
+ * service restarts it recreates the file, which {@link #isCurrent()} detects.
+ */
+public class SharedCandleReader {
+
+    /**
+     * Attempts {@link #read} makes while a slot's sequence stays odd and unchanged before giving
+     * up. A healthy writer holds a slot for well under a microsecond; this allows tens of
+     * milliseconds. Retries caused by a writer that keeps making progress are not counted.
+     */
+    public static final int MAX_STALLED_ATTEMPTS = 1 << 20;
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final long slotsOffset;
+    private final long createdMillis;
+    private final long intervalMillis;
+    private final Map<String, Integer> directory = new HashMap<>();
+    private int knownSlots;
+
+    private SharedCandleReader(Path path, MappedByteBuffer buffer) {
+        this.path = path;
+        this.buffer = buffer;
+        this.capacity = buffer.getInt(CAPACITY_OFFSET);
+        this.slotsOffset = buffer.getLong(SLOTS_OFFSET_OFFSET);
+        this.createdMillis = buffer.getLong(CREATED_OFFSET);
+        this.intervalMillis = buffer.getLong(INTERVAL_OFFSET);
+    }
+
+    /**
+     * Maps an existing feed file read-only.
+     *
+     * @param path The feed file written by the service
+     * @return The reader
+     * @throws IOException If the file is missing, not yet initialized or of an unknown layout
+     */
+    public static SharedCandleReader open(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException("Shared memory feed not initialized: " + path);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        buffer.order(ByteOrder.nativeOrder());
+        if ((long) LONGS.getAcquire(buffer, MAGIC_OFFSET) != MAGIC) {
+            throw new IOException("Not an initialized shared memory candle feed: " + path);
+        }
+        if (buffer.getInt(VERSION_OFFSET) != VERSION) {
+            throw new IOException("Unsupported shared memory feed version " + buffer.getInt(VERSION_OFFSET));
+        }
+        return new SharedCandleReader(path, buffer);
+    }
+
+    /**
+     * Looks up the slot of a symbol.
+     *
+     * @param symbol The trading symbol (e.g., "MEGA-USD")
+     * @return The slot index, or -1 if the symbol is not (yet) in the feed
+     */
+    public synchronized int slotOf(String symbol) {
+        Integer slot = directory.get(symbol);
+        if (slot == null && refreshDirectory()) {
+            slot = directory.get(symbol);
+        }
+        return slot != null ? slot : -1;
+    }
+
+    /**
+     * Gets the symbols currently in the feed, in slot order.
+     */
+    public synchronized List<String> symbols() {
+        refreshDirectory();
+        List<String> symbols = new ArrayList<>(knownSlots);
+        for (int i = 0; i < knownSlots; i++) {
+            symbols.add(readSymbol(i));
+        }
+        return symbols;
+    }
+
+    /**
+     * Copies the latest candle of a slot into the given holder.
+     *
+     * @param slot Slot index from {@link #slotOf(String)}
+     * @param into Holder to fill
+     * @return The slot sequence the candle was read at (0 if no candle was published yet), or -1
+     *         if the slot stayed mid-update for {@link #MAX_STALLED_ATTEMPTS} attempts. The holder
+     *         is then left unchanged and the writer most likely died; check {@link #isCurrent()}.
+     */
+    public long read(int slot, SharedCandle into) {
+        if (slot < 0 || slot >= capacity) {
+            throw new IndexOutOfBoundsException("Slot " + slot + " outside feed capacity " + capacity);
+        }
+        int base = (int) (slotsOffset + (long) slot * SLOT_SIZE);
+        long stalledAt = -1;
+        int stalled = 0;
+        while (true) {
+            long before = (long) LONGS.getAcquire(buffer, base + SEQUENCE);
+            if ((before & 1) != 0) {
+                // Writer mid-update; give up only if it makes no progress
+                if (before != stalledAt) {
+                    stalledAt = before;
+                    stalled = 0;
+                } else if (++stalled == MAX_STALLED_ATTEMPTS) {
+                    return -1;
+                }
+                Thread.onSpinWait();
+                continue;
+            }
+            into.tick = buffer.getLong(base + TICK);
+            into.epochMillis = buffer.getLong(base + EPOCH_MILLIS);
+            into.open = buffer.getDouble(base + OPEN);
+            into.high = buffer.getDouble(base + HIGH);
+            into.low = buffer.getDouble(base + LOW);
+            into.close = buffer.getDouble(base + CLOSE);
+            into.volume = buffer.getDouble(base + VOLUME);
+            VarHandle.loadLoadFence();
+            if ((long) LONGS.getOpaque(buffer, base + SEQUENCE) == before) {
+                into.sequence = before;
+                return before;
+            }
+        }
+    }
+
+    /**
+     * Checks whether the mapped feed is still the one the service is writing. Returns false
+     * once the service has restarted and recreated the file; reopen the reader in that case.
+     * Reads the file header, so call it occasionally rather than on every read.
+     */
+    public boolean isCurrent() {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.nativeOrder());
+            channel.read(header, 0);
+            return header.getLong(CREATED_OFFSET) == createdMillis;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    private boolean refreshDirectory() {
+        int count = (int) INTS.getAcquire(buffer, SLOT_COUNT_OFFSET);
+        if (count == knownSlots) {
+            return false;
+        }
+        for (int i = knownSlots; i < count; i++) {
+            directory.put(readSymbol(i), i);
+        }
+        knownSlots = count;
+        return true;
+    }
+
+    private String readSymbol(int slot) {
+        int entry = HEADER_SIZE + slot * ENTRY_SIZE;
+        byte[] name = new byte[buffer.get(entry)];
+        buffer.get(entry + 1, name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+}
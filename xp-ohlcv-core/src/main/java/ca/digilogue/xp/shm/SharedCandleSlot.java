@@ -0,0 +1,40 @@
+package ca.digilogue.xp.shm;
+
+import java.lang.invoke.VarHandle;
+import java.nio.MappedByteBuffer;
+
+import static ca.digilogue.xp.shm.SharedCandleLayout.*;
+
+/**
+ * One symbol's slot in the shared-memory feed. Updates are guarded by a seqlock: the
+ * sequence is odd while the candle is being written, so readers retry instead of blocking
+ * the writer. Must only be written by a single thread.
+ */
+public class SharedCandleSlot {
+
+    private final MappedByteBuffer buffer;
+    private final int offset;
+    private long sequence;
+
+    SharedCandleSlot(MappedByteBuffer buffer, int offset) {
+        this.buffer = buffer;
+        this.offset = offset;
+    }
+
+    /**
+     * Publishes a candle to the slot, replacing the previous one.
+     */
+    public void publish(long tick, long epochMillis, double open, double high, double low, double close,
+                        double volume) {
+        LONGS.setOpaque(buffer, offset + SEQUENCE, ++sequence); // Odd: update in progress
+        VarHandle.storeStoreFence();
+        buffer.putLong(offset + TICK, tick);
+        buffer.putLong(offset + EPOCH_MILLIS, epochMillis);
+        buffer.putDouble(offset + OPEN, open);
+        buffer.putDouble(offset + HIGH, high);
+        buffer.putDouble(offset + LOW, low);
+        buffer.putDouble(offset + CLOSE, close);
+        buffer.putDouble(offset + VOLUME, volume);
+        LONGS.setRelease(buffer, offset + SEQUENCE, ++sequence);
+    }
+}
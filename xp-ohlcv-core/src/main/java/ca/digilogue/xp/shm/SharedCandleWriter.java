@@ -0,0 +1,98 @@
+package ca.digilogue.xp.shm;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static ca.digilogue.xp.shm.SharedCandleLayout.*;
+
+/**
+ * Writer side of the shared-memory latest-candle feed (see {@link SharedCandleLayout}).
+ * <p>
+ * Creates (or recreates) the feed file, hands out one {@link SharedCandleSlot} per symbol and
+ * records the symbol in the directory so readers can find it. Each slot has a single writer
+ * (its generator thread), so publishing needs no locks.
+ */
+public class SharedCandleWriter {
+
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final long slotsOffset;
+    private int slotCount;
+
+    private SharedCandleWriter(MappedByteBuffer buffer, int capacity) {
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.slotsOffset = slotsOffset(capacity);
+    }
+
+    /**
+     * Creates the feed file, replacing any previous one so readers detect the restart.
+     *
+     * @param path           Feed file (ideally on a tmpfs such as /dev/shm)
+     * @param capacity       Maximum number of symbols
+     * @param intervalMillis Candle interval, recorded for readers
+     * @return The writer
+     */
+    public static SharedCandleWriter create(Path path, int capacity, long intervalMillis) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Files.deleteIfExists(path);
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize(capacity));
+        }
+        buffer.order(ByteOrder.nativeOrder());
+
+        buffer.putInt(VERSION_OFFSET, VERSION);
+        buffer.putInt(CAPACITY_OFFSET, capacity);
+        buffer.putLong(DIRECTORY_OFFSET_OFFSET, HEADER_SIZE);
+        buffer.putLong(SLOTS_OFFSET_OFFSET, slotsOffset(capacity));
+        buffer.putLong(CREATED_OFFSET, System.currentTimeMillis());
+        buffer.putLong(INTERVAL_OFFSET, intervalMillis);
+        // Magic last, so a reader never sees a half-initialized header
+        LONGS.setRelease(buffer, MAGIC_OFFSET, MAGIC);
+        return new SharedCandleWriter(buffer, capacity);
+    }
+
+    /**
+     * Allocates the slot for a symbol and publishes it in the directory.
+     *
+     * @param symbol The trading symbol (at most 31 UTF-8 bytes)
+     * @return The slot to publish the symbol's candles to
+     * @throws IllegalStateException If the feed is full
+     */
+    public synchronized SharedCandleSlot allocate(String symbol) {
+        byte[] name = symbol.getBytes(StandardCharsets.UTF_8);
+        if (name.length > MAX_SYMBOL_BYTES) {
+            throw new IllegalArgumentException("Symbol too long for shared memory feed: " + symbol);
+        }
+        if (slotCount == capacity) {
+            throw new IllegalStateException("Shared memory feed is full (" + capacity + " symbols)");
+        }
+
+        int entry = HEADER_SIZE + slotCount * ENTRY_SIZE;
+        buffer.put(entry, (byte) name.length);
+        buffer.put(entry + 1, name);
+
+        SharedCandleSlot slot = new SharedCandleSlot(buffer, (int) (slotsOffset + (long) slotCount * SLOT_SIZE));
+        slotCount++;
+        INTS.setRelease(buffer, SLOT_COUNT_OFFSET, slotCount);
+        return slot;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized int getSlotCount() {
+        return slotCount;
+    }
+}
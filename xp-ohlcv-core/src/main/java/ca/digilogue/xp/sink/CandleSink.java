@@ -0,0 +1,22 @@
+package ca.digilogue.xp.sink;
+
+import ca.digilogue.xp.generator.OhlcvCandle;
+
+/**
+ * Receives every candle as it is generated, on the generating thread (e.g. to persist it).
+ * <p>
+ * Called once per symbol per tick, so implementations should be quick and must not block
+ * for long. With reusable candle slots the candle is overwritten a few ticks later, so
+ * implementations must not keep it (see {@link ca.digilogue.xp.generator.OhlcvGenerator}).
+ * Exceptions are logged by the generator and do not stop generation.
+ */
+@FunctionalInterface
+public interface CandleSink {
+
+    /**
+     * A sink that discards every candle.
+     */
+    CandleSink NONE = candle -> { };
+
+    void accept(OhlcvCandle candle);
+}
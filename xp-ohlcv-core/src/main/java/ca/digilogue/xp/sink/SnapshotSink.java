@@ -0,0 +1,18 @@
+package ca.digilogue.xp.sink;
+
+import ca.digilogue.xp.generator.CandleSnapshot;
+
+/**
+ * Receives every tick-consistent snapshot assembled by the engine's collector, on the
+ * collector thread (e.g. to publish it to Kafka or multicast).
+ * Exceptions are logged by the engine and do not stop the collector.
+ */
+@FunctionalInterface
+public interface SnapshotSink {
+
+    /**
+     * @param snapshot        The snapshot, already visible through the engine's latest snapshot
+     * @param timestampMillis Start of the snapshot's tick in epoch milliseconds (clock time)
+     */
+    void publish(CandleSnapshot snapshot, long timestampMillis);
+}
@@ -0,0 +1,84 @@
+package ca.digilogue.xp.stats;
+
+/**
+ * Streaming distributions of one symbol's candles: log returns ({@code ln(close / open)}),
+ * log ranges ({@code ln(high / low)}) and volumes, each in a {@link QuantileSketch}.
+ * Updates come from the symbol's generator thread while reads may run concurrently from
+ * request threads, so every access is synchronized; reads work on copies.
+ */
+public final class CandleStatistics {
+
+    private final QuantileSketch logReturns;
+    private final QuantileSketch logRanges;
+    private final QuantileSketch volumes;
+
+    /**
+     * @param relativeAccuracy Relative error bound of quantile estimates (e.g. 0.01 for 1%)
+     * @param maxBuckets       Maximum buckets per sign in each sketch
+     */
+    public CandleStatistics(double relativeAccuracy, int maxBuckets) {
+        this(new QuantileSketch(relativeAccuracy, maxBuckets),
+            new QuantileSketch(relativeAccuracy, maxBuckets),
+            new QuantileSketch(relativeAccuracy, maxBuckets));
+    }
+
+    /**
+     * Wraps existing sketches, e.g. ones rebuilt from {@link SketchData} received from another instance.
+     */
+    public CandleStatistics(QuantileSketch logReturns, QuantileSketch logRanges, QuantileSketch volumes) {
+        this.logReturns = logReturns;
+        this.logRanges = logRanges;
+        this.volumes = volumes;
+    }
+
+    /**
+     * Adds a candle to the distributions.
+     */
+    public synchronized void update(double open, double high, double low, double close, double volume) {
+        logReturns.add(Math.log(close / open));
+        logRanges.add(Math.log(high / low));
+        volumes.add(volume);
+    }
+
+    /**
+     * Adds everything counted by other statistics (e.g. another symbol's) to these.
+     *
+     * @throws IllegalArgumentException If the sketches have different relative accuracies
+     */
+    public void merge(CandleStatistics other) {
+        CandleStatistics source = other.copy(); // Never hold both locks
+        synchronized (this) {
+            logReturns.merge(source.logReturns);
+            logRanges.merge(source.logRanges);
+            volumes.merge(source.volumes);
+        }
+    }
+
+    /**
+     * Creates an independent copy of these statistics.
+     */
+    public synchronized CandleStatistics copy() {
+        return new CandleStatistics(logReturns.copy(), logRanges.copy(), volumes.copy());
+    }
+
+    /**
+     * Gets a copy of the log return sketch.
+     */
+    public synchronized QuantileSketch getLogReturns() {
+        return logReturns.copy();
+    }
+
+    /**
+     * Gets a copy of the log range sketch.
+     */
+    public synchronized QuantileSketch getLogRanges() {
+        return logRanges.copy();
+    }
+
+    /**
+     * Gets a copy of the volume sketch.
+     */
+    public synchronized QuantileSketch getVolumes() {
+        return volumes.copy();
+    }
+}
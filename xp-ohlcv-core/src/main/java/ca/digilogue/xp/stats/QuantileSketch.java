@@ -0,0 +1,379 @@
+package ca.digilogue.xp.stats;
+
+/**
+ * Mergeable streaming quantile sketch with relative-error guarantees and bounded memory.
+ * <p>
+ * Values are counted in logarithmically sized buckets ({@code gamma = (1 + a) / (1 - a)} for
+ * relative accuracy {@code a}), separately for positive and negative values, so any quantile is
+ * estimated within {@code a} of the true value. Each side keeps at most {@code maxBuckets}
+ * buckets; once a side spans more, its smallest magnitudes are collapsed into the lowest
+ * remaining bucket, which keeps the tails accurate. Two sketches with the same relative
+ * accuracy merge exactly, so sketches from several symbols or instances can be combined.
+ * <p>
+ * Not thread-safe; {@link CandleStatistics} guards its sketches.
+ */
+public final class QuantileSketch {
+
+    /**
+     * Finest supported relative accuracy; finer ones would need bucket indices beyond int range.
+     */
+    public static final double MIN_RELATIVE_ACCURACY = 1e-4;
+
+    /**
+     * Most buckets a sketch may keep per sign.
+     */
+    public static final int MAX_BUCKETS = 1 << 16;
+
+    private final double relativeAccuracy;
+    private final int maxBuckets;
+    private final double gamma;
+    private final double logGamma;
+    private final int indexLimit; // Largest bucket index magnitude of any finite non-zero double
+    private final Buckets positive;
+    private final Buckets negative;
+    private long zeroCount;
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    private double sum;
+
+    /**
+     * @param relativeAccuracy Relative error bound of quantile estimates, in [{@value #MIN_RELATIVE_ACCURACY}, 1)
+     *                         (e.g. 0.01 for 1%)
+     * @param maxBuckets       Maximum buckets kept for each sign, in [1, {@value #MAX_BUCKETS}]
+     */
+    public QuantileSketch(double relativeAccuracy, int maxBuckets) {
+        if (!(relativeAccuracy >= MIN_RELATIVE_ACCURACY && relativeAccuracy < 1.0)) {
+            throw new IllegalArgumentException("Relative accuracy must be in [" + MIN_RELATIVE_ACCURACY + ", 1): "
+                + relativeAccuracy);
+        }
+        if (maxBuckets < 1 || maxBuckets > MAX_BUCKETS) {
+            throw new IllegalArgumentException("Max buckets must be in [1, " + MAX_BUCKETS + "]: " + maxBuckets);
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.maxBuckets = maxBuckets;
+        this.gamma = (1.0 + relativeAccuracy) / (1.0 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+        // ln(Double.MIN_VALUE) is about -744.4, the widest magnitude on either side
+        this.indexLimit = (int) Math.ceil(745.0 / logGamma) + 1;
+        this.positive = new Buckets(maxBuckets);
+        this.negative = new Buckets(maxBuckets);
+    }
+
+    /**
+     * Adds a value. NaN and infinite values are ignored.
+     */
+    public void add(double value) {
+        if (!Double.isFinite(value)) {
+            return;
+        }
+        if (value > 0.0) {
+            positive.add(index(value), 1);
+        } else if (value < 0.0) {
+            negative.add(index(-value), 1);
+        } else {
+            zeroCount++;
+        }
+        count++;
+        sum += value;
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    /**
+     * Adds all values counted by another sketch.
+     *
+     * @throws IllegalArgumentException If the sketches have different relative accuracies
+     */
+    public void merge(QuantileSketch other) {
+        if (Double.compare(other.relativeAccuracy, relativeAccuracy) != 0) {
+            throw new IllegalArgumentException("Cannot merge sketches with relative accuracy "
+                + other.relativeAccuracy + " into " + relativeAccuracy);
+        }
+        if (other.count == 0) {
+            return;
+        }
+        other.positive.forEach(positive::add);
+        other.negative.forEach(negative::add);
+        zeroCount += other.zeroCount;
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Estimates the value at a quantile.
+     *
+     * @param q The quantile, in [0, 1]
+     * @return The estimate (exact at 0 and 1), or NaN if the sketch is empty
+     */
+    public double quantile(double q) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (q <= 0.0) {
+            return min;
+        }
+        if (q >= 1.0) {
+            return max;
+        }
+
+        long rank = (long) (q * (count - 1));
+        long seen = 0;
+        // Most negative first: largest magnitude down
+        for (int i = negative.maxIndex; i >= negative.minIndex; i--) {
+            seen += negative.count(i);
+            if (seen > rank) {
+                return clamp(-value(i));
+            }
+        }
+        seen += zeroCount;
+        if (seen > rank) {
+            return clamp(0.0);
+        }
+        for (int i = positive.minIndex; i <= positive.maxIndex; i++) {
+            seen += positive.count(i);
+            if (seen > rank) {
+                return clamp(value(i));
+            }
+        }
+        return max;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Smallest value added, or NaN if the sketch is empty.
+     */
+    public double getMin() {
+        return count == 0 ? Double.NaN : min;
+    }
+
+    /**
+     * Largest value added, or NaN if the sketch is empty.
+     */
+    public double getMax() {
+        return count == 0 ? Double.NaN : max;
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    /**
+     * Mean of the values added, or NaN if the sketch is empty.
+     */
+    public double getMean() {
+        return count == 0 ? Double.NaN : sum / count;
+    }
+
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    public int getMaxBuckets() {
+        return maxBuckets;
+    }
+
+    /**
+     * Creates an independent copy of this sketch.
+     */
+    public QuantileSketch copy() {
+        QuantileSketch copy = new QuantileSketch(relativeAccuracy, maxBuckets);
+        copy.merge(this);
+        return copy;
+    }
+
+    /**
+     * Exports the sketch's buckets, e.g. to merge it in another process.
+     */
+    public SketchData toData() {
+        boolean empty = count == 0;
+        return new SketchData(relativeAccuracy, maxBuckets, count, zeroCount,
+            empty ? 0.0 : min, empty ? 0.0 : max, sum,
+            positive.firstIndex(), positive.toArray(), negative.firstIndex(), negative.toArray());
+    }
+
+    /**
+     * Rebuilds a sketch exported with {@link #toData()}, e.g. received from another process.
+     *
+     * @throws IllegalArgumentException If the data is inconsistent or out of range
+     */
+    public static QuantileSketch fromData(SketchData data) {
+        QuantileSketch sketch = new QuantileSketch(data.relativeAccuracy(), data.maxBuckets());
+        sketch.checkBuckets("positive", data.positiveOffset(), data.positiveCounts());
+        sketch.checkBuckets("negative", data.negativeOffset(), data.negativeCounts());
+        if (data.count() > 0 && !(Double.isFinite(data.min()) && Double.isFinite(data.max())
+                && data.min() <= data.max() && Double.isFinite(data.sum()))) {
+            throw new IllegalArgumentException("Sketch min, max and sum must be finite, with min <= max");
+        }
+        long counted;
+        try {
+            counted = Math.addExact(data.zeroCount(), sketch.positive.addAll(data.positiveOffset(), data.positiveCounts()));
+            counted = Math.addExact(counted, sketch.negative.addAll(data.negativeOffset(), data.negativeCounts()));
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Sketch bucket counts overflow");
+        }
+        if (counted != data.count() || data.zeroCount() < 0) {
+            throw new IllegalArgumentException("Sketch bucket counts do not add up to " + data.count());
+        }
+        sketch.zeroCount = data.zeroCount();
+        sketch.count = data.count();
+        sketch.sum = data.sum();
+        if (data.count() > 0) {
+            sketch.min = data.min();
+            sketch.max = data.max();
+        }
+        return sketch;
+    }
+
+    /**
+     * Checks that exported buckets fit this sketch: at most {@code maxBuckets} of them, all at
+     * indices a finite double can map to.
+     */
+    private void checkBuckets(String side, int firstIndex, long[] exported) {
+        if (exported == null || exported.length == 0) {
+            return;
+        }
+        long lastIndex = (long) firstIndex + exported.length - 1;
+        if (exported.length > maxBuckets || firstIndex < -indexLimit || lastIndex > indexLimit) {
+            throw new IllegalArgumentException("Sketch " + side + " buckets out of range: " + exported.length
+                + " from index " + firstIndex);
+        }
+    }
+
+    private int index(double magnitude) {
+        return (int) Math.ceil(Math.log(magnitude) / logGamma);
+    }
+
+    /**
+     * Representative value of a bucket: the point with equal relative error to both bounds.
+     */
+    private double value(int index) {
+        return 2.0 * Math.pow(gamma, index) / (gamma + 1.0);
+    }
+
+    private double clamp(double value) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    @FunctionalInterface
+    private interface BucketVisitor {
+        void visit(int index, long count);
+    }
+
+    /**
+     * Bucket counts for one sign, indexed by {@code ceil(log_gamma(|value|))}. The array grows
+     * on demand up to {@code maxBuckets}; beyond that the lowest indices are collapsed.
+     */
+    private static final class Buckets {
+
+        private final int maxBuckets;
+        private long[] counts = new long[0];
+        private int offset; // Bucket index of counts[0]
+        private int minIndex = Integer.MAX_VALUE; // Lowest non-empty bucket
+        private int maxIndex = Integer.MIN_VALUE; // Highest non-empty bucket
+
+        Buckets(int maxBuckets) {
+            this.maxBuckets = maxBuckets;
+        }
+
+        long count(int index) {
+            return counts[index - offset];
+        }
+
+        void add(int index, long n) {
+            if (index < minIndex || index > maxIndex) {
+                int newMax = Math.max(maxIndex, index);
+                int newMin = (int) Math.max(Math.min(minIndex, index), (long) newMax - maxBuckets + 1);
+                cover(newMin, newMax);
+                index = Math.max(index, newMin);
+            }
+            counts[index - offset] += n;
+        }
+
+        /**
+         * Makes the array cover {@code [newMin, newMax]}, collapsing counts below {@code newMin} into it.
+         */
+        private void cover(int newMin, int newMax) {
+            long collapsed = 0;
+            for (int i = minIndex; i <= maxIndex && i < newMin; i++) {
+                collapsed += counts[i - offset];
+                counts[i - offset] = 0;
+            }
+            if (newMin < offset || newMax >= offset + counts.length) {
+                int span = newMax - newMin + 1;
+                int capacity = Math.min(maxBuckets, Math.max(span, Math.max(16, counts.length * 2)));
+                // Leave the headroom on the side that is growing
+                int newOffset = newMin < offset ? newMax - capacity + 1 : newMin;
+                long[] grown = new long[capacity];
+                int from = Math.max(minIndex, newMin);
+                if (from <= maxIndex) {
+                    System.arraycopy(counts, from - offset, grown, from - newOffset, maxIndex - from + 1);
+                }
+                counts = grown;
+                offset = newOffset;
+            }
+            counts[newMin - offset] += collapsed;
+            minIndex = newMin;
+            maxIndex = newMax;
+        }
+
+        void forEach(BucketVisitor visitor) {
+            for (int i = minIndex; i <= maxIndex; i++) {
+                long n = counts[i - offset];
+                if (n != 0) {
+                    visitor.visit(i, n);
+                }
+            }
+        }
+
+        /**
+         * Adds exported counts, the first of which belongs to bucket {@code firstIndex}.
+         *
+         * @return The total count added
+         */
+        long addAll(int firstIndex, long[] exported) {
+            long total = 0;
+            if (exported == null) {
+                return total;
+            }
+            for (int i = 0; i < exported.length; i++) {
+                if (exported[i] < 0) {
+                    throw new IllegalArgumentException("Negative bucket count: " + exported[i]);
+                }
+                if (exported[i] != 0) {
+                    add(firstIndex + i, exported[i]);
+                    total = Math.addExact(total, exported[i]);
+                }
+            }
+            return total;
+        }
+
+        /**
+         * Index of the first exported bucket (0 if empty).
+         */
+        int firstIndex() {
+            return minIndex > maxIndex ? 0 : minIndex;
+        }
+
+        /**
+         * Counts of buckets {@code minIndex..maxIndex}, or an empty array.
+         */
+        long[] toArray() {
+            if (minIndex > maxIndex) {
+                return new long[0];
+            }
+            long[] exported = new long[maxIndex - minIndex + 1];
+            System.arraycopy(counts, minIndex - offset, exported, 0, exported.length);
+            return exported;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package ca.digilogue.xp.stats;
+
+/**
+ * Exported buckets of a {@link QuantileSketch}, for merging sketches across processes.
+ *
+ * @param relativeAccuracy Relative accuracy the sketch was built with; only equal ones merge
+ * @param maxBuckets       Maximum buckets per sign
+ * @param count            Total values counted
+ * @param zeroCount        Values equal to zero
+ * @param min              Smallest value (0 if empty)
+ * @param max              Largest value (0 if empty)
+ * @param sum              Sum of the values
+ * @param positiveOffset   Bucket index of {@code positiveCounts[0]}
+ * @param positiveCounts   Counts of consecutive positive-value buckets
+ * @param negativeOffset   Bucket index of {@code negativeCounts[0]}
+ * @param negativeCounts   Counts of consecutive negative-value buckets, by magnitude
+ */
+public record SketchData(
+        double relativeAccuracy,
+        int maxBuckets,
+        long count,
+        long zeroCount,
+        double min,
+        double max,
+        double sum,
+        int positiveOffset,
+        long[] positiveCounts,
+        int negativeOffset,
+        long[] negativeCounts) {
+}
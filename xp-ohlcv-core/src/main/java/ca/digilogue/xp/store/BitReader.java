@@ -0,0 +1,36 @@
+package ca.digilogue.xp.store;
+
+/**
+ * Sequential reader over a bit stream written by {@link BitWriter}.
+ */
+final class BitReader {
+
+    private final long[] words;
+    private long position;
+
+    BitReader(long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * Reads {@code bits} bits (1 to 64) as an unsigned value.
+     */
+    long read(int bits) {
+        int wordIndex = (int) (position >>> 6);
+        int used = (int) (position & 63);
+        int available = 64 - used;
+        long value;
+        if (bits <= available) {
+            value = words[wordIndex] >>> (available - bits);
+        } else {
+            int overflow = bits - available;
+            value = (words[wordIndex] << overflow) | (words[wordIndex + 1] >>> (64 - overflow));
+        }
+        position += bits;
+        return bits == 64 ? value : value & ((1L << bits) - 1);
+    }
+
+    boolean readBit() {
+        return read(1) == 1;
+    }
+}
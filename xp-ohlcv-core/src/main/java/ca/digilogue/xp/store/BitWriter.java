@@ -0,0 +1,55 @@
+package ca.digilogue.xp.store;
+
+import java.util.Arrays;
+
+/**
+ * Append-only bit stream backed by a growable {@code long[]}, most significant bit first.
+ */
+final class BitWriter {
+
+    private long[] words = new long[64];
+    private long bitLength;
+
+    /**
+     * Writes the lowest {@code bits} bits of {@code value} (1 to 64 bits).
+     */
+    void write(long value, int bits) {
+        if (bits < 64) {
+            value &= (1L << bits) - 1;
+        }
+        int wordIndex = (int) (bitLength >>> 6);
+        int used = (int) (bitLength & 63);
+        ensureCapacity(wordIndex + 2);
+
+        int free = 64 - used;
+        if (bits <= free) {
+            words[wordIndex] |= value << (free - bits);
+        } else {
+            int overflow = bits - free;
+            words[wordIndex] |= value >>> overflow;
+            words[wordIndex + 1] |= value << (64 - overflow);
+        }
+        bitLength += bits;
+    }
+
+    void writeBit(boolean bit) {
+        write(bit ? 1 : 0, 1);
+    }
+
+    long bitLength() {
+        return bitLength;
+    }
+
+    /**
+     * Copies the written words, trimmed to the bit length.
+     */
+    long[] toWords() {
+        return Arrays.copyOf(words, (int) ((bitLength + 63) >>> 6));
+    }
+
+    private void ensureCapacity(int wordCount) {
+        if (wordCount > words.length) {
+            words = Arrays.copyOf(words, Math.max(wordCount, words.length * 2));
+        }
+    }
+}
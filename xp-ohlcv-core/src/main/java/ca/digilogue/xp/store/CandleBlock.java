@@ -0,0 +1,124 @@
+package ca.digilogue.xp.store;
+
+/**
+ * Immutable, sealed block of compressed candles for a single symbol.
+ * Decoding streams rows straight to a {@link CandleVisitor} without materializing candles.
+ */
+final class CandleBlock {
+
+    private final long[] words;
+    private final int count;
+    private final long firstMillis;
+    private final long lastMillis;
+    private final ValueCodec priceCodec;
+    private final ValueCodec volumeCodec;
+
+    CandleBlock(long[] words, int count, long firstMillis, long lastMillis,
+                ValueCodec priceCodec, ValueCodec volumeCodec) {
+        this.words = words;
+        this.count = count;
+        this.firstMillis = firstMillis;
+        this.lastMillis = lastMillis;
+        this.priceCodec = priceCodec;
+        this.volumeCodec = volumeCodec;
+    }
+
+    int count() {
+        return count;
+    }
+
+    long firstMillis() {
+        return firstMillis;
+    }
+
+    long lastMillis() {
+        return lastMillis;
+    }
+
+    long sizeInBytes() {
+        return (long) words.length * Long.BYTES;
+    }
+
+    /**
+     * Decodes the block and visits every candle within {@code [fromMillis, toMillis]}.
+     *
+     * @return false if the visitor stopped the scan
+     */
+    boolean scan(long fromMillis, long toMillis, CandleVisitor visitor) {
+        if (count == 0 || lastMillis < fromMillis || firstMillis > toMillis) {
+            return true;
+        }
+
+        BitReader in = new BitReader(words);
+        long[] values = new long[CandleBlockEncoder.COLUMNS];
+        int[] leading = new int[CandleBlockEncoder.COLUMNS];
+        int[] trailing = new int[CandleBlockEncoder.COLUMNS];
+
+        long millis = in.read(64);
+        long delta = 0;
+        for (int column = 0; column < values.length; column++) {
+            values[column] = in.read(64);
+        }
+
+        for (int row = 0; row < count; row++) {
+            if (row > 0) {
+                delta += readDeltaOfDelta(in);
+                millis += delta;
+
+                long previousClose = values[CandleBlockEncoder.CLOSE];
+                values[CandleBlockEncoder.OPEN] = readXor(in, previousClose, leading, trailing, CandleBlockEncoder.OPEN);
+                for (int column = 1; column < values.length; column++) {
+                    values[column] = readXor(in, values[column], leading, trailing, column);
+                }
+            }
+
+            if (millis > toMillis) {
+                return true;
+            }
+            if (millis >= fromMillis && !visitor.visit(millis,
+                    priceCodec.decode(values[0]), priceCodec.decode(values[1]),
+                    priceCodec.decode(values[2]), priceCodec.decode(values[3]),
+                    volumeCodec.decode(values[4]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long readDeltaOfDelta(BitReader in) {
+        if (!in.readBit()) {
+            return 0;
+        }
+        if (!in.readBit()) {
+            return signExtend(in.read(7), 7);
+        }
+        if (!in.readBit()) {
+            return signExtend(in.read(9), 9);
+        }
+        if (!in.readBit()) {
+            return signExtend(in.read(12), 12);
+        }
+        return in.read(64);
+    }
+
+    private static long readXor(BitReader in, long reference, int[] leading, int[] trailing, int column) {
+        if (!in.readBit()) {
+            return reference;
+        }
+        if (in.readBit()) {
+            leading[column] = (int) in.read(5);
+            int significant = (int) in.read(6);
+            if (significant == 0) {
+                significant = 64;
+            }
+            trailing[column] = 64 - leading[column] - significant;
+        }
+        int significant = 64 - leading[column] - trailing[column];
+        return reference ^ (in.read(significant) << trailing[column]);
+    }
+
+    private static long signExtend(long value, int bits) {
+        int shift = 64 - bits;
+        return (value << shift) >> shift;
+    }
+}
@@ -0,0 +1,148 @@
+package ca.digilogue.xp.store;
+
+/**
+ * Gorilla-style encoder for the open (still growing) block of a candle series.
+ * <p>
+ * Each candle is written as one row: the timestamp as a delta-of-delta with variable
+ * length buckets, followed by the open, high, low, close and volume XOR-ed against their
+ * previous value, emitting only the meaningful bits and reusing the previous
+ * leading/trailing zero window when it fits. The open is XOR-ed against the previous
+ * close, which is usually identical, so it typically costs a single bit.
+ * <p>
+ * Values are converted to longs by {@link ValueCodec} before XOR-ing: fixed-point
+ * quantization keeps the meaningful bits of neighbouring values small, while a scale
+ * of zero stores the raw IEEE-754 bits losslessly.
+ */
+final class CandleBlockEncoder {
+
+    static final int COLUMNS = 5; // open, high, low, close, volume
+    static final int OPEN = 0;
+    static final int CLOSE = 3;
+
+    private final ValueCodec priceCodec;
+    private final ValueCodec volumeCodec;
+    private final BitWriter out = new BitWriter();
+    private final long[] previous = new long[COLUMNS];
+    private final int[] previousLeading = new int[COLUMNS];
+    private final int[] previousTrailing = new int[COLUMNS];
+
+    private int count;
+    private long firstMillis;
+    private long previousMillis;
+    private long previousDelta;
+
+    CandleBlockEncoder(ValueCodec priceCodec, ValueCodec volumeCodec) {
+        this.priceCodec = priceCodec;
+        this.volumeCodec = volumeCodec;
+    }
+
+    void append(long epochMillis, double open, double high, double low, double close, double volume) {
+        long o = priceCodec.encode(open);
+        long h = priceCodec.encode(high);
+        long l = priceCodec.encode(low);
+        long c = priceCodec.encode(close);
+        long v = volumeCodec.encode(volume);
+
+        if (count == 0) {
+            firstMillis = epochMillis;
+            out.write(epochMillis, 64);
+            writeFirst(OPEN, o);
+            writeFirst(1, h);
+            writeFirst(2, l);
+            writeFirst(CLOSE, c);
+            writeFirst(4, v);
+        } else {
+            long delta = epochMillis - previousMillis;
+            writeDeltaOfDelta(delta - previousDelta);
+            previousDelta = delta;
+
+            // Open is compared with the previous close rather than the previous open
+            writeXor(OPEN, o, previous[CLOSE]);
+            writeXor(1, h, previous[1]);
+            writeXor(2, l, previous[2]);
+            writeXor(CLOSE, c, previous[CLOSE]);
+            writeXor(4, v, previous[4]);
+        }
+        previousMillis = epochMillis;
+        previous[OPEN] = o;
+        previous[1] = h;
+        previous[2] = l;
+        previous[CLOSE] = c;
+        previous[4] = v;
+        count++;
+    }
+
+    int count() {
+        return count;
+    }
+
+    long firstMillis() {
+        return firstMillis;
+    }
+
+    long lastMillis() {
+        return previousMillis;
+    }
+
+    long bitLength() {
+        return out.bitLength();
+    }
+
+    /**
+     * Produces an immutable block holding everything appended so far.
+     */
+    CandleBlock seal() {
+        return new CandleBlock(out.toWords(), count, firstMillis, previousMillis, priceCodec, volumeCodec);
+    }
+
+    private void writeFirst(int column, long value) {
+        out.write(value, 64);
+        previousLeading[column] = -1; // No window yet
+    }
+
+    private void writeDeltaOfDelta(long dod) {
+        if (dod == 0) {
+            out.writeBit(false);
+        } else if (dod >= -64 && dod <= 63) {
+            out.write(0b10, 2);
+            out.write(dod, 7);
+        } else if (dod >= -256 && dod <= 255) {
+            out.write(0b110, 3);
+            out.write(dod, 9);
+        } else if (dod >= -2048 && dod <= 2047) {
+            out.write(0b1110, 4);
+            out.write(dod, 12);
+        } else {
+            out.write(0b1111, 4);
+            out.write(dod, 64);
+        }
+    }
+
+    private void writeXor(int column, long value, long reference) {
+        long xor = value ^ reference;
+        if (xor == 0) {
+            out.writeBit(false);
+            return;
+        }
+        out.writeBit(true);
+
+        int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+        int trailing = Long.numberOfTrailingZeros(xor);
+        int prevLeading = previousLeading[column];
+        int prevTrailing = previousTrailing[column];
+
+        if (prevLeading >= 0 && leading >= prevLeading && trailing >= prevTrailing) {
+            // Meaningful bits fit in the previous window
+            out.writeBit(false);
+            out.write(xor >>> prevTrailing, 64 - prevLeading - prevTrailing);
+        } else {
+            int significant = 64 - leading - trailing;
+            out.writeBit(true);
+            out.write(leading, 5);
+            out.write(significant == 64 ? 0 : significant, 6);
+            out.write(xor >>> trailing, significant);
+            previousLeading[column] = leading;
+            previousTrailing[column] = trailing;
+        }
+    }
+}
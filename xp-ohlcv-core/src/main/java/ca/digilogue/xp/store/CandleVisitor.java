@@ -0,0 +1,15 @@
+package ca.digilogue.xp.store;
+
+/**
+ * Receives decoded candles from a range scan, one call per candle, without allocation.
+ */
+@FunctionalInterface
+public interface CandleVisitor {
+
+    /**
+     * Called for each candle in the scanned range, in time order.
+     *
+     * @return false to stop the scan early
+     */
+    boolean visit(long epochMillis, double open, double high, double low, double close, double volume);
+}
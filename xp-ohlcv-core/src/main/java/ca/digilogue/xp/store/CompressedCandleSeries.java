@@ -0,0 +1,110 @@
+package ca.digilogue.xp.store;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only, compressed in-memory history of one symbol's candles.
+ * <p>
+ * Candles are appended to an open block; once it holds {@code blockSize} candles it is
+ * sealed into an immutable {@link CandleBlock}. Sealed blocks older than the retention
+ * window are dropped. Appends come from the symbol's generator thread while scans may run
+ * concurrently from request threads; the short critical sections only cover appending
+ * and taking a view of the blocks, decoding happens outside the lock.
+ */
+public class CompressedCandleSeries {
+
+    private final String symbol;
+    private final int blockSize;
+    private final long retentionMillis;
+    private final ValueCodec priceCodec;
+    private final ValueCodec volumeCodec;
+    private final List<CandleBlock> sealed = new ArrayList<>();
+
+    private CandleBlockEncoder open;
+    private long sealedBytes;
+    private long sealedCount;
+
+    /**
+     * @param symbol          The trading symbol
+     * @param blockSize       Candles per sealed block
+     * @param retentionMillis How long sealed blocks are kept
+     * @param priceScale      Fixed-point scale for prices (e.g. 10000 for 4 decimals), or 0 for lossless
+     * @param volumeScale     Fixed-point scale for volumes, or 0 for lossless
+     */
+    public CompressedCandleSeries(String symbol, int blockSize, long retentionMillis,
+                                  double priceScale, double volumeScale) {
+        this.symbol = symbol;
+        this.blockSize = blockSize;
+        this.retentionMillis = retentionMillis;
+        this.priceCodec = new ValueCodec(priceScale);
+        this.volumeCodec = new ValueCodec(volumeScale);
+        this.open = new CandleBlockEncoder(priceCodec, volumeCodec);
+    }
+
+    /**
+     * Appends a candle; timestamps must not go backwards.
+     */
+    public synchronized void append(long epochMillis, double open, double high, double low, double close,
+                                    double volume) {
+        this.open.append(epochMillis, open, high, low, close, volume);
+        if (this.open.count() >= blockSize) {
+            CandleBlock block = this.open.seal();
+            sealed.add(block);
+            sealedBytes += block.sizeInBytes();
+            sealedCount += block.count();
+            this.open = new CandleBlockEncoder(priceCodec, volumeCodec);
+            evictExpired(epochMillis - retentionMillis);
+        }
+    }
+
+    /**
+     * Streams every retained candle within {@code [fromMillis, toMillis]} to the visitor, oldest first.
+     */
+    public void scan(long fromMillis, long toMillis, CandleVisitor visitor) {
+        List<CandleBlock> blocks;
+        synchronized (this) {
+            blocks = new ArrayList<>(sealed.size() + 1);
+            for (CandleBlock block : sealed) {
+                if (block.lastMillis() >= fromMillis && block.firstMillis() <= toMillis) {
+                    blocks.add(block);
+                }
+            }
+            if (open.count() > 0 && open.lastMillis() >= fromMillis && open.firstMillis() <= toMillis) {
+                blocks.add(open.seal());
+            }
+        }
+
+        for (CandleBlock block : blocks) {
+            if (!block.scan(fromMillis, toMillis, visitor)) {
+                return;
+            }
+        }
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    /**
+     * Gets the number of candles currently retained.
+     */
+    public synchronized long getCandleCount() {
+        return sealedCount + open.count();
+    }
+
+    /**
+     * Gets the approximate memory held by compressed data, in bytes.
+     */
+    public synchronized long getSizeInBytes() {
+        return sealedBytes + ((open.bitLength() + 63) >>> 6) * Long.BYTES;
+    }
+
+    private void evictExpired(long cutoffMillis) {
+        while (!sealed.isEmpty() && sealed.get(0).lastMillis() < cutoffMillis) {
+            CandleBlock expired = sealed.remove(0);
+            sealedBytes -= expired.sizeInBytes();
+            sealedCount -= expired.count();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package ca.digilogue.xp.store;
+
+/**
+ * Maps doubles to the longs that are XOR-compressed, either as fixed-point values
+ * with a decimal scale or as raw IEEE-754 bits.
+ *
+ * @param scale Multiplier applied before rounding (e.g. 10000 for 4 decimals), or 0 for lossless raw bits
+ */
+record ValueCodec(double scale) {
+
+    long encode(double value) {
+        return scale > 0 ? Math.round(value * scale) : Double.doubleToRawLongBits(value);
+    }
+
+    double decode(long value) {
+        return scale > 0 ? value / scale : Double.longBitsToDouble(value);
+    }
+}
@@ -0,0 +1,42 @@
+package ca.digilogue.xp.book;
+
+import ca.digilogue.xp.generator.SeededRandom;
+
+/**
+ * Throughput benchmark for {@link OrderBook}, run with {@code mvn -Pbenchmark verify -DskipTests}
+ * rather than as a unit test, since wall-clock numbers depend on the machine and its load.
+ * <p>
+ * Advances one book through a drifting mid price and prints book events per second after
+ * a warm-up.
+ */
+public final class OrderBookBenchmark {
+
+    private static final BookListener NO_OP = new BookListener() {
+        @Override
+        public void onLevelUpdate(String symbol, long sequence, boolean bid, double price, double size) {
+        }
+
+        @Override
+        public void onSnapshot(BookSnapshot snapshot) {
+        }
+    };
+
+    private OrderBookBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int ticks = Integer.getInteger("benchmark.ticks", 200_000);
+        OrderBook book = new OrderBook("BENCH-USD", 10, 0.01, 200, 150, 10, NO_OP);
+        SeededRandom random = new SeededRandom(42);
+
+        double price = OrderBookTest.runTicks(book, random, 100.0, ticks / 2);
+        for (int round = 1; round <= 5; round++) {
+            long eventsBefore = book.getEventCount();
+            long start = System.nanoTime();
+            price = OrderBookTest.runTicks(book, random, price, ticks);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("Order book round %d: %.0f events/s%n", round,
+                (book.getEventCount() - eventsBefore) / seconds);
+        }
+    }
+}
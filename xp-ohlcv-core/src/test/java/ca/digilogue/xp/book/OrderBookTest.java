@@ -0,0 +1,93 @@
+package ca.digilogue.xp.book;
+
+import ca.digilogue.xp.generator.SeededRandom;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderBookTest {
+
+    private static final BookListener NO_OP = new BookListener() {
+        @Override
+        public void onLevelUpdate(String symbol, long sequence, boolean bid, double price, double size) {
+        }
+
+        @Override
+        public void onSnapshot(BookSnapshot snapshot) {
+        }
+    };
+
+    @Test
+    void levelUpdatesAreSequencedContiguously() {
+        long[] last = {0};
+        long[] updates = {0};
+        BookListener checking = new BookListener() {
+            @Override
+            public void onLevelUpdate(String symbol, long sequence, boolean bid, double price, double size) {
+                assertEquals(last[0] + 1, sequence);
+                assertTrue(price > 0 && size >= 0, "Invalid level " + price + " x " + size);
+                last[0] = sequence;
+                updates[0]++;
+            }
+
+            @Override
+            public void onSnapshot(BookSnapshot snapshot) {
+                assertEquals(last[0], snapshot.sequence());
+            }
+        };
+        OrderBook book = new OrderBook("SEQ-USD", 10, 0.01, 200, 150, 10, checking);
+        runTicks(book, new SeededRandom(42), 100.0, 1_000);
+
+        assertTrue(updates[0] > 0);
+        assertEquals(last[0], book.snapshot(0).sequence());
+    }
+
+    @Test
+    void sameSeedProducesSameBook() {
+        OrderBook a = new OrderBook("SEED-USD", 10, 0.01, 20, 15, 10, NO_OP);
+        OrderBook b = new OrderBook("SEED-USD", 10, 0.01, 20, 15, 10, NO_OP);
+        runTicks(a, new SeededRandom(7), 100.0, 500);
+        runTicks(b, new SeededRandom(7), 100.0, 500);
+
+        BookSnapshot snapshotA = a.snapshot(0);
+        BookSnapshot snapshotB = b.snapshot(0);
+        assertEquals(snapshotA.sequence(), snapshotB.sequence());
+        assertArrayEquals(snapshotA.bidPrices(), snapshotB.bidPrices());
+        assertArrayEquals(snapshotA.bidSizes(), snapshotB.bidSizes());
+        assertArrayEquals(snapshotA.askPrices(), snapshotB.askPrices());
+        assertArrayEquals(snapshotA.askSizes(), snapshotB.askSizes());
+    }
+
+    @Test
+    void updatesSinceSnapshotAreBufferedUntilOverwritten() {
+        BookUpdateBuffer buffer = new BookUpdateBuffer(64, NO_OP);
+        OrderBook book = new OrderBook("BUF-USD", 5, 0.01, 2, 1, 1, buffer);
+        SeededRandom random = new SeededRandom(1);
+        runTicks(book, random, 100.0, 1);
+
+        long snapshotSequence = book.snapshot(0).sequence();
+        runTicks(book, random, 100.0, 3);
+        List<BookUpdate> updates = buffer.since(snapshotSequence);
+        assertEquals(buffer.getLastSequence() - snapshotSequence, updates.size());
+        for (int i = 0; i < updates.size(); i++) {
+            assertEquals(snapshotSequence + 1 + i, updates.get(i).sequence());
+        }
+
+        runTicks(book, random, 100.0, 200);
+        assertNull(buffer.since(snapshotSequence));
+    }
+
+    static double runTicks(OrderBook book, SeededRandom random, double price, int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            double close = price + (random.nextDouble() - 0.5) * 0.1;
+            book.advance(price, close, i * 1000L, random);
+            price = close;
+        }
+        return price;
+    }
+}
@@ -0,0 +1,62 @@
+package ca.digilogue.xp.checkpoint;
+
+import ca.digilogue.xp.generator.GeneratorState;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CheckpointFileTest {
+
+    @Test
+    void restoresTheLastCheckpoint() throws Exception {
+        Path path = Files.createTempFile("checkpoint", ".ckpt");
+        try (CheckpointFile file = CheckpointFile.open(path, 4)) {
+            file.write(new GeneratorState[] {state("MEGA-USD", 101.5)}, 1);
+            file.write(new GeneratorState[] {state("MEGA-USD", 102.5), state("HELIO-USD", 75.0)}, 2);
+        }
+        try (CheckpointFile file = CheckpointFile.open(path, 4)) {
+            Map<String, GeneratorState> restored = file.read();
+            assertEquals(2, restored.size());
+            assertEquals(102.5, restored.get("MEGA-USD").currentPrice);
+            assertEquals(2, file.getSequence());
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void rejectsSymbolsThatDoNotFitInsteadOfTruncating() throws Exception {
+        Path path = Files.createTempFile("checkpoint", ".ckpt");
+        try (CheckpointFile file = CheckpointFile.open(path, 4)) {
+            file.write(new GeneratorState[] {state("MEGA-USD", 101.5)}, 1);
+            String tooLong = "X".repeat(CheckpointFile.MAX_SYMBOL_BYTES + 1);
+
+            assertThrows(IllegalArgumentException.class,
+                () -> file.write(new GeneratorState[] {state("MEGA-USD", 1.0), state(tooLong, 2.0)}, 2));
+            // The previous checkpoint is untouched
+            assertEquals(101.5, file.read().get("MEGA-USD").currentPrice);
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void rejectsCapacitiesBeyondOneMapping() {
+        Path path = Path.of("unused.ckpt");
+        assertThrows(IllegalArgumentException.class, () -> CheckpointFile.open(path, 0));
+        assertThrows(IllegalArgumentException.class, () -> CheckpointFile.open(path, CheckpointFile.MAX_CAPACITY + 1));
+    }
+
+    private static GeneratorState state(String symbol, double price) {
+        GeneratorState state = new GeneratorState();
+        state.symbol = symbol;
+        state.currentPrice = price;
+        state.basePrice = price;
+        return state;
+    }
+}
@@ -0,0 +1,81 @@
+package ca.digilogue.xp.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashRingTest {
+
+    private static final int SYMBOLS = 10_000;
+
+    @Test
+    void spreadsSymbolsEvenly() {
+        HashRing ring = new HashRing(members(4), 128);
+        Map<String, Integer> counts = new HashMap<>();
+        for (String symbol : symbols()) {
+            counts.merge(ring.ownerOf(symbol).id(), 1, Integer::sum);
+        }
+
+        assertEquals(4, counts.size());
+        for (int count : counts.values()) {
+            // Each member's share stays within 25% of the fair 2500
+            assertTrue(count > 1875 && count < 3125, "Unbalanced shares: " + counts);
+        }
+    }
+
+    @Test
+    void joiningMovesAboutOneNthOfSymbolsAllToTheNewMember() {
+        HashRing before = new HashRing(members(4), 128);
+        HashRing after = new HashRing(members(5), 128);
+
+        int moved = 0;
+        for (String symbol : symbols()) {
+            String oldOwner = before.ownerOf(symbol).id();
+            String newOwner = after.ownerOf(symbol).id();
+            if (!oldOwner.equals(newOwner)) {
+                assertEquals("m4", newOwner, symbol + " moved between existing members");
+                moved++;
+            }
+        }
+
+        // About 1/5 of the symbols move
+        assertTrue(moved > SYMBOLS / 5 * 0.75 && moved < SYMBOLS / 5 * 1.25, moved + " symbols moved");
+    }
+
+    @Test
+    void sameMembersGiveSameAssignmentAndVersion() {
+        List<ClusterMember> members = members(3);
+        HashRing a = new HashRing(members, 64);
+        List<ClusterMember> reversed = new ArrayList<>(members);
+        Collections.reverse(reversed);
+        HashRing b = new HashRing(reversed, 64);
+
+        assertEquals(a.getVersion(), b.getVersion());
+        for (String symbol : symbols()) {
+            assertEquals(a.ownerOf(symbol), b.ownerOf(symbol));
+        }
+    }
+
+    private static List<ClusterMember> members(int count) {
+        List<ClusterMember> members = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            members.add(new ClusterMember("m" + i, "http://m" + i + ":8083"));
+        }
+        return members;
+    }
+
+    private static List<String> symbols() {
+        List<String> symbols = new ArrayList<>();
+        for (int i = 1; i <= SYMBOLS; i++) {
+            symbols.add(String.format("SYN%05d-USD", i));
+        }
+        return symbols;
+    }
+}
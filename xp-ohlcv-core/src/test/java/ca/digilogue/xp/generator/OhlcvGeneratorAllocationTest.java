@@ -0,0 +1,39 @@
+package ca.digilogue.xp.generator;
+
+import ca.digilogue.xp.clock.SystemClock;
+import ca.digilogue.xp.price.PriceModels;
+import ca.digilogue.xp.sink.CandleSink;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OhlcvGeneratorAllocationTest {
+
+    private static final int WARMUP_TICKS = 200_000;
+    private static final int MEASURED_TICKS = 10_000;
+
+    @Test
+    void steadyStateTicksDoNotAllocate() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        CandleSink noOp = candle -> { };
+        OhlcvGenerator generator = new OhlcvGenerator("ALLOC-USD", 100.0, 2.0, noOp,
+            new GeneratorOptions(1000, true, 0), PriceModels.create(PriceModels.DEFAULT_SPEC), SystemClock.INSTANCE);
+        generator.seed(1);
+
+        // Warm up until the tick path is compiled
+        long epochMillis = 0;
+        for (int i = 0; i < WARMUP_TICKS; i++) {
+            generator.step(epochMillis += 1000);
+        }
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_TICKS; i++) {
+            generator.step(epochMillis += 1000);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertEquals(0, allocated, "Bytes allocated over " + MEASURED_TICKS + " ticks");
+    }
+}
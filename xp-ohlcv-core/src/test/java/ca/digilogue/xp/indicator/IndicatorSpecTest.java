@@ -0,0 +1,25 @@
+package ca.digilogue.xp.indicator;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IndicatorSpecTest {
+
+    @Test
+    void parsesPeriodsUpToTheLimit() {
+        IndicatorSpec spec = IndicatorSpec.parse("bb:1000:2.5", 1000);
+
+        assertEquals("bb", spec.type());
+        assertEquals(1000, spec.period());
+        assertEquals(2.5, spec.multiplier());
+    }
+
+    @Test
+    void rejectsPeriodsOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> IndicatorSpec.parse("sma:2000000000", 1000));
+        assertThrows(IllegalArgumentException.class, () -> IndicatorSpec.parseList("ema:20,sma:1001", 1000));
+        assertThrows(IllegalArgumentException.class, () -> IndicatorSpec.parse("rsi:0"));
+    }
+}
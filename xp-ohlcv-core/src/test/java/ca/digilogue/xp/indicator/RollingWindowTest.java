@@ -0,0 +1,45 @@
+package ca.digilogue.xp.indicator;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RollingWindowTest {
+
+    @Test
+    void varianceStaysAccurateFarFromZero() {
+        RollingWindow window = new RollingWindow(20);
+        double[] recent = new double[20];
+        for (int i = 0; i < 1_000_003; i++) {
+            // Prices around 1e6 moving by cents: a raw sum of squares cancels to noise here
+            double value = 1_000_000.0 + ((i * 7919) % 100) * 0.01;
+            window.add(value);
+            recent[i % 20] = value;
+        }
+
+        double mean = 0.0;
+        for (double v : recent) {
+            mean += v;
+        }
+        mean /= recent.length;
+        double variance = 0.0;
+        for (double v : recent) {
+            variance += (v - mean) * (v - mean);
+        }
+        variance /= recent.length;
+
+        assertEquals(mean, window.mean(), 1e-6);
+        assertEquals(variance, window.variance(), variance * 1e-6);
+    }
+
+    @Test
+    void varianceOfPartialWindow() {
+        RollingWindow window = new RollingWindow(10);
+        window.add(2.0);
+        window.add(4.0);
+        window.add(6.0);
+
+        assertEquals(4.0, window.mean(), 1e-12);
+        assertEquals(8.0 / 3.0, window.variance(), 1e-12);
+    }
+}
@@ -0,0 +1,207 @@
+package ca.digilogue.xp.multicast;
+
+import ca.digilogue.xp.encoding.BinaryCandleEncoder;
+import ca.digilogue.xp.generator.OhlcvCandle;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the publisher and receiver over the loopback interface, with a relay in between that
+ * drops chosen sequences, and the recovery endpoints served the way the service serves them.
+ */
+class MulticastLoopbackTest {
+
+    private static final String GROUP = "239.255.10.77";
+
+    @Test
+    void recoversDroppedPacketsFromTheRetransmitRing() throws Exception {
+        try (Feed feed = new Feed(64, Set.of(3L))) {
+            for (long tick = 1; tick <= 5; tick++) {
+                feed.publish(tick);
+            }
+            feed.awaitPackets(5);
+
+            assertEquals(List.of(1L, 2L, 3L, 4L, 5L), feed.sequences());
+            assertEquals(List.of("3..3 recovered"), feed.gaps());
+            assertEquals(1, feed.receiver.getRetransmittedCount());
+            assertEquals(0, feed.receiver.getSnapshotCount());
+        }
+    }
+
+    @Test
+    void fallsBackToTheSnapshotOncePacketsAreGone() throws Exception {
+        // Two retained packets: by the time packet 5 reveals the gap, 2 has been overwritten
+        try (Feed feed = new Feed(2, Set.of(2L, 3L, 4L))) {
+            for (long tick = 1; tick <= 5; tick++) {
+                feed.publish(tick);
+            }
+            feed.awaitPackets(2);
+
+            assertEquals(List.of(1L, -1L, 5L), feed.sequences());
+            assertEquals(List.of("2..4 snapshot"), feed.gaps());
+            assertEquals(List.of(1.0, 5.0, 5.0), feed.closes()); // The snapshot carries the latest candle
+            assertEquals(1, feed.receiver.getSnapshotCount());
+        }
+    }
+
+    private static final class Feed implements AutoCloseable {
+
+        private final MulticastPublisher publisher;
+        private final DatagramChannel relayIn;
+        private final DatagramChannel relayOut;
+        private final HttpServer http;
+        private final MulticastReceiver receiver;
+        private final List<Long> sequences = new ArrayList<>();
+        private final List<Double> closes = new ArrayList<>();
+        private final List<String> gaps = new ArrayList<>();
+        private volatile ByteBuffer snapshot;
+
+        Feed(int retainPackets, Set<Long> drop) throws IOException {
+            int publishPort = freePort();
+            int receivePort = freePort();
+            NetworkInterface loopback = NetworkInterface.getByName("lo");
+            InetSocketAddress receiveGroup = new InetSocketAddress(GROUP, receivePort);
+
+            publisher = MulticastPublisher.open(GROUP, publishPort, "lo", 1, retainPackets);
+
+            relayIn = DatagramChannel.open(StandardProtocolFamily.INET);
+            relayIn.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+            relayIn.bind(new InetSocketAddress(publishPort));
+            relayIn.join(InetAddress.getByName(GROUP), loopback);
+            relayOut = DatagramChannel.open(StandardProtocolFamily.INET);
+            relayOut.setOption(StandardSocketOptions.IP_MULTICAST_IF, loopback);
+            Thread relay = new Thread(() -> {
+                ByteBuffer packet = ByteBuffer.allocate(CandlePacket.MAX_PACKET_SIZE);
+                try {
+                    while (true) {
+                        packet.clear();
+                        relayIn.receive(packet);
+                        packet.flip();
+                        if (!drop.contains(CandlePacket.sequence(packet))) {
+                            relayOut.send(packet, receiveGroup);
+                        }
+                    }
+                } catch (ClosedChannelException e) {
+                    // Closed by close()
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }, "multicast-relay");
+            relay.setDaemon(true);
+            relay.start();
+
+            http = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            http.createContext("/multicast/packets", this::packets);
+            http.createContext("/candles", exchange -> respond(exchange, 200, snapshot.duplicate()));
+            http.start();
+
+            receiver = MulticastReceiver.open(GROUP, receivePort, "lo",
+                "http://localhost:" + http.getAddress().getPort(), new MulticastReceiver.Listener() {
+                    @Override
+                    public void onCandle(long sequence, long tick, String symbol, long epochMillis, double open,
+                                         double high, double low, double close, double volume) {
+                        synchronized (sequences) {
+                            sequences.add(sequence);
+                            closes.add(close);
+                        }
+                    }
+
+                    @Override
+                    public void onGap(long fromSequence, long toSequence, boolean recovered) {
+                        synchronized (sequences) {
+                            gaps.add(fromSequence + ".." + toSequence + (recovered ? " recovered" : " snapshot"));
+                        }
+                    }
+                });
+            Thread thread = new Thread(receiver, "multicast-receiver");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        void publish(long tick) throws IOException {
+            List<OhlcvCandle> candles = List.of(new OhlcvCandle("MEGA-USD", 1.0, 2.0, 0.5, tick, 10.0, tick * 1000));
+            snapshot = BinaryCandleEncoder.encode(tick, candles);
+            publisher.publish(tick, candles);
+        }
+
+        void awaitPackets(long count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (receiver.getPacketCount() < count && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            Thread.sleep(50); // Let anything unexpected arrive too
+        }
+
+        List<Long> sequences() {
+            synchronized (sequences) {
+                return new ArrayList<>(sequences);
+            }
+        }
+
+        List<Double> closes() {
+            synchronized (sequences) {
+                return new ArrayList<>(closes);
+            }
+        }
+
+        List<String> gaps() {
+            synchronized (sequences) {
+                return new ArrayList<>(gaps);
+            }
+        }
+
+        private void packets(HttpExchange exchange) throws IOException {
+            String[] query = exchange.getRequestURI().getQuery().split("&");
+            long from = Long.parseLong(query[0].substring("from=".length()));
+            long to = Math.min(Long.parseLong(query[1].substring("to=".length())), publisher.getLastSequence());
+            ByteBuffer out = ByteBuffer.allocate((int) (to - from + 1) * CandlePacket.MAX_PACKET_SIZE);
+            if (publisher.copyPackets(from, to, out) < 0) {
+                respond(exchange, 410, ByteBuffer.allocate(0));
+            } else {
+                respond(exchange, 200, out.flip());
+            }
+        }
+
+        private static void respond(HttpExchange exchange, int status, ByteBuffer body) throws IOException {
+            byte[] bytes = new byte[body.remaining()];
+            body.get(bytes);
+            exchange.sendResponseHeaders(status, bytes.length > 0 ? bytes.length : -1);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+
+        private static int freePort() throws IOException {
+            try (DatagramChannel probe = DatagramChannel.open(StandardProtocolFamily.INET)) {
+                probe.bind(new InetSocketAddress(0));
+                return ((InetSocketAddress) probe.getLocalAddress()).getPort();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            receiver.close();
+            http.stop(0);
+            relayIn.close();
+            relayOut.close();
+            publisher.close();
+        }
+    }
+}
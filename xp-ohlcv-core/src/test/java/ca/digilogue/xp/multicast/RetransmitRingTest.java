@@ -0,0 +1,85 @@
+package ca.digilogue.xp.multicast;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RetransmitRingTest {
+
+    @Test
+    void keepsOnlyTheNewestPacketsOnceItWraps() {
+        RetransmitRing ring = new RetransmitRing(4);
+        for (long sequence = 1; sequence <= 10; sequence++) {
+            ring.put(sequence, packet(sequence));
+        }
+
+        assertEquals(10, ring.newest());
+        assertEquals(7, ring.oldest());
+        assertFalse(ring.copy(6, ByteBuffer.allocate(CandlePacket.MAX_PACKET_SIZE)));
+        assertFalse(ring.copy(11, ByteBuffer.allocate(CandlePacket.MAX_PACKET_SIZE)));
+        for (long sequence = 7; sequence <= 10; sequence++) {
+            ByteBuffer out = ByteBuffer.allocate(CandlePacket.MAX_PACKET_SIZE);
+            assertTrue(ring.copy(sequence, out));
+            assertEquals(sequence, sequenceOf(out.flip()));
+        }
+    }
+
+    @Test
+    void neverCopiesAPacketTornByAConcurrentOverwrite() throws Exception {
+        RetransmitRing ring = new RetransmitRing(2);
+        ring.put(1, packet(1));
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread writer = new Thread(() -> {
+            for (long sequence = 2; running.get(); sequence++) {
+                ring.put(sequence, packet(sequence));
+            }
+        });
+        writer.start();
+
+        int copied = 0;
+        try {
+            ByteBuffer out = ByteBuffer.allocate(CandlePacket.MAX_PACKET_SIZE);
+            for (int i = 0; i < 200_000; i++) {
+                long sequence = ring.newest();
+                out.clear();
+                if (ring.copy(sequence, out)) {
+                    assertEquals(sequence, sequenceOf(out.flip()));
+                    copied++;
+                } else {
+                    assertEquals(0, out.position()); // A failed copy leaves nothing behind
+                }
+            }
+        } finally {
+            running.set(false);
+            writer.join();
+        }
+        assertTrue(copied > 0, "Nothing was copied");
+    }
+
+    /**
+     * A packet holding its sequence, with a length and filler derived from it, so a mix of
+     * two packets is detectable.
+     */
+    private static ByteBuffer packet(long sequence) {
+        ByteBuffer packet = ByteBuffer.allocate(16 + (int) (sequence % 1000));
+        packet.putLong(sequence);
+        while (packet.hasRemaining()) {
+            packet.put((byte) sequence);
+        }
+        return packet.flip();
+    }
+
+    private static long sequenceOf(ByteBuffer copy) {
+        long sequence = copy.getLong();
+        assertEquals(16 + sequence % 1000, copy.limit(), "Torn packet length");
+        while (copy.hasRemaining()) {
+            assertEquals((byte) sequence, copy.get(), "Torn packet content");
+        }
+        return sequence;
+    }
+}
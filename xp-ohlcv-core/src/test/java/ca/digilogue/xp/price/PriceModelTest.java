@@ -0,0 +1,51 @@
+package ca.digilogue.xp.price;
+
+import ca.digilogue.xp.generator.SeededRandom;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PriceModelTest {
+
+    private static final int PATHS = 100_000;
+    private static final int TICKS = 10;
+
+    @Test
+    void logReturnModelsHaveNoExpectedDrift() {
+        // Without the -sigma^2/2 correction the mean would grow by about 5% over these ticks
+        for (String spec : new String[] {"gbm", "garch", "regime"}) {
+            PricePaths paths = new PricePaths(PATHS);
+            for (int p = 0; p < PATHS; p++) {
+                paths.init(p, 100.0, 10.0);
+            }
+            PriceModel model = PriceModels.create(spec);
+            SeededRandom random = new SeededRandom(42);
+            for (int tick = 0; tick < TICKS; tick++) {
+                model.advance(paths, 0, PATHS, random);
+            }
+
+            double sum = 0.0;
+            for (int p = 0; p < PATHS; p++) {
+                sum += paths.price[p];
+            }
+            assertEquals(100.0, sum / PATHS, 1.0, spec);
+        }
+    }
+
+    @Test
+    void advancesOnlyTheGivenRange() {
+        PricePaths paths = new PricePaths(4);
+        for (int p = 0; p < 4; p++) {
+            paths.init(p, 100.0, 1.0);
+        }
+        PriceModels.create("garch").advance(paths, 1, 3, new SeededRandom(7));
+
+        assertEquals(100.0, paths.price[0]);
+        assertEquals(100.0, paths.price[3]);
+        assertEquals(0.0, paths.stateA[0]);
+        assertEquals(0.0, paths.stateA[3]);
+        assertTrue(paths.price[1] != 100.0 && paths.price[2] != 100.0);
+        assertTrue(paths.stateA[1] > 0.0 && paths.stateA[2] > 0.0);
+    }
+}
@@ -0,0 +1,103 @@
+package ca.digilogue.xp.shm;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static ca.digilogue.xp.shm.SharedCandleLayout.LONGS;
+import static ca.digilogue.xp.shm.SharedCandleLayout.slotsOffset;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SharedCandleTest {
+
+    @Test
+    void readsWhatTheWriterPublished() throws Exception {
+        Path path = Files.createTempFile("candles", ".shm");
+        try {
+            SharedCandleWriter writer = SharedCandleWriter.create(path, 4, 1000);
+            SharedCandleSlot mega = writer.allocate("MEGA-USD");
+            writer.allocate("HELIO-USD");
+            mega.publish(7, 7000, 100.0, 101.5, 99.5, 101.0, 12.5);
+
+            SharedCandleReader reader = SharedCandleReader.open(path);
+            SharedCandle candle = new SharedCandle();
+            assertEquals(2, reader.read(reader.slotOf("MEGA-USD"), candle));
+            assertEquals(7, candle.getTick());
+            assertEquals(7000, candle.getEpochMillis());
+            assertEquals(101.5, candle.getHigh());
+            assertEquals(101.0, candle.getClose());
+            assertEquals(12.5, candle.getVolume());
+            assertEquals(0, reader.read(reader.slotOf("HELIO-USD"), candle));
+            assertEquals(-1, reader.slotOf("NOVA-USD"));
+            assertEquals(1000, reader.getIntervalMillis());
+            assertTrue(reader.isCurrent());
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    void neverReturnsATornCandle() throws Exception {
+        Path path = Files.createTempFile("candles", ".shm");
+        try {
+            SharedCandleWriter writer = SharedCandleWriter.create(path, 1, 1000);
+            SharedCandleSlot slot = writer.allocate("MEGA-USD");
+            AtomicBoolean running = new AtomicBoolean(true);
+            Thread publisher = new Thread(() -> {
+                // Every field of candle n holds n, so any mix of two candles is detectable
+                for (long n = 1; running.get(); n++) {
+                    slot.publish(n, n, n, n, n, n, n);
+                }
+            });
+            publisher.start();
+
+            SharedCandleReader reader = SharedCandleReader.open(path);
+            SharedCandle candle = new SharedCandle();
+            long lastSequence = 0;
+            try {
+                for (int i = 0; i < 200_000; i++) {
+                    long sequence = reader.read(0, candle);
+                    assertTrue(sequence >= lastSequence && sequence % 2 == 0, "sequence " + sequence);
+                    long n = candle.getTick();
+                    assertEquals(n, candle.getEpochMillis());
+                    assertTrue(candle.getOpen() == n && candle.getHigh() == n && candle.getLow() == n
+                        && candle.getClose() == n && candle.getVolume() == n, "Torn read: " + candle);
+                    lastSequence = sequence;
+                }
+            } finally {
+                running.set(false);
+                publisher.join();
+            }
+            assertTrue(lastSequence > 0, "Writer never published");
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    void givesUpOnASlotAbandonedMidUpdate() throws Exception {
+        Path path = Files.createTempFile("candles", ".shm");
+        try {
+            SharedCandleWriter writer = SharedCandleWriter.create(path, 1, 1000);
+            writer.allocate("MEGA-USD").publish(1, 1000, 1, 1, 1, 1, 1);
+            // Simulate a writer that died between the odd and even sequence stores
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+                buffer.order(ByteOrder.nativeOrder());
+                LONGS.setRelease(buffer, (int) slotsOffset(1), 3L);
+            }
+
+            SharedCandleReader reader = SharedCandleReader.open(path);
+            assertEquals(-1, reader.read(0, new SharedCandle()));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package ca.digilogue.xp.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuantileSketchTest {
+
+    @Test
+    void estimatesQuantilesWithinRelativeAccuracy() {
+        QuantileSketch sketch = new QuantileSketch(0.01, 2048);
+        double[] values = new double[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.exp((i % 1000) / 100.0) * (i % 2 == 0 ? 1 : -1);
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double q : new double[] {0.01, 0.25, 0.5, 0.75, 0.99}) {
+            double exact = values[(int) (q * (values.length - 1))];
+            assertEquals(exact, sketch.quantile(q), Math.abs(exact) * 0.0101, "q=" + q);
+        }
+    }
+
+    @Test
+    void roundTripsThroughData() {
+        QuantileSketch sketch = new QuantileSketch(0.01, 512);
+        for (int i = -500; i <= 500; i++) {
+            sketch.add(i * 0.37);
+        }
+        QuantileSketch rebuilt = QuantileSketch.fromData(sketch.toData());
+
+        assertEquals(sketch.getCount(), rebuilt.getCount());
+        assertEquals(sketch.quantile(0.1), rebuilt.quantile(0.1));
+        assertEquals(sketch.quantile(0.9), rebuilt.quantile(0.9));
+    }
+
+    @Test
+    void collapsesWideRangesWithoutOverflow() {
+        QuantileSketch sketch = new QuantileSketch(QuantileSketch.MIN_RELATIVE_ACCURACY, QuantileSketch.MAX_BUCKETS);
+        sketch.add(Double.MIN_VALUE);
+        sketch.add(Double.MAX_VALUE);
+        sketch.add(1.0);
+
+        assertEquals(3, sketch.getCount());
+        assertEquals(Double.MAX_VALUE, sketch.quantile(1.0), Double.MAX_VALUE * 1e-4);
+    }
+
+    @Test
+    void rejectsConfigurationsThatCouldOverflow() {
+        assertThrows(IllegalArgumentException.class, () -> new QuantileSketch(1e-6, 512));
+        assertThrows(IllegalArgumentException.class, () -> new QuantileSketch(0.01, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void rejectsCraftedData() {
+        // Offsets far beyond any finite double's bucket
+        assertThrows(IllegalArgumentException.class, () -> QuantileSketch.fromData(new SketchData(
+            0.01, 512, 1, 0, 1, 1, 1, Integer.MAX_VALUE, new long[] {1}, 0, new long[0])));
+        assertThrows(IllegalArgumentException.class, () -> QuantileSketch.fromData(new SketchData(
+            0.01, Integer.MAX_VALUE, 1, 0, 1, 1, 1, -10, new long[] {1}, 0, new long[0])));
+        // More buckets than the sketch keeps
+        assertThrows(IllegalArgumentException.class, () -> QuantileSketch.fromData(new SketchData(
+            0.01, 4, 5, 0, 1, 2, 7, 0, new long[] {1, 1, 1, 1, 1}, 0, new long[0])));
+        // Counts whose total overflows
+        assertThrows(IllegalArgumentException.class, () -> QuantileSketch.fromData(new SketchData(
+            0.01, 512, 0, 0, 1, 2, 3, 0, new long[] {Long.MAX_VALUE, Long.MAX_VALUE}, 0, new long[0])));
+        // Counts that do not add up
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> QuantileSketch.fromData(
+            new SketchData(0.01, 512, 3, 0, 1, 1, 1, 0, new long[] {1}, 0, new long[0])));
+        assertTrue(e.getMessage().contains("add up"));
+    }
+}
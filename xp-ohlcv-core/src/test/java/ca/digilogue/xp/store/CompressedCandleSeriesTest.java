@@ -0,0 +1,132 @@
+package ca.digilogue.xp.store;
+
+import ca.digilogue.xp.generator.SeededRandom;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompressedCandleSeriesTest {
+
+    private static final long DAY = 24 * 3_600_000L;
+
+    @Test
+    void bitStreamRoundTripsEveryWidth() {
+        SeededRandom random = new SeededRandom(3);
+        BitWriter out = new BitWriter();
+        long[] values = new long[2_000];
+        int[] widths = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            widths[i] = 1 + i % 64;
+            long value = (long) (random.nextDouble() * Long.MAX_VALUE) * (i % 3 == 0 ? -1 : 1);
+            values[i] = widths[i] == 64 ? value : value & ((1L << widths[i]) - 1);
+            out.write(values[i], widths[i]);
+        }
+
+        BitReader in = new BitReader(out.toWords());
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(values[i], in.read(widths[i]), "value " + i + " (" + widths[i] + " bits)");
+        }
+    }
+
+    @Test
+    void losslessScaleRestoresExactDoubles() {
+        CompressedCandleSeries series = new CompressedCandleSeries("GBM-USD", 100, DAY, 0, 0);
+        List<double[]> written = new ArrayList<>();
+        SeededRandom random = new SeededRandom(11);
+        double price = 100.0;
+        for (int i = 0; i < 1_050; i++) {
+            // Full-precision prices such as a geometric Brownian motion produces
+            double open = price;
+            price *= Math.exp((random.nextDouble() - 0.5) * 0.002);
+            double high = Math.max(open, price) * (1 + random.nextDouble() * 1e-4);
+            double low = Math.min(open, price) * (1 - random.nextDouble() * 1e-4);
+            double volume = 1000.0 + random.nextDouble() * 99000.0;
+            double[] candle = {i * 1000L, open, high, low, price, volume};
+            written.add(candle);
+            series.append(i * 1000L, open, high, low, price, volume);
+        }
+
+        List<double[]> read = scanAll(series);
+        assertEquals(written.size(), read.size());
+        for (int i = 0; i < written.size(); i++) {
+            for (int column = 0; column < 6; column++) {
+                assertEquals(Double.doubleToRawLongBits(written.get(i)[column]),
+                    Double.doubleToRawLongBits(read.get(i)[column]), "candle " + i + " column " + column);
+            }
+        }
+    }
+
+    @Test
+    void irregularTimestampsHitEveryDeltaOfDeltaBucket() {
+        CompressedCandleSeries series = new CompressedCandleSeries("TS-USD", 64, Long.MAX_VALUE / 4, 10_000, 100);
+        // Deltas chosen so that successive delta-of-deltas are 0, then fall in the 7, 9 and 12 bit
+        // buckets (both signs), then need the 64-bit fallback
+        long[] deltas = {1000, 1000, 1000, 1040, 1000, 1200, 1000, 2500, 1000, 1000 + 3_000_000_000L, 1000, 7, 1000};
+        List<Long> timestamps = new ArrayList<>();
+        long millis = 1_700_000_000_000L;
+        timestamps.add(millis);
+        series.append(millis, 100, 101, 99, 100.5, 5000);
+        for (long delta : deltas) {
+            millis += delta;
+            timestamps.add(millis);
+            series.append(millis, 100, 101, 99, 100.5, 5000);
+        }
+
+        List<double[]> read = scanAll(series);
+        assertEquals(timestamps.size(), read.size());
+        for (int i = 0; i < timestamps.size(); i++) {
+            assertEquals((long) timestamps.get(i), (long) read.get(i)[0], "timestamp " + i);
+        }
+    }
+
+    @Test
+    void quantizedScaleRoundsToTheScale() {
+        CompressedCandleSeries series = new CompressedCandleSeries("Q-USD", 16, DAY, 10_000, 100);
+        series.append(0, 100.123456, 100.5, 99.99994, 100.00005, 1234.567);
+
+        double[] candle = scanAll(series).get(0);
+        assertEquals(100.1235, candle[1], 1e-9);
+        assertEquals(99.9999, candle[3], 1e-9);
+        assertEquals(100.0001, candle[4], 1e-9);
+        assertEquals(1234.57, candle[5], 1e-9);
+    }
+
+    @Test
+    void sealsBlocksAndEvictsExpiredOnes() {
+        // 10 candles per block, one per second, 60 seconds retained
+        CompressedCandleSeries series = new CompressedCandleSeries("EV-USD", 10, 60_000, 10_000, 100);
+        for (int i = 0; i < 205; i++) {
+            series.append(i * 1000L, 100 + i, 101 + i, 99 + i, 100.5 + i, 1000);
+        }
+
+        // Sealing the block ending at 199 s evicted blocks ending before 139 s; the open block holds the last 5
+        List<double[]> read = scanAll(series);
+        assertEquals(series.getCandleCount(), read.size());
+        assertEquals(130_000L, (long) read.get(0)[0]);
+        assertEquals(204_000L, (long) read.get(read.size() - 1)[0]);
+        assertEquals(75, read.size());
+        assertTrue(series.getSizeInBytes() > 0);
+
+        // Range scans read across sealed and open blocks
+        List<double[]> range = new ArrayList<>();
+        series.scan(195_000, 201_000, (epochMillis, open, high, low, close, volume) -> {
+            range.add(new double[] {epochMillis, open});
+            return true;
+        });
+        assertEquals(7, range.size());
+        assertEquals(295.0, range.get(0)[1], 1e-9);
+    }
+
+    private static List<double[]> scanAll(CompressedCandleSeries series) {
+        List<double[]> candles = new ArrayList<>();
+        series.scan(Long.MIN_VALUE, Long.MAX_VALUE, (epochMillis, open, high, low, close, volume) -> {
+            candles.add(new double[] {epochMillis, open, high, low, close, volume});
+            return true;
+        });
+        return candles;
+    }
+}
@@ -0,0 +1,295 @@
+package ca.digilogue.xp;
+
+import ca.digilogue.xp.book.OrderBook;
+import ca.digilogue.xp.clock.SimulationClock;
+import ca.digilogue.xp.config.GeneratorSettings;
+import ca.digilogue.xp.config.OrderBookSettings;
+import ca.digilogue.xp.engine.OhlcvEngine;
+import ca.digilogue.xp.engine.SymbolSpec;
+import ca.digilogue.xp.generator.CandleSnapshot;
+import ca.digilogue.xp.generator.GeneratorState;
+import ca.digilogue.xp.generator.OhlcvCandle;
+import ca.digilogue.xp.generator.OhlcvGenerator;
+import ca.digilogue.xp.service.CheckpointService;
+import ca.digilogue.xp.service.ClusterService;
+import ca.digilogue.xp.service.FlightRecorderService;
+import ca.digilogue.xp.service.HistoryService;
+import ca.digilogue.xp.service.InfluxDbService;
+import ca.digilogue.xp.service.KafkaService;
+import ca.digilogue.xp.service.MulticastService;
+import ca.digilogue.xp.service.OrderBookService;
+import ca.digilogue.xp.service.SessionService;
+import ca.digilogue.xp.service.SharedMemoryService;
+import ca.digilogue.xp.service.StatisticsService;
+import ca.digilogue.xp.shm.SharedCandleSlot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.info.BuildProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Spring Boot adapter around the core {@link OhlcvEngine}: wires the engine's sinks to
+ * InfluxDB, multicast and Kafka, and its generators to the checkpoint, history,
+ * shared-memory and order book services.
+ */
+@SpringBootApplication
+public class App {
+
+    public static String version;
+    public static String instanceId;
+
+    private static final Logger log = LoggerFactory.getLogger(App.class);
+    private static ConfigurableApplicationContext applicationContext;
+    private static volatile OhlcvEngine engine;
+
+    public static void main(String[] args) {
+        // The context is closed by the shutdown hook below, once generators have stopped and
+        // cluster handoff (which needs the web server) has finished
+        SpringApplication application = new SpringApplication(App.class);
+        application.setRegisterShutdownHook(false);
+        applicationContext = application.run(args);
+
+        version = resolveVersion(applicationContext);
+        instanceId = resolveInstanceId();
+
+        log.info("xp-ohlcv-generator-service is running @ version: {}, instanceId: {}", version, instanceId);
+        
+        // Record from the first tick when configured, so startup behaviour can be profiled too
+        FlightRecorderService flightRecorderService = applicationContext.getBean(FlightRecorderService.class);
+        if (flightRecorderService.isRecordOnStartup()) {
+            flightRecorderService.start(null);
+        }
+        
+        // Build and start the OHLCV engine
+        ClusterService clusterService = applicationContext.getBean(ClusterService.class);
+        List<SymbolSpec> symbols = resolveSymbols();
+        // When sharding, the engine starts empty and takes over the symbols this instance owns
+        engine = buildEngine(clusterService.isEnabled() ? List.of() : symbols);
+        applicationContext.getBean(MulticastService.class).start(symbols.stream().map(SymbolSpec::symbol).toList());
+        engine.start();
+        clusterService.start(engine, symbols, instanceId);
+        applicationContext.getBean(CheckpointService.class).start(engine.getGenerators());
+        
+        // Register shutdown hook to stop generators gracefully
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            log.info("Shutting down OHLCV generators...");
+            // Taken before the cluster releases its symbols, so their final state is checkpointed too
+            List<OhlcvGenerator> generators = List.copyOf(engine.getGenerators());
+            clusterService.stop();
+            applicationContext.getBean(SessionService.class).stop();
+            engine.stop();
+            applicationContext.getBean(MulticastService.class).stop();
+            applicationContext.getBean(CheckpointService.class).stop(generators);
+            applicationContext.close();
+        }));
+    }
+    
+    private static List<SymbolSpec> resolveSymbols() {
+        GeneratorSettings settings = applicationContext.getBean(GeneratorSettings.class);
+        
+        // Define symbols to generate
+        List<SymbolSpec> symbols = new ArrayList<>(List.of(
+            new SymbolSpec("MEGA-USD", 100.0, 2.0),
+            new SymbolSpec("HELIO-USD", 75.0, 1.5),
+            new SymbolSpec("RUCKS-USD", 50.0, 3.0)
+        ));
+        
+        // Optional synthetic symbols (e.g. for load testing)
+        for (int i = 1; i <= settings.getSyntheticSymbolCount(); i++) {
+            symbols.add(new SymbolSpec(String.format("SYN%05d-USD", i), 100.0, 2.0));
+        }
+        return symbols;
+    }
+    
+    private static OhlcvEngine buildEngine(List<SymbolSpec> symbols) {
+        InfluxDbService influxDbService = applicationContext.getBean(InfluxDbService.class);
+        KafkaService kafkaService = applicationContext.getBean(KafkaService.class);
+        MulticastService multicastService = applicationContext.getBean(MulticastService.class);
+        GeneratorSettings settings = applicationContext.getBean(GeneratorSettings.class);
+        OrderBookSettings bookSettings = applicationContext.getBean(OrderBookSettings.class);
+        OrderBookService orderBookService = applicationContext.getBean(OrderBookService.class);
+        HistoryService historyService = applicationContext.getBean(HistoryService.class);
+        CheckpointService checkpointService = applicationContext.getBean(CheckpointService.class);
+        SharedMemoryService sharedMemoryService = applicationContext.getBean(SharedMemoryService.class);
+        StatisticsService statisticsService = applicationContext.getBean(StatisticsService.class);
+        
+        // Resume from the last checkpoint so series continue across restarts
+        Map<String, GeneratorState> restoredStates = checkpointService.restore();
+        sharedMemoryService.open(settings.getOptions().intervalMillis());
+        
+        return OhlcvEngine.builder()
+            .symbols(symbols)
+            .options(settings.getOptions())
+            .clock(applicationContext.getBean(SimulationClock.class))
+            .priceModels(settings::priceModelFor)
+            .indicators(settings.getIndicators())
+            .candleSink(influxDbService::writeCandle)
+            // Multicast first: it is fire-and-forget and its consumers are the most latency sensitive
+            .snapshotSink((snapshot, timestampMillis) -> multicastService.publish(snapshot))
+            // Publish the entire collection to Kafka as a single message
+            .snapshotSink(kafkaService::publishCandlesCollection)
+            .customizer(generator -> {
+                String symbol = generator.getSymbol();
+                GeneratorState restored = restoredStates.get(symbol);
+                if (restored != null) {
+                    generator.restoreState(restored);
+                }
+                if (historyService.isEnabled()) {
+                    generator.attachHistory(historyService.seriesFor(symbol));
+                }
+                if (statisticsService.isEnabled()) {
+                    generator.attachStatistics(statisticsService.statisticsFor(symbol));
+                }
+                SharedCandleSlot sharedSlot = sharedMemoryService.slotFor(symbol);
+                if (sharedSlot != null) {
+                    generator.attachSharedSlot(sharedSlot);
+                }
+                if (bookSettings.isEnabled()) {
+                    generator.attachOrderBook(new OrderBook(
+                        symbol,
+                        bookSettings.getLevels(),
+                        bookSettings.getTickSize(),
+                        bookSettings.getArrivalRate(),
+                        bookSettings.getCancelRate(),
+                        bookSettings.getSnapshotEvery(),
+                        orderBookService.listenerFor(symbol)
+                    ));
+                }
+                log.info("Created OHLCV generator for symbol: {} (model: {})", symbol, generator.getPriceModel().name());
+            })
+            .build();
+    }
+
+    private static String resolveVersion(ConfigurableApplicationContext ctx) {
+        // Preferred: use build-info (packaged JAR / Docker)
+        try {
+            BuildProperties buildProperties = ctx.getBean(BuildProperties.class);
+            return buildProperties.getVersion();
+        } catch (NoSuchBeanDefinitionException ignored) {
+            // Fall back to parsing pom.xml (e.g., when running from IDE)
+        }
+
+        return readVersionFromPom();
+    }
+
+    private static String readVersionFromPom() {
+        try {
+            List<String> lines = Files.readAllLines(Paths.get("pom.xml"));
+
+            boolean inParent = false;
+            String parentVersion = null;
+
+            for (String line : lines) {
+                String trimmed = line.trim();
+
+                // Track whether we're inside the <parent>...</parent> block
+                if (trimmed.startsWith("<parent>")) {
+                    inParent = true;
+                } else if (trimmed.startsWith("</parent>")) {
+                    inParent = false;
+                } else if (trimmed.startsWith("<dependencies>") || trimmed.startsWith("<modules>")) {
+                    // Past the project coordinates: a module pom inherits its version from the parent
+                    break;
+                }
+
+                if (trimmed.startsWith("<version>") && trimmed.endsWith("</version>")) {
+                    String value = trimmed
+                            .replace("<version>", "")
+                            .replace("</version>", "")
+                            .trim();
+
+                    // Prefer the project's own <version>, OUTSIDE the <parent> section
+                    if (!inParent) {
+                        return value;
+                    }
+                    parentVersion = value;
+                }
+            }
+
+            if (parentVersion != null) {
+                return parentVersion;
+            }
+        } catch (Exception ignored) {
+            // If something goes wrong reading pom.xml, fall through
+        }
+
+        // Last-resort fallback for local dev
+        return "DEV";
+    }
+
+    private static String resolveInstanceId() {
+        // First, try environment variable (set in docker-compose)
+        String envInstanceId = System.getenv("INSTANCE_ID");
+        if (envInstanceId != null && !envInstanceId.isEmpty()) {
+            return envInstanceId;
+        }
+
+        // Fallback to hostname (Docker container name)
+        String hostname = System.getenv("HOSTNAME");
+        if (hostname != null && !hostname.isEmpty()) {
+            return hostname;
+        }
+
+        // Last resort: generate a UUID
+        return java.util.UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Gets the generator for a specific symbol.
+     * 
+     * @param symbol The trading symbol (e.g., "MEGA-USD")
+     * @return The OhlcvGenerator for the symbol, or null if not found
+     */
+    public static OhlcvGenerator getGenerator(String symbol) {
+        OhlcvEngine current = engine;
+        return current != null ? current.getGenerator(symbol) : null;
+    }
+    
+    /**
+     * Gets all active generators.
+     * 
+     * @return An unmodifiable list of the generators (empty before startup)
+     */
+    public static List<OhlcvGenerator> getGenerators() {
+        OhlcvEngine current = engine;
+        return current != null ? current.getGenerators() : List.of();
+    }
+    
+    /**
+     * Gets the latest candle for a specific symbol from the collection.
+     * 
+     * @param symbol The trading symbol (e.g., "MEGA-USD")
+     * @return The latest OHLCV candle for the symbol, or null if not found
+     */
+    public static OhlcvCandle getLatestCandle(String symbol) {
+        return getLatestSnapshot().candles().get(symbol);
+    }
+    
+    /**
+     * Gets all latest candles from all generators, all belonging to the same tick.
+     * 
+     * @return An unmodifiable map of the latest candles (shared, not copied)
+     */
+    public static Map<String, OhlcvCandle> getAllLatestCandles() {
+        return getLatestSnapshot().candles();
+    }
+    
+    /**
+     * Gets the latest tick-consistent snapshot of candles.
+     * 
+     * @return The latest snapshot, or {@link CandleSnapshot#EMPTY} before the first tick
+     */
+    public static CandleSnapshot getLatestSnapshot() {
+        OhlcvEngine current = engine;
+        return current != null ? current.getLatestSnapshot() : CandleSnapshot.EMPTY;
+    }
+}
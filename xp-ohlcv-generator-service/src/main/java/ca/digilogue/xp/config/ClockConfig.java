@@ -0,0 +1,48 @@
+package ca.digilogue.xp.config;
+
+import ca.digilogue.xp.clock.ScaledClock;
+import ca.digilogue.xp.clock.SimulationClock;
+import ca.digilogue.xp.clock.SystemClock;
+import ca.digilogue.xp.clock.VirtualClock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Instant;
+
+/**
+ * Clock configuration: real time (system), a fixed speed-up (scaled) or discrete virtual
+ * time that runs as fast as the pipeline can absorb (virtual).
+ */
+@Configuration
+public class ClockConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ClockConfig.class);
+
+    @Value("${ohlcv.clock.mode:system}")
+    private String mode;
+
+    @Value("${ohlcv.clock.multiplier:60}")
+    private double multiplier;
+
+    @Value("${ohlcv.clock.start:}")
+    private String start;
+
+    @Bean
+    public SimulationClock simulationClock() {
+        long startMillis = start.isBlank() ? System.currentTimeMillis() : Instant.parse(start).toEpochMilli();
+
+        SimulationClock clock = switch (mode) {
+            case "system" -> SystemClock.INSTANCE;
+            case "scaled" -> new ScaledClock(startMillis, multiplier);
+            case "virtual" -> new VirtualClock(startMillis);
+            default -> throw new IllegalArgumentException("Unknown clock mode: " + mode);
+        };
+
+        log.info("Using {} clock (start: {}, multiplier: {})", mode, Instant.ofEpochMilli(clock.currentTimeMillis()),
+            "scaled".equals(mode) ? multiplier : 1.0);
+        return clock;
+    }
+}
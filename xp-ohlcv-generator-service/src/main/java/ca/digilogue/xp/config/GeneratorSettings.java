@@ -0,0 +1,71 @@
+package ca.digilogue.xp.config;
+
+import ca.digilogue.xp.generator.GeneratorOptions;
+import ca.digilogue.xp.indicator.IndicatorSpec;
+import ca.digilogue.xp.price.PriceModel;
+import ca.digilogue.xp.price.PriceModels;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Tuning settings applied to every OHLCV generator started by the application.
+ */
+@Component
+public class GeneratorSettings {
+
+    private final GeneratorOptions options;
+    private final int syntheticSymbolCount;
+    private final List<IndicatorSpec> indicators;
+    private final String defaultModel;
+    private final Environment environment;
+
+    public GeneratorSettings(
+            @Value("${ohlcv.generator.interval-ms:1000}") long intervalMillis,
+            @Value("${ohlcv.generator.reuse-candle-slots:false}") boolean reuseCandleSlots,
+            @Value("${ohlcv.generator.console-sample-every:1}") int consoleSampleEvery,
+            @Value("${ohlcv.indicators:}") String indicators,
+            @Value("${ohlcv.model.default:" + PriceModels.DEFAULT_SPEC + "}") String defaultModel,
+            @Value("${ohlcv.symbols.synthetic-count:0}") int syntheticSymbolCount,
+            Environment environment) {
+        this.options = new GeneratorOptions(intervalMillis, reuseCandleSlots, Math.max(0, consoleSampleEvery));
+        this.syntheticSymbolCount = Math.max(0, syntheticSymbolCount);
+        this.indicators = List.copyOf(IndicatorSpec.parseList(indicators));
+        this.defaultModel = defaultModel;
+        this.environment = environment;
+    }
+
+    /**
+     * Interval, candle slot reuse and console sampling applied to every generator.
+     */
+    public GeneratorOptions getOptions() {
+        return options;
+    }
+
+    /**
+     * Number of synthetic symbols generated in addition to the built-in ones (used for load testing).
+     */
+    public int getSyntheticSymbolCount() {
+        return syntheticSymbolCount;
+    }
+
+    /**
+     * Indicators computed for every candle of every symbol (empty if none are configured).
+     */
+    public List<IndicatorSpec> getIndicators() {
+        return indicators;
+    }
+
+    /**
+     * Creates the price model for a symbol from {@code ohlcv.model.<symbol>}, falling back to
+     * {@code ohlcv.model.default}.
+     *
+     * @param symbol The trading symbol (e.g., "MEGA-USD")
+     * @return A new price model instance
+     */
+    public PriceModel priceModelFor(String symbol) {
+        return PriceModels.create(environment.getProperty("ohlcv.model." + symbol, defaultModel));
+    }
+}
@@ -1,7 +1,7 @@
 package ca.digilogue.xp.config;
 
-import ca.digilogue.xp.generator.OhlcvCandle;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteBufferSerializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -9,15 +9,15 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
-import org.springframework.kafka.support.serializer.JacksonJsonSerializer;
 
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Kafka configuration for publishing OHLCV candles collection.
- * Publishes the entire Map<String, OhlcvCandle> as a single JSON message.
- * Uses Jackson 3's JacksonJsonSerializer (replaces deprecated JsonSerializer).
+ * Publishes the entire Map<String, OhlcvCandle> as a single JSON message. The JSON is
+ * encoded once per tick by the SnapshotCacheService and sent as pre-encoded bytes.
  */
 @Configuration
 public class KafkaConfig {
@@ -26,11 +26,11 @@ public class KafkaConfig {
     private String bootstrapServers;
 
     @Bean
-    public ProducerFactory<String, Map<String, OhlcvCandle>> producerFactory() {
+    public ProducerFactory<String, ByteBuffer> producerFactory() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JacksonJsonSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteBufferSerializer.class);
         
         // Producer reliability settings
         configProps.put(ProducerConfig.ACKS_CONFIG, "all"); // Wait for all replicas
@@ -41,7 +41,7 @@ public class KafkaConfig {
     }
 
     @Bean
-    public KafkaTemplate<String, Map<String, OhlcvCandle>> kafkaTemplate(ProducerFactory<String, Map<String, OhlcvCandle>> producerFactory) {
+    public KafkaTemplate<String, ByteBuffer> kafkaTemplate(ProducerFactory<String, ByteBuffer> producerFactory) {
         return new KafkaTemplate<>(producerFactory);
     }
 }
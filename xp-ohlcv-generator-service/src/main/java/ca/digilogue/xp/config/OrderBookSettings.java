@@ -0,0 +1,89 @@
+package ca.digilogue.xp.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for the optional synthetic order book generated alongside each symbol's candles.
+ */
+@Component
+public class OrderBookSettings {
+
+    private final boolean enabled;
+    private final int levels;
+    private final double tickSize;
+    private final double arrivalRate;
+    private final double cancelRate;
+    private final int snapshotEvery;
+    private final int updateBuffer;
+    private final String topic;
+
+    public OrderBookSettings(
+            @Value("${ohlcv.book.enabled:false}") boolean enabled,
+            @Value("${ohlcv.book.levels:10}") int levels,
+            @Value("${ohlcv.book.tick-size:0.01}") double tickSize,
+            @Value("${ohlcv.book.arrival-rate:200}") double arrivalRate,
+            @Value("${ohlcv.book.cancel-rate:150}") double cancelRate,
+            @Value("${ohlcv.book.snapshot-every:10}") int snapshotEvery,
+            @Value("${ohlcv.book.update-buffer:8192}") int updateBuffer,
+            @Value("${ohlcv.book.topic:}") String topic) {
+        this.enabled = enabled;
+        this.levels = levels;
+        this.tickSize = tickSize;
+        this.arrivalRate = arrivalRate;
+        this.cancelRate = cancelRate;
+        this.snapshotEvery = snapshotEvery;
+        this.updateBuffer = updateBuffer;
+        this.topic = topic;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Number of price levels kept on each side of the book.
+     */
+    public int getLevels() {
+        return levels;
+    }
+
+    public double getTickSize() {
+        return tickSize;
+    }
+
+    /**
+     * Mean number of order arrivals per tick.
+     */
+    public double getArrivalRate() {
+        return arrivalRate;
+    }
+
+    /**
+     * Mean number of cancellations per tick.
+     */
+    public double getCancelRate() {
+        return cancelRate;
+    }
+
+    /**
+     * Every how many ticks a full book snapshot is published.
+     */
+    public int getSnapshotEvery() {
+        return snapshotEvery;
+    }
+
+    /**
+     * Number of most recent level updates buffered per symbol for {@code /books/{symbol}/updates}.
+     */
+    public int getUpdateBuffer() {
+        return updateBuffer;
+    }
+
+    /**
+     * Kafka topic book snapshots are published to, or blank to not publish them.
+     */
+    public String getTopic() {
+        return topic;
+    }
+}
@@ -0,0 +1,110 @@
+package ca.digilogue.xp.controller;
+
+import ca.digilogue.xp.encoding.CandleFormat;
+import ca.digilogue.xp.encoding.EncodedSnapshot;
+import ca.digilogue.xp.generator.OhlcvCandle;
+import ca.digilogue.xp.service.HistoryService;
+import ca.digilogue.xp.service.SnapshotCacheService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.List;
+
+@RestController
+public class CandleController {
+
+    private static final Logger log = LoggerFactory.getLogger(CandleController.class);
+
+    private static final String TICK_HEADER = "X-Candle-Tick";
+
+    private final HistoryService historyService;
+    private final SnapshotCacheService snapshotCacheService;
+
+    public CandleController(HistoryService historyService, SnapshotCacheService snapshotCacheService) {
+        this.historyService = historyService;
+        this.snapshotCacheService = snapshotCacheService;
+    }
+
+    /**
+     * Latest snapshot as JSON, or binary with {@code Accept: application/x-ohlcv}, optionally
+     * limited to {@code ?symbols=A,B}. Served from the per-tick encoded cache.
+     */
+    @GetMapping("/candles")
+    public void getLatestSnapshot(
+            @RequestParam(required = false) List<String> symbols,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            HttpServletResponse response) throws IOException {
+        EncodedSnapshot encoded = snapshotCacheService.snapshot(CandleFormat.fromAccept(accept), symbols);
+
+        log.debug("GET /candles → tick {} ({} bytes {})", encoded.tick(), encoded.size(), encoded.format());
+
+        writeEncoded(encoded, ifNoneMatch, response);
+    }
+
+    @GetMapping("/candles/{symbol}")
+    public void getLatestCandle(
+            @PathVariable String symbol,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            HttpServletResponse response) throws IOException {
+        EncodedSnapshot encoded = snapshotCacheService.candle(CandleFormat.fromAccept(accept), symbol);
+
+        if (encoded != null) {
+            writeEncoded(encoded, ifNoneMatch, response);
+            return;
+        }
+
+        log.warn("GET /candles/{} → Not Found", symbol);
+        response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+    }
+
+    @GetMapping("/candles/{symbol}/history")
+    public ResponseEntity<List<OhlcvCandle>> getHistory(
+            @PathVariable String symbol,
+            @RequestParam(defaultValue = "0") long from,
+            @RequestParam(defaultValue = "" + Long.MAX_VALUE) long to,
+            @RequestParam(defaultValue = "10000") int limit) {
+        log.info("Received GET /candles/{}/history (from: {}, to: {}, limit: {})", symbol, from, to, limit);
+
+        List<OhlcvCandle> candles = historyService.getHistory(symbol, from, to, limit);
+
+        if (candles != null) {
+            log.info("GET /candles/{}/history → {} candles returned", symbol, candles.size());
+            return ResponseEntity.ok(candles);
+        }
+
+        log.warn("GET /candles/{}/history → Not Found", symbol);
+        return ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Writes a cached encoding straight from its shared buffer, or 304 if the client already has it.
+     */
+    private static void writeEncoded(EncodedSnapshot encoded, String ifNoneMatch, HttpServletResponse response)
+            throws IOException {
+        response.setHeader(HttpHeaders.ETAG, encoded.etag());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        response.setHeader(TICK_HEADER, Long.toString(encoded.tick()));
+
+        if (encoded.matches(ifNoneMatch)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(encoded.format().contentType());
+        response.setContentLength(encoded.size());
+        response.getOutputStream().write(encoded.body().duplicate());
+    }
+}
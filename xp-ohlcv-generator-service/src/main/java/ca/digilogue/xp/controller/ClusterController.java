@@ -0,0 +1,74 @@
+package ca.digilogue.xp.controller;
+
+import ca.digilogue.xp.cluster.ClusterMember;
+import ca.digilogue.xp.generator.GeneratorState;
+import ca.digilogue.xp.model.ClusterStatus;
+import ca.digilogue.xp.model.HandoffRequest;
+import ca.digilogue.xp.service.ClusterService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Endpoints exposing this instance's view of the sharding ring, and the handoff endpoint
+ * other members call to take over released symbols. All return 404 when sharding is disabled;
+ * handoff returns 403 without the cluster secret.
+ */
+@RestController
+public class ClusterController {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterController.class);
+
+    private final ClusterService clusterService;
+
+    public ClusterController(ClusterService clusterService) {
+        this.clusterService = clusterService;
+    }
+
+    @GetMapping("/cluster")
+    public ResponseEntity<ClusterStatus> getCluster() {
+        ClusterStatus status = clusterService.status();
+        if (status == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(status);
+    }
+
+    @GetMapping("/cluster/owners/{symbol}")
+    public ResponseEntity<ClusterMember> getOwner(@PathVariable String symbol) {
+        ClusterMember owner = clusterService.ownerOf(symbol);
+        if (owner == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(owner);
+    }
+
+    @PostMapping("/cluster/handoff")
+    public ResponseEntity<List<GeneratorState>> handoff(
+            @RequestHeader(name = ClusterService.SECRET_HEADER, required = false) String secret,
+            @RequestBody HandoffRequest request) {
+        if (clusterService.status() == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!clusterService.isTrusted(secret)) {
+            log.warn("POST /cluster/handoff → Forbidden: missing or wrong cluster secret");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        List<GeneratorState> states = clusterService.handoff(request);
+        if (states == null) {
+            log.info("POST /cluster/handoff → Conflict: {} is on ring {}", request.getRequester(), request.getVersion());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.ok(states);
+    }
+}
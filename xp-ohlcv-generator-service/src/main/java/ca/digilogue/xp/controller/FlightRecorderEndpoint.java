@@ -0,0 +1,65 @@
+package ca.digilogue.xp.controller;
+
+import ca.digilogue.xp.jfr.RecordingStatus;
+import ca.digilogue.xp.service.FlightRecorderService;
+import org.springframework.boot.actuate.endpoint.Access;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.OptionalParameter;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Actuator endpoint controlling the continuous flight recording.
+ * <ul>
+ *   <li>{@code GET /actuator/jfr} - recording status</li>
+ *   <li>{@code POST /actuator/jfr/start} - start recording, optionally with {@code {"settings":"profile"}}</li>
+ *   <li>{@code POST /actuator/jfr/stop} - stop recording and write it to its destination file</li>
+ *   <li>{@code GET /actuator/jfr/dump} - download the data recorded so far (recording keeps running)</li>
+ * </ul>
+ * Dumps contain the JVM's environment variables and system properties, including credentials,
+ * so the endpoint is inaccessible unless {@code management.endpoint.jfr.access} is set and it
+ * is added to the exposed endpoints; only do so behind a secured management port.
+ */
+@Component
+@Endpoint(id = "jfr", defaultAccess = Access.NONE)
+public class FlightRecorderEndpoint {
+
+    private final FlightRecorderService flightRecorderService;
+
+    public FlightRecorderEndpoint(FlightRecorderService flightRecorderService) {
+        this.flightRecorderService = flightRecorderService;
+    }
+
+    @ReadOperation
+    public RecordingStatus status() {
+        return flightRecorderService.status();
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<RecordingStatus> control(@Selector String action, @OptionalParameter String settings) {
+        return switch (action) {
+            case "start" -> new WebEndpointResponse<>(flightRecorderService.start(settings));
+            case "stop" -> new WebEndpointResponse<>(flightRecorderService.stop());
+            default -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        };
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> dump(@Selector String action) {
+        if (!"dump".equals(action)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Path path = flightRecorderService.dump();
+        if (path == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        return new WebEndpointResponse<>(new FileSystemResource(path));
+    }
+}
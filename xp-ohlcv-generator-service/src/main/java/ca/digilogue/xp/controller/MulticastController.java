@@ -0,0 +1,63 @@
+package ca.digilogue.xp.controller;
+
+import ca.digilogue.xp.multicast.MulticastStatus;
+import ca.digilogue.xp.service.MulticastService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Recovery endpoints for the UDP multicast candle feed. Receivers that detect a sequence gap
+ * fetch the missing packets here; if they are no longer retained (410 Gone) they fall back
+ * to the latest snapshot from {@code GET /candles}.
+ */
+@RestController
+public class MulticastController {
+
+    private static final Logger log = LoggerFactory.getLogger(MulticastController.class);
+
+    private final MulticastService multicastService;
+
+    public MulticastController(MulticastService multicastService) {
+        this.multicastService = multicastService;
+    }
+
+    @GetMapping("/multicast")
+    public ResponseEntity<MulticastStatus> getStatus() {
+        MulticastStatus status = multicastService.status();
+
+        if (status != null) {
+            return ResponseEntity.ok(status);
+        }
+
+        return ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Retransmits packets {@code from..to} (inclusive, at most 1024 per request) as raw packets back to back.
+     */
+    @GetMapping("/multicast/packets")
+    public ResponseEntity<byte[]> getPackets(@RequestParam long from, @RequestParam long to) {
+        if (multicastService.status() == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (from < 1 || to < from) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        byte[] packets = multicastService.retransmit(from, to);
+
+        if (packets == null) {
+            log.warn("GET /multicast/packets?from={}&to={} → Gone", from, to);
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        }
+
+        log.debug("GET /multicast/packets?from={}&to={} → {} bytes", from, to, packets.length);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_OCTET_STREAM).body(packets);
+    }
+}
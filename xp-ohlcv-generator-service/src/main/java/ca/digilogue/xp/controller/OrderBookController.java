@@ -0,0 +1,59 @@
+package ca.digilogue.xp.controller;
+
+import ca.digilogue.xp.book.BookSnapshot;
+import ca.digilogue.xp.book.BookUpdate;
+import ca.digilogue.xp.service.OrderBookService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+public class OrderBookController {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderBookController.class);
+
+    private final OrderBookService orderBookService;
+
+    public OrderBookController(OrderBookService orderBookService) {
+        this.orderBookService = orderBookService;
+    }
+
+    @GetMapping("/books/{symbol}")
+    public ResponseEntity<BookSnapshot> getBook(@PathVariable String symbol) {
+        BookSnapshot snapshot = orderBookService.getLatestSnapshot(symbol);
+
+        if (snapshot != null) {
+            return ResponseEntity.ok(snapshot);
+        }
+
+        log.warn("GET /books/{} → Not Found", symbol);
+        return ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Level updates after {@code since} (e.g. the sequence of the snapshot from {@code /books/{symbol}}).
+     * Returns 410 Gone if they are no longer buffered, in which case the client should reload the snapshot.
+     */
+    @GetMapping("/books/{symbol}/updates")
+    public ResponseEntity<List<BookUpdate>> getUpdates(@PathVariable String symbol, @RequestParam long since) {
+        try {
+            List<BookUpdate> updates = orderBookService.getUpdatesSince(symbol, since);
+            if (updates != null) {
+                return ResponseEntity.ok(updates);
+            }
+        } catch (IllegalStateException e) {
+            log.debug("GET /books/{}/updates → Gone: {}", symbol, e.getMessage());
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        }
+
+        log.warn("GET /books/{}/updates → Not Found", symbol);
+        return ResponseEntity.notFound().build();
+    }
+}
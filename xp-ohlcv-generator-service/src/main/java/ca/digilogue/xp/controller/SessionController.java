@@ -0,0 +1,112 @@
+package ca.digilogue.xp.controller;
+
+import ca.digilogue.xp.generator.CandleSnapshot;
+import ca.digilogue.xp.generator.OhlcvCandle;
+import ca.digilogue.xp.model.SessionInfo;
+import ca.digilogue.xp.model.SessionRequest;
+import ca.digilogue.xp.service.SessionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Endpoints to create, pause, resume and destroy isolated simulation sessions, and to read
+ * their status, resource usage and latest candles. All return 404 when sessions are disabled.
+ */
+@RestController
+public class SessionController {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionController.class);
+
+    private final SessionService sessionService;
+
+    public SessionController(SessionService sessionService) {
+        this.sessionService = sessionService;
+    }
+
+    @PostMapping("/sessions")
+    public ResponseEntity<?> createSession(@RequestBody SessionRequest request) {
+        if (!sessionService.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        try {
+            SessionInfo session = sessionService.create(request);
+            log.info("POST /sessions → Created: {}", session.getStatus().id());
+            return ResponseEntity.created(URI.create("/sessions/" + session.getStatus().id())).body(session);
+        } catch (IllegalArgumentException e) {
+            log.warn("POST /sessions → Bad Request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            log.warn("POST /sessions → Conflict: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/sessions")
+    public ResponseEntity<List<SessionInfo>> getSessions() {
+        if (!sessionService.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(sessionService.list());
+    }
+
+    @GetMapping("/sessions/{id}")
+    public ResponseEntity<SessionInfo> getSession(@PathVariable String id) {
+        return found(id, sessionService.get(id));
+    }
+
+    @PostMapping("/sessions/{id}/pause")
+    public ResponseEntity<SessionInfo> pauseSession(@PathVariable String id) {
+        return found(id, sessionService.pause(id));
+    }
+
+    @PostMapping("/sessions/{id}/resume")
+    public ResponseEntity<SessionInfo> resumeSession(@PathVariable String id) {
+        return found(id, sessionService.resume(id));
+    }
+
+    @DeleteMapping("/sessions/{id}")
+    public ResponseEntity<Void> destroySession(@PathVariable String id) {
+        if (sessionService.destroy(id)) {
+            return ResponseEntity.noContent().build();
+        }
+
+        log.warn("DELETE /sessions/{} → Not Found", id);
+        return ResponseEntity.notFound().build();
+    }
+
+    @GetMapping("/sessions/{id}/candles")
+    public ResponseEntity<Map<String, OhlcvCandle>> getSessionCandles(@PathVariable String id) {
+        CandleSnapshot snapshot = sessionService.getLatestSnapshot(id);
+
+        if (snapshot != null) {
+            return ResponseEntity.ok()
+                .header("X-Candle-Tick", Long.toString(snapshot.tick()))
+                .body(snapshot.candles());
+        }
+
+        log.warn("GET /sessions/{}/candles → Not Found", id);
+        return ResponseEntity.notFound().build();
+    }
+
+    private ResponseEntity<SessionInfo> found(String id, SessionInfo session) {
+        if (session != null) {
+            return ResponseEntity.ok(session);
+        }
+
+        log.warn("/sessions/{} → Not Found", id);
+        return ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,78 @@
+package ca.digilogue.xp.controller;
+
+import ca.digilogue.xp.model.CandleStatsSketches;
+import ca.digilogue.xp.model.CandleStatsSummary;
+import ca.digilogue.xp.service.StatisticsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Endpoints exposing the streaming distributions of log returns, log ranges and volumes,
+ * merged across all symbols or {@code ?symbols=A,B}, and merging sketches exported by
+ * several instances. All return 404 when statistics are disabled.
+ */
+@RestController
+public class StatisticsController {
+
+    private static final Logger log = LoggerFactory.getLogger(StatisticsController.class);
+
+    private final StatisticsService statisticsService;
+
+    public StatisticsController(StatisticsService statisticsService) {
+        this.statisticsService = statisticsService;
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<CandleStatsSummary> getStats(@RequestParam(required = false) List<String> symbols) {
+        if (!statisticsService.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        return found(statisticsService.summary(symbols));
+    }
+
+    @GetMapping("/stats/{symbol}")
+    public ResponseEntity<CandleStatsSummary> getSymbolStats(@PathVariable String symbol) {
+        if (!statisticsService.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        return found(statisticsService.summary(List.of(symbol)));
+    }
+
+    /**
+     * Raw mergeable sketches, to be combined with other instances' via {@code POST /stats/merge}.
+     */
+    @GetMapping("/stats/sketches")
+    public ResponseEntity<CandleStatsSketches> getSketches(@RequestParam(required = false) List<String> symbols) {
+        if (!statisticsService.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        return found(statisticsService.sketches(symbols));
+    }
+
+    @PostMapping("/stats/merge")
+    public ResponseEntity<?> mergeSketches(@RequestBody List<CandleStatsSketches> sketches) {
+        if (!statisticsService.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ResponseEntity.ok(statisticsService.merge(sketches));
+        } catch (IllegalArgumentException e) {
+            log.warn("POST /stats/merge → Bad Request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    private static <T> ResponseEntity<T> found(T body) {
+        return body == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(body);
+    }
+}
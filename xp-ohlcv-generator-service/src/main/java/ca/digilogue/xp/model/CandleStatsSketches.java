@@ -0,0 +1,56 @@
+package ca.digilogue.xp.model;
+
+import ca.digilogue.xp.stats.SketchData;
+
+/**
+ * Raw mergeable sketches of log returns, log ranges and volumes, as exported by one instance
+ * and accepted by {@code POST /stats/merge} on any other.
+ */
+public class CandleStatsSketches {
+    private int symbols;
+    private SketchData logReturn;
+    private SketchData logRange;
+    private SketchData volume;
+
+    public CandleStatsSketches() {
+    }
+
+    public CandleStatsSketches(int symbols, SketchData logReturn, SketchData logRange, SketchData volume) {
+        this.symbols = symbols;
+        this.logReturn = logReturn;
+        this.logRange = logRange;
+        this.volume = volume;
+    }
+
+    public int getSymbols() {
+        return symbols;
+    }
+
+    public void setSymbols(int symbols) {
+        this.symbols = symbols;
+    }
+
+    public SketchData getLogReturn() {
+        return logReturn;
+    }
+
+    public void setLogReturn(SketchData logReturn) {
+        this.logReturn = logReturn;
+    }
+
+    public SketchData getLogRange() {
+        return logRange;
+    }
+
+    public void setLogRange(SketchData logRange) {
+        this.logRange = logRange;
+    }
+
+    public SketchData getVolume() {
+        return volume;
+    }
+
+    public void setVolume(SketchData volume) {
+        this.volume = volume;
+    }
+}
@@ -0,0 +1,73 @@
+package ca.digilogue.xp.model;
+
+/**
+ * Distributions of log returns, log ranges and volumes, merged across one or more symbols.
+ */
+public class CandleStatsSummary {
+    private int symbols;
+    private double relativeAccuracy;
+    private DistributionSummary logReturn;
+    private DistributionSummary logRange;
+    private DistributionSummary volume;
+
+    public CandleStatsSummary(int symbols, double relativeAccuracy, DistributionSummary logReturn,
+                              DistributionSummary logRange, DistributionSummary volume) {
+        this.symbols = symbols;
+        this.relativeAccuracy = relativeAccuracy;
+        this.logReturn = logReturn;
+        this.logRange = logRange;
+        this.volume = volume;
+    }
+
+    /**
+     * Number of symbol distributions merged into this summary.
+     */
+    public int getSymbols() {
+        return symbols;
+    }
+
+    public void setSymbols(int symbols) {
+        this.symbols = symbols;
+    }
+
+    /**
+     * Relative error bound of the quantile estimates.
+     */
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    public void setRelativeAccuracy(double relativeAccuracy) {
+        this.relativeAccuracy = relativeAccuracy;
+    }
+
+    /**
+     * Distribution of ln(close / open).
+     */
+    public DistributionSummary getLogReturn() {
+        return logReturn;
+    }
+
+    public void setLogReturn(DistributionSummary logReturn) {
+        this.logReturn = logReturn;
+    }
+
+    /**
+     * Distribution of ln(high / low).
+     */
+    public DistributionSummary getLogRange() {
+        return logRange;
+    }
+
+    public void setLogRange(DistributionSummary logRange) {
+        this.logRange = logRange;
+    }
+
+    public DistributionSummary getVolume() {
+        return volume;
+    }
+
+    public void setVolume(DistributionSummary volume) {
+        this.volume = volume;
+    }
+}
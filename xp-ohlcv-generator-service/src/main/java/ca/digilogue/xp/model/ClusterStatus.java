@@ -0,0 +1,94 @@
+package ca.digilogue.xp.model;
+
+import ca.digilogue.xp.cluster.ClusterMember;
+
+import java.util.List;
+
+/**
+ * This instance's view of symbol sharding.
+ */
+public class ClusterStatus {
+    private String self;
+    private String version;
+    private List<ClusterMember> members;
+    private int virtualNodes;
+    private int totalSymbols;
+    private int generatedSymbols;
+    private int heldForHandoff;
+
+    public ClusterStatus(String self, String version, List<ClusterMember> members, int virtualNodes,
+                         int totalSymbols, int generatedSymbols, int heldForHandoff) {
+        this.self = self;
+        this.version = version;
+        this.members = members;
+        this.virtualNodes = virtualNodes;
+        this.totalSymbols = totalSymbols;
+        this.generatedSymbols = generatedSymbols;
+        this.heldForHandoff = heldForHandoff;
+    }
+
+    public String getSelf() {
+        return self;
+    }
+
+    public void setSelf(String self) {
+        this.self = self;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+
+    public List<ClusterMember> getMembers() {
+        return members;
+    }
+
+    public void setMembers(List<ClusterMember> members) {
+        this.members = members;
+    }
+
+    public int getVirtualNodes() {
+        return virtualNodes;
+    }
+
+    public void setVirtualNodes(int virtualNodes) {
+        this.virtualNodes = virtualNodes;
+    }
+
+    /**
+     * Symbols generated across the whole cluster.
+     */
+    public int getTotalSymbols() {
+        return totalSymbols;
+    }
+
+    public void setTotalSymbols(int totalSymbols) {
+        this.totalSymbols = totalSymbols;
+    }
+
+    /**
+     * Symbols generated by this instance.
+     */
+    public int getGeneratedSymbols() {
+        return generatedSymbols;
+    }
+
+    public void setGeneratedSymbols(int generatedSymbols) {
+        this.generatedSymbols = generatedSymbols;
+    }
+
+    /**
+     * States of released symbols kept until their new owner fetches them.
+     */
+    public int getHeldForHandoff() {
+        return heldForHandoff;
+    }
+
+    public void setHeldForHandoff(int heldForHandoff) {
+        this.heldForHandoff = heldForHandoff;
+    }
+}
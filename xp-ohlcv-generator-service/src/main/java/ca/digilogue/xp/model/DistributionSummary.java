@@ -0,0 +1,66 @@
+package ca.digilogue.xp.model;
+
+import java.util.Map;
+
+/**
+ * Summary of one streaming distribution: count, extremes, mean and estimated quantiles.
+ * Statistics are null and the quantiles empty when nothing has been counted yet.
+ */
+public class DistributionSummary {
+    private long count;
+    private Double min;
+    private Double max;
+    private Double mean;
+    private Map<String, Double> quantiles;
+
+    public DistributionSummary(long count, Double min, Double max, Double mean, Map<String, Double> quantiles) {
+        this.count = count;
+        this.min = min;
+        this.max = max;
+        this.mean = mean;
+        this.quantiles = quantiles;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public Double getMin() {
+        return min;
+    }
+
+    public void setMin(Double min) {
+        this.min = min;
+    }
+
+    public Double getMax() {
+        return max;
+    }
+
+    public void setMax(Double max) {
+        this.max = max;
+    }
+
+    public Double getMean() {
+        return mean;
+    }
+
+    public void setMean(Double mean) {
+        this.mean = mean;
+    }
+
+    /**
+     * Estimated quantiles keyed by percentile (e.g. "p50", "p99.9").
+     */
+    public Map<String, Double> getQuantiles() {
+        return quantiles;
+    }
+
+    public void setQuantiles(Map<String, Double> quantiles) {
+        this.quantiles = quantiles;
+    }
+}
@@ -0,0 +1,49 @@
+package ca.digilogue.xp.model;
+
+import java.util.List;
+
+/**
+ * Body of {@code POST /cluster/handoff}: an instance asking for the state of symbols it now owns.
+ */
+public class HandoffRequest {
+
+    private String requester;
+    private String version;
+    private List<String> symbols;
+
+    public HandoffRequest() {
+    }
+
+    public HandoffRequest(String requester, String version, List<String> symbols) {
+        this.requester = requester;
+        this.version = version;
+        this.symbols = symbols;
+    }
+
+    public String getRequester() {
+        return requester;
+    }
+
+    public void setRequester(String requester) {
+        this.requester = requester;
+    }
+
+    /**
+     * Hash ring version of the requester; state is only handed over if both sides agree on it.
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+
+    public List<String> getSymbols() {
+        return symbols;
+    }
+
+    public void setSymbols(List<String> symbols) {
+        this.symbols = symbols;
+    }
+}
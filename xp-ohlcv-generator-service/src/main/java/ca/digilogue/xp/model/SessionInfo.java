@@ -0,0 +1,45 @@
+package ca.digilogue.xp.model;
+
+import ca.digilogue.xp.session.SessionStatus;
+
+/**
+ * A simulation session's status and resource usage, plus where its output goes.
+ */
+public class SessionInfo {
+    private SessionStatus status;
+    private String topic;
+    private String bucket;
+
+    public SessionInfo(SessionStatus status, String topic, String bucket) {
+        this.status = status;
+        this.topic = topic;
+        this.bucket = bucket;
+    }
+
+    public SessionStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(SessionStatus status) {
+        this.status = status;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public void setTopic(String topic) {
+        this.topic = topic;
+    }
+
+    /**
+     * InfluxDB bucket the session's candles are written to, or null if they are not stored.
+     */
+    public String getBucket() {
+        return bucket;
+    }
+
+    public void setBucket(String bucket) {
+        this.bucket = bucket;
+    }
+}
@@ -0,0 +1,115 @@
+package ca.digilogue.xp.model;
+
+import ca.digilogue.xp.engine.SymbolSpec;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Body of {@code POST /sessions}. Everything except the symbols is optional.
+ */
+public class SessionRequest {
+
+    private String id;
+    private List<SymbolSpec> symbols;
+    private int syntheticSymbols;
+    private String model;
+    private Map<String, String> models;
+    private Long seed;
+    private Long intervalMs;
+    private Double maxCandlesPerSecond;
+    private String indicators;
+    private String topic;
+    private String bucket;
+
+    public SessionRequest() {
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public List<SymbolSpec> getSymbols() {
+        return symbols;
+    }
+
+    public void setSymbols(List<SymbolSpec> symbols) {
+        this.symbols = symbols;
+    }
+
+    public int getSyntheticSymbols() {
+        return syntheticSymbols;
+    }
+
+    public void setSyntheticSymbols(int syntheticSymbols) {
+        this.syntheticSymbols = syntheticSymbols;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    public void setModel(String model) {
+        this.model = model;
+    }
+
+    public Map<String, String> getModels() {
+        return models;
+    }
+
+    public void setModels(Map<String, String> models) {
+        this.models = models;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
+    public Long getIntervalMs() {
+        return intervalMs;
+    }
+
+    public void setIntervalMs(Long intervalMs) {
+        this.intervalMs = intervalMs;
+    }
+
+    public Double getMaxCandlesPerSecond() {
+        return maxCandlesPerSecond;
+    }
+
+    public void setMaxCandlesPerSecond(Double maxCandlesPerSecond) {
+        this.maxCandlesPerSecond = maxCandlesPerSecond;
+    }
+
+    public String getIndicators() {
+        return indicators;
+    }
+
+    public void setIndicators(String indicators) {
+        this.indicators = indicators;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public void setTopic(String topic) {
+        this.topic = topic;
+    }
+
+    public String getBucket() {
+        return bucket;
+    }
+
+    public void setBucket(String bucket) {
+        this.bucket = bucket;
+    }
+}
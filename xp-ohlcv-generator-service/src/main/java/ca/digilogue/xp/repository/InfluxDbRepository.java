@@ -0,0 +1,157 @@
+package ca.digilogue.xp.repository;
+
+import ca.digilogue.xp.clock.SimulationClock;
+import ca.digilogue.xp.clock.VirtualClock;
+import ca.digilogue.xp.generator.OhlcvCandle;
+import ca.digilogue.xp.jfr.InfluxFlushEvent;
+import ca.digilogue.xp.jfr.InfluxWriteEvent;
+import com.influxdb.client.InfluxDBClient;
+import com.influxdb.client.WriteApi;
+import com.influxdb.client.WriteApiBlocking;
+import com.influxdb.client.domain.WritePrecision;
+import com.influxdb.client.write.Point;
+import jdk.jfr.EventType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for InfluxDB operations.
+ * Handles low-level InfluxDB client interactions. Writes are batched asynchronously, except on
+ * a {@link VirtualClock}: there each write blocks until InfluxDB has accepted it, so the writing
+ * generator holds virtual time back instead of the batch buffer dropping points.
+ */
+@Repository
+public class InfluxDbRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(InfluxDbRepository.class);
+    private static final EventType WRITE_EVENT = EventType.getEventType(InfluxWriteEvent.class);
+    private static final EventType FLUSH_EVENT = EventType.getEventType(InfluxFlushEvent.class);
+
+    private final InfluxDBClient influxDBClient;
+    private final String bucket;
+    private final String org;
+    private WriteApi writeApi;
+    private WriteApiBlocking writeApiBlocking;
+
+    @Autowired
+    public InfluxDbRepository(InfluxDBClient influxDBClient, 
+                              SimulationClock clock,
+                              @Value("${influxdb.bucket}") String bucket,
+                              @Value("${influxdb.org}") String org) {
+        this.influxDBClient = influxDBClient;
+        this.bucket = bucket;
+        this.org = org;
+        if (clock instanceof VirtualClock) {
+            this.writeApiBlocking = influxDBClient.getWriteApiBlocking();
+            log.info("Virtual clock: InfluxDB writes are blocking");
+        } else {
+            this.writeApi = influxDBClient.getWriteApi();
+        }
+    }
+
+    /**
+     * Writes an OHLCV candle to InfluxDB.
+     * 
+     * @param candle The OHLCV candle to write
+     */
+    public void writeCandle(OhlcvCandle candle) {
+        writeCandle(bucket, candle);
+    }
+
+    /**
+     * Writes an OHLCV candle to a specific InfluxDB bucket (e.g. a simulation session's).
+     * 
+     * @param bucket The bucket to write to
+     * @param candle The OHLCV candle to write
+     */
+    public void writeCandle(String bucket, OhlcvCandle candle) {
+        // Events are only created while a recording enables them, so writes do not allocate them per candle
+        InfluxWriteEvent event = WRITE_EVENT.isEnabled() ? new InfluxWriteEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        int fieldCount = 5;
+        try {
+            Point point = Point.measurement("ohlcv_candles")
+                .addTag("symbol", candle.getSymbol())
+                .addField("open", candle.getOpen())
+                .addField("high", candle.getHigh())
+                .addField("low", candle.getLow())
+                .addField("close", candle.getClose())
+                .addField("volume", candle.getVolume())
+                .time(candle.getEpochMillis(), WritePrecision.MS);
+
+            // Indicator values are stored as extra fields once they have warmed up
+            for (int i = 0; i < candle.indicatorCount(); i++) {
+                double value = candle.indicatorValue(i);
+                if (!Double.isNaN(value)) {
+                    point.addField(candle.indicatorName(i), value);
+                    fieldCount++;
+                }
+            }
+
+            if (writeApiBlocking != null) {
+                writeApiBlocking.writePoint(bucket, org, point);
+            } else {
+                writeApi.writePoint(bucket, org, point);
+            }
+            if (event != null) {
+                event.success = true;
+            }
+            
+            if (log.isDebugEnabled()) {
+                log.debug("Written OHLCV candle to InfluxDB: {}", candle);
+            }
+        } catch (Exception e) {
+            log.error("Error writing OHLCV candle to InfluxDB: {}", candle, e);
+            throw new RuntimeException("Failed to write candle to InfluxDB", e);
+        } finally {
+            if (event != null) {
+                event.end();
+            }
+            if (event != null && event.shouldCommit()) {
+                event.symbol = candle.getSymbol();
+                event.batchSize = 1;
+                event.fieldCount = fieldCount;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Flushes any pending writes to InfluxDB.
+     */
+    public void flush() {
+        InfluxFlushEvent event = FLUSH_EVENT.isEnabled() ? new InfluxFlushEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        try {
+            if (writeApi != null) {
+                writeApi.flush();
+            }
+            if (event != null) {
+                event.success = true;
+            }
+        } catch (Exception e) {
+            log.error("Error flushing writes to InfluxDB", e);
+        } finally {
+            if (event != null) {
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Closes the write API (should be called on shutdown).
+     */
+    public void close() {
+        if (writeApi != null) {
+            writeApi.close();
+        }
+    }
+}
+
@@ -0,0 +1,167 @@
+package ca.digilogue.xp.service;
+
+import ca.digilogue.xp.checkpoint.CheckpointFile;
+import ca.digilogue.xp.generator.GeneratorState;
+import ca.digilogue.xp.generator.OhlcvGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service layer for generator state checkpoints.
+ * Periodically captures the state of all generators into a memory-mapped checkpoint file
+ * and restores it on startup, so price series continue seamlessly across restarts.
+ */
+@Service
+public class CheckpointService {
+
+    private static final Logger log = LoggerFactory.getLogger(CheckpointService.class);
+
+    private final boolean enabled;
+    private final Path path;
+    private final int capacity;
+    private final long intervalMillis;
+
+    private CheckpointFile file;
+    private GeneratorState[] states = new GeneratorState[0];
+    private Thread checkpointThread;
+    private volatile boolean running;
+
+    public CheckpointService(
+            @Value("${ohlcv.checkpoint.enabled:false}") boolean enabled,
+            @Value("${ohlcv.checkpoint.path:checkpoints/generators.ckpt}") String path,
+            @Value("${ohlcv.checkpoint.capacity:100000}") int capacity,
+            @Value("${ohlcv.checkpoint.interval-ms:5000}") long intervalMillis) {
+        if (enabled && (capacity < 1 || capacity > CheckpointFile.MAX_CAPACITY)) {
+            throw new IllegalArgumentException("ohlcv.checkpoint.capacity must be in [1, "
+                + CheckpointFile.MAX_CAPACITY + "]: " + capacity);
+        }
+        this.enabled = enabled;
+        this.path = Paths.get(path);
+        this.capacity = capacity;
+        this.intervalMillis = intervalMillis;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Opens the checkpoint file and reads the last checkpoint.
+     *
+     * @return Map of symbol to checkpointed state (empty if disabled or no checkpoint exists)
+     */
+    public synchronized Map<String, GeneratorState> restore() {
+        if (!enabled) {
+            return Map.of();
+        }
+        long start = System.nanoTime();
+        try {
+            file = CheckpointFile.open(path, capacity);
+            Map<String, GeneratorState> restored = file.read();
+            log.info("Restored {} generator states from checkpoint {} (sequence {}) in {} ms",
+                restored.size(), path, file.getSequence(), (System.nanoTime() - start) / 1_000_000);
+            return restored;
+        } catch (IOException e) {
+            log.error("Failed to open checkpoint file: {}", path, e);
+            return Map.of();
+        }
+    }
+
+    /**
+     * Starts a background thread that checkpoints the given generators periodically.
+     *
+     * @param generators The generators to checkpoint
+     */
+    public synchronized void start(List<OhlcvGenerator> generators) {
+        if (!enabled || file == null) {
+            return;
+        }
+        running = true;
+        checkpointThread = new Thread(() -> {
+            while (running) {
+                try {
+                    Thread.sleep(intervalMillis);
+                    checkpoint(generators);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (Exception e) {
+                    log.error("Error writing generator checkpoint", e);
+                }
+            }
+        }, "generator-checkpoint");
+        checkpointThread.setDaemon(true);
+        checkpointThread.start();
+        log.info("Checkpointing {} generators to {} every {} ms", generators.size(), path, intervalMillis);
+        for (OhlcvGenerator generator : generators) {
+            if (!CheckpointFile.fits(generator.getSymbol())) {
+                log.warn("Symbol {} is too long to checkpoint and will restart from its base price",
+                    generator.getSymbol());
+            }
+        }
+    }
+
+    /**
+     * Captures the current state of the generators and writes it as the new active checkpoint.
+     *
+     * @param generators The generators to checkpoint
+     */
+    public synchronized void checkpoint(List<OhlcvGenerator> generators) {
+        if (file == null) {
+            return;
+        }
+        // Copied since symbols may be added or removed while sharding
+        generators = generators.stream().filter(g -> CheckpointFile.fits(g.getSymbol())).toList();
+        int count = Math.min(generators.size(), file.getCapacity());
+        if (count < generators.size()) {
+            log.warn("Checkpoint capacity {} exceeded, {} generators not checkpointed",
+                file.getCapacity(), generators.size() - count);
+        }
+        if (states.length < count) {
+            GeneratorState[] grown = new GeneratorState[count];
+            System.arraycopy(states, 0, grown, 0, states.length);
+            for (int i = states.length; i < count; i++) {
+                grown[i] = new GeneratorState();
+            }
+            states = grown;
+        }
+
+        for (int i = 0; i < count; i++) {
+            generators.get(i).captureState(states[i]);
+        }
+        file.write(states, count);
+        log.debug("Wrote checkpoint {} ({} generators)", file.getSequence(), count);
+    }
+
+    /**
+     * Stops periodic checkpointing, writes a final checkpoint and closes the file.
+     *
+     * @param generators The generators to checkpoint one last time
+     */
+    public void stop(List<OhlcvGenerator> generators) {
+        running = false;
+        if (checkpointThread != null) {
+            checkpointThread.interrupt();
+        }
+        synchronized (this) {
+            if (file == null) {
+                return;
+            }
+            checkpoint(generators);
+            try {
+                file.close();
+            } catch (IOException e) {
+                log.warn("Error closing checkpoint file: {}", path, e);
+            }
+            file = null;
+        }
+    }
+}
@@ -0,0 +1,499 @@
+package ca.digilogue.xp.service;
+
+import ca.digilogue.xp.cluster.ClusterMember;
+import ca.digilogue.xp.cluster.HashRing;
+import ca.digilogue.xp.engine.OhlcvEngine;
+import ca.digilogue.xp.engine.SymbolSpec;
+import ca.digilogue.xp.generator.GeneratorState;
+import ca.digilogue.xp.generator.OhlcvGenerator;
+import ca.digilogue.xp.model.ClusterStatus;
+import ca.digilogue.xp.model.HandoffRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service layer for horizontal symbol sharding.
+ * Every instance generates only the symbols a consistent-hash ring ({@link HashRing}) assigns
+ * to it, so adding instances adds capacity instead of duplicating data. Membership comes from
+ * {@code ohlcv.cluster.members} or a members file that is re-read periodically; no external
+ * coordinator is involved.
+ * <p>
+ * When membership changes, an instance stops the symbols it no longer owns and holds their
+ * final state; the new owner fetches it over {@code POST /cluster/handoff} and resumes the
+ * series where it left off. State is only handed over between instances that agree on the
+ * ring version. Symbols whose previous owner is gone start from the local checkpoint, if any.
+ * <p>
+ * On graceful shutdown, an instance releases all of its symbols and keeps serving their state
+ * for up to {@code ohlcv.cluster.drain-ms}. Once the leaver is removed from the members file, the
+ * remaining members fetch its symbols from it as a departed member. With inline
+ * {@code ohlcv.cluster.members} the ring never changes at runtime, so nothing is handed off.
+ * <p>
+ * Handoff requests carry the shared {@code ohlcv.cluster.secret} and are only answered for
+ * requesters on the ring, since a handed-off state is gone for everybody else. Without a
+ * secret, handoff is disabled.
+ */
+@Service
+public class ClusterService {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterService.class);
+
+    // Cycles a handoff is postponed while another member is still on a different ring version
+    private static final int MAX_HANDOFF_DEFERRALS = 3;
+
+    public static final String SECRET_HEADER = "X-Cluster-Secret";
+
+    private final boolean enabled;
+    private final String configuredSelf;
+    private final String members;
+    private final Path membersFile;
+    private final int virtualNodes;
+    private final long refreshMillis;
+    private final long handoffTimeoutMillis;
+    private final long handoffRetentionMillis;
+    private final long drainMillis;
+    private final byte[] secret; // Empty when handoff is disabled
+    private final JsonMapper jsonMapper;
+    private final HttpClient httpClient;
+
+    /**
+     * Final state of a released symbol, held until its new owner fetches it.
+     */
+    private record Released(GeneratorState state, long releasedMillis) {
+    }
+
+    private final Object lock = new Object();
+    private final Map<String, Released> released = new ConcurrentHashMap<>();
+    private volatile HashRing ring;
+    private List<ClusterMember> departed = List.of(); // Members of the previous ring missing from this one
+    private volatile boolean leaving;
+    private OhlcvEngine engine;
+    private Map<String, SymbolSpec> symbols = Map.of();
+    private String self;
+    private int handoffDeferrals;
+    private Thread membershipThread;
+    private volatile boolean running;
+
+    public ClusterService(
+            JsonMapper jsonMapper,
+            @Value("${ohlcv.cluster.enabled:false}") boolean enabled,
+            @Value("${ohlcv.cluster.self:}") String configuredSelf,
+            @Value("${ohlcv.cluster.members:}") String members,
+            @Value("${ohlcv.cluster.members-file:}") String membersFile,
+            @Value("${ohlcv.cluster.virtual-nodes:128}") int virtualNodes,
+            @Value("${ohlcv.cluster.refresh-ms:5000}") long refreshMillis,
+            @Value("${ohlcv.cluster.handoff-timeout-ms:2000}") long handoffTimeoutMillis,
+            @Value("${ohlcv.cluster.handoff-retention-ms:300000}") long handoffRetentionMillis,
+            @Value("${ohlcv.cluster.drain-ms:15000}") long drainMillis,
+            @Value("${ohlcv.cluster.secret:}") String secret) {
+        this.jsonMapper = jsonMapper;
+        this.enabled = enabled;
+        this.configuredSelf = configuredSelf;
+        this.members = members;
+        this.membersFile = membersFile.isBlank() ? null : Paths.get(membersFile);
+        this.virtualNodes = virtualNodes;
+        this.refreshMillis = refreshMillis;
+        this.handoffTimeoutMillis = handoffTimeoutMillis;
+        this.handoffRetentionMillis = handoffRetentionMillis;
+        this.drainMillis = drainMillis;
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        this.httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(handoffTimeoutMillis))
+            .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Takes over the symbols this instance owns (fetching their state from the other members)
+     * and starts watching membership.
+     *
+     * @param engine     The engine to add owned symbols to and remove released ones from
+     * @param universe   Every symbol generated across the cluster
+     * @param instanceId This instance's id, unless {@code ohlcv.cluster.self} overrides it
+     */
+    public void start(OhlcvEngine engine, List<SymbolSpec> universe, String instanceId) {
+        if (!enabled) {
+            return;
+        }
+        if (secret.length == 0) {
+            log.warn("ohlcv.cluster.secret is not set; symbol state will not be handed off between members");
+        }
+        synchronized (lock) {
+            this.engine = engine;
+            this.self = configuredSelf.isBlank() ? instanceId : configuredSelf;
+            Map<String, SymbolSpec> bySymbol = new LinkedHashMap<>();
+            for (SymbolSpec symbol : universe) {
+                bySymbol.put(symbol.symbol(), symbol);
+            }
+            this.symbols = bySymbol;
+        }
+        reconcile();
+
+        running = true;
+        membershipThread = new Thread(() -> {
+            while (running) {
+                try {
+                    Thread.sleep(refreshMillis);
+                    reconcile();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (Exception e) {
+                    log.error("Error rebalancing symbols", e);
+                }
+            }
+        }, "cluster-membership");
+        membershipThread.setDaemon(true);
+        membershipThread.start();
+    }
+
+    /**
+     * Stops watching membership, then releases every symbol and waits up to
+     * {@code ohlcv.cluster.drain-ms} for the other members to fetch their state. Must run
+     * while the instance still serves {@code POST /cluster/handoff}.
+     */
+    public void stop() {
+        running = false;
+        if (membershipThread != null) {
+            membershipThread.interrupt();
+        }
+        if (!releaseAll()) {
+            return;
+        }
+
+        long deadline = System.currentTimeMillis() + drainMillis;
+        try {
+            while (!released.isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(100);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (released.isEmpty()) {
+            log.info("All symbols handed off");
+        } else {
+            log.warn("{} symbols were not handed off within {} ms", released.size(), drainMillis);
+        }
+    }
+
+    /**
+     * Stops every symbol this instance generates and holds their state for handoff.
+     *
+     * @return Whether any state is held
+     */
+    private boolean releaseAll() {
+        synchronized (lock) {
+            if (engine == null) {
+                return false;
+            }
+            leaving = true;
+            List<String> owned = new ArrayList<>();
+            for (OhlcvGenerator generator : engine.getGenerators()) {
+                owned.add(generator.getSymbol());
+            }
+            long now = System.currentTimeMillis();
+            for (OhlcvGenerator generator : engine.removeSymbols(owned)) {
+                GeneratorState state = new GeneratorState();
+                generator.captureState(state);
+                released.put(generator.getSymbol(), new Released(state, now));
+            }
+            if (!released.isEmpty()) {
+                log.info("Leaving the cluster, holding {} symbols for handoff", released.size());
+            }
+            return !released.isEmpty();
+        }
+    }
+
+    private void reconcile() {
+        refresh();
+        acquire();
+
+        // Drop held states nobody came for
+        long expiry = System.currentTimeMillis() - handoffRetentionMillis;
+        released.values().removeIf(r -> r.releasedMillis() < expiry);
+    }
+
+    /**
+     * Reloads membership and, if the ring changed, stops the symbols this instance no longer
+     * owns and holds their state for handoff. Makes no remote calls, so it is safe to run
+     * while serving a handoff request.
+     */
+    private void refresh() {
+        synchronized (lock) {
+            if (engine == null) {
+                return;
+            }
+            HashRing next = new HashRing(loadMembers(), virtualNodes);
+            if (ring != null && ring.getVersion().equals(next.getVersion())) {
+                return;
+            }
+            List<ClusterMember> gone = new ArrayList<>();
+            if (ring != null) {
+                for (ClusterMember member : ring.getMembers()) {
+                    if (next.member(member.id()) == null) {
+                        gone.add(member);
+                    }
+                }
+            }
+            departed = gone;
+            ring = next;
+            handoffDeferrals = 0;
+            if (next.member(self) == null) {
+                log.warn("Instance {} is not a cluster member and will generate no symbols", self);
+            }
+            log.info("Cluster ring {}: {} members, {} virtual nodes each", next.getVersion(),
+                next.getMembers().size(), next.getVirtualNodes());
+
+            List<String> lost = new ArrayList<>();
+            for (OhlcvGenerator generator : engine.getGenerators()) {
+                if (!next.isOwner(self, generator.getSymbol())) {
+                    lost.add(generator.getSymbol());
+                }
+            }
+            if (lost.isEmpty()) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            for (OhlcvGenerator generator : engine.removeSymbols(lost)) {
+                GeneratorState state = new GeneratorState();
+                generator.captureState(state);
+                released.put(generator.getSymbol(), new Released(state, now));
+            }
+            log.info("Released {} symbols to other members", lost.size());
+        }
+    }
+
+    /**
+     * Starts the symbols this instance owns but does not generate yet, resuming each from the
+     * newest state held by any member (or by this instance, if the symbol came back).
+     */
+    private void acquire() {
+        HashRing current;
+        List<ClusterMember> sources;
+        List<String> gained = new ArrayList<>();
+        synchronized (lock) {
+            current = ring;
+            if (current == null || leaving) {
+                return;
+            }
+            // Members that just left may still be draining the state of their symbols
+            sources = new ArrayList<>(current.getMembers());
+            sources.addAll(departed);
+            for (String symbol : symbols.keySet()) {
+                if (current.isOwner(self, symbol) && engine.getGenerator(symbol) == null) {
+                    gained.add(symbol);
+                }
+            }
+        }
+        if (gained.isEmpty()) {
+            return;
+        }
+
+        // Remote calls outside the lock: the members may be calling back into handoff()
+        Map<String, GeneratorState> states = new HashMap<>();
+        boolean versionMismatch = false;
+        for (ClusterMember member : sources) {
+            if (member.id().equals(self)) {
+                continue;
+            }
+            GeneratorState[] handedOff = requestHandoff(member, current.getVersion(), gained);
+            if (handedOff == null) {
+                versionMismatch = true;
+                continue;
+            }
+            for (GeneratorState state : handedOff) {
+                states.merge(state.symbol, state, ClusterService::newer);
+            }
+        }
+
+        synchronized (lock) {
+            if (ring != current || leaving) {
+                return; // Membership changed meanwhile; the next cycle starts over
+            }
+            if (versionMismatch && states.isEmpty() && handoffDeferrals < MAX_HANDOFF_DEFERRALS) {
+                handoffDeferrals++;
+                log.info("Deferring {} symbols until all members are on ring {}", gained.size(), current.getVersion());
+                return;
+            }
+            handoffDeferrals = 0;
+
+            int resumed = 0;
+            for (String symbol : gained) {
+                Released own = released.remove(symbol);
+                GeneratorState state = states.get(symbol);
+                if (own != null) {
+                    state = state == null ? own.state() : newer(state, own.state());
+                }
+                GeneratorState restore = state;
+                engine.addSymbol(symbols.get(symbol), generator -> {
+                    if (restore != null) {
+                        generator.restoreState(restore);
+                    }
+                });
+                if (restore != null) {
+                    resumed++;
+                }
+            }
+            log.info("Took over {} symbols ({} resumed from handed-off state)", gained.size(), resumed);
+        }
+    }
+
+    /**
+     * Asks a member for the state of symbols it held.
+     *
+     * @return The states it handed over (empty if it is unreachable), or null if it is on another ring version
+     */
+    private GeneratorState[] requestHandoff(ClusterMember member, String version, List<String> symbols) {
+        if (secret.length == 0) {
+            return new GeneratorState[0];
+        }
+        try {
+            byte[] body = jsonMapper.writeValueAsBytes(new HandoffRequest(self, version, symbols));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(member.url() + "/cluster/handoff"))
+                .timeout(Duration.ofMillis(handoffTimeoutMillis))
+                .header("Content-Type", "application/json")
+                .header(SECRET_HEADER, new String(secret, StandardCharsets.UTF_8))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() == 409) {
+                log.debug("Member {} is on another ring version", member.id());
+                return null;
+            }
+            if (response.statusCode() != 200) {
+                log.warn("Handoff from {} failed with status {}", member.id(), response.statusCode());
+                return new GeneratorState[0];
+            }
+            return jsonMapper.readValue(response.body(), GeneratorState[].class);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Handoff from {} ({}) failed: {}", member.id(), member.url(), e.toString());
+            return new GeneratorState[0];
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new GeneratorState[0];
+        }
+    }
+
+    /**
+     * Whether a handoff caller presented the cluster secret. Always false if no secret is configured.
+     *
+     * @param presented The {@value #SECRET_HEADER} header value (may be null)
+     */
+    public boolean isTrusted(String presented) {
+        return secret.length > 0 && presented != null
+            && MessageDigest.isEqual(secret, presented.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Hands over the held state of released symbols to their new owner. The requester must be
+     * a member of this instance's ring. While leaving, this instance generates nothing, so it
+     * hands its symbols to whichever member asks first, on any ring version. Callers must check
+     * {@link #isTrusted(String)} first.
+     *
+     * @param request The requester, its ring version and the symbols it now owns
+     * @return The states held for those symbols, or null if this instance is on another ring version
+     */
+    public List<GeneratorState> handoff(HandoffRequest request) {
+        boolean leaving = this.leaving;
+        if (!leaving) {
+            refresh(); // Pick up a membership change the requester may have seen first
+        }
+        HashRing current = ring;
+        if (current == null || (!leaving && !current.getVersion().equals(request.getVersion()))) {
+            return null;
+        }
+        List<GeneratorState> states = new ArrayList<>();
+        if (request.getRequester() == null || request.getRequester().equals(self)
+                || current.member(request.getRequester()) == null) {
+            log.warn("Refused handoff to {}, which is not another member of ring {}", request.getRequester(),
+                current.getVersion());
+            return states;
+        }
+        if (request.getSymbols() != null) {
+            for (String symbol : request.getSymbols()) {
+                if (!leaving && !current.isOwner(request.getRequester(), symbol)) {
+                    continue;
+                }
+                Released held = released.remove(symbol);
+                if (held != null) {
+                    states.add(held.state());
+                }
+            }
+        }
+        if (!states.isEmpty()) {
+            log.info("Handed off {} symbols to {}", states.size(), request.getRequester());
+        }
+        return states;
+    }
+
+    /**
+     * Gets the member owning a symbol.
+     *
+     * @return The owner, or null if sharding is not running
+     */
+    public ClusterMember ownerOf(String symbol) {
+        HashRing current = ring;
+        return current == null ? null : current.ownerOf(symbol);
+    }
+
+    /**
+     * Gets this instance's view of the cluster.
+     *
+     * @return The status, or null if sharding is not running
+     */
+    public ClusterStatus status() {
+        HashRing current = ring;
+        if (current == null) {
+            return null;
+        }
+        return new ClusterStatus(self, current.getVersion(), current.getMembers(), current.getVirtualNodes(),
+            symbols.size(), engine.getGenerators().size(), released.size());
+    }
+
+    /**
+     * Reads the members from the members file if one is configured and present, else from
+     * {@code ohlcv.cluster.members}. Without members this instance runs as a cluster of one.
+     */
+    private List<ClusterMember> loadMembers() {
+        List<ClusterMember> loaded = null;
+        if (membersFile != null && Files.exists(membersFile)) {
+            try {
+                loaded = ClusterMember.parseList(Files.readString(membersFile));
+            } catch (IOException | IllegalArgumentException e) {
+                log.warn("Failed to read cluster members from {}, keeping the current ring", membersFile, e);
+                return ring != null ? ring.getMembers() : List.of(new ClusterMember(self, ""));
+            }
+        }
+        if (loaded == null) {
+            loaded = ClusterMember.parseList(members);
+        }
+        return loaded.isEmpty() ? List.of(new ClusterMember(self, "")) : loaded;
+    }
+
+    private static GeneratorState newer(GeneratorState a, GeneratorState b) {
+        return b.lastTick > a.lastTick ? b : a;
+    }
+}
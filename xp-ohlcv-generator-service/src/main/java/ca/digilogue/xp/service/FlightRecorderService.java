@@ -0,0 +1,201 @@
+package ca.digilogue.xp.service;
+
+import ca.digilogue.xp.jfr.RecordingStatus;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Service layer for JDK Flight Recorder.
+ * Manages a single continuous recording that keeps the last {@code max-age} of events
+ * (including the service's own {@code ca.digilogue.xp.*} events) in a bounded on-disk
+ * buffer, and dumps it to a file on demand, when stopped, or when the JVM exits. Only the
+ * newest {@code max-dumps} files are kept in the dump directory.
+ * <p>
+ * Recordings contain the JVM's environment variables and system properties, including
+ * credentials; treat dump files as secrets.
+ */
+@Service
+public class FlightRecorderService {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightRecorderService.class);
+
+    private static final String RECORDING_NAME = "ohlcv-continuous";
+    private static final DateTimeFormatter FILE_TIMESTAMP =
+        DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneOffset.UTC);
+
+    private final boolean recordOnStartup;
+    private final String defaultSettings;
+    private final Duration maxAge;
+    private final long maxSizeBytes;
+    private final Path dumpDir;
+    private final int maxDumps;
+
+    private Recording recording;
+    private String settings;
+
+    public FlightRecorderService(
+            @Value("${ohlcv.jfr.record-on-startup:false}") boolean recordOnStartup,
+            @Value("${ohlcv.jfr.settings:default}") String defaultSettings,
+            @Value("${ohlcv.jfr.max-age-minutes:30}") long maxAgeMinutes,
+            @Value("${ohlcv.jfr.max-size-mb:250}") long maxSizeMb,
+            @Value("${ohlcv.jfr.dump-dir:recordings}") String dumpDir,
+            @Value("${ohlcv.jfr.max-dumps:5}") int maxDumps) {
+        this.recordOnStartup = recordOnStartup;
+        this.defaultSettings = defaultSettings;
+        this.maxAge = Duration.ofMinutes(maxAgeMinutes);
+        this.maxSizeBytes = maxSizeMb * 1024 * 1024;
+        this.dumpDir = Paths.get(dumpDir);
+        this.maxDumps = Math.max(1, maxDumps);
+    }
+
+    public boolean isRecordOnStartup() {
+        return recordOnStartup;
+    }
+
+    /**
+     * Starts the continuous recording if it is not already running.
+     *
+     * @param settingsName JFR settings to use ("default" for ~1% overhead, "profile" for more detail),
+     *                     or null for the configured default
+     * @return The recording status
+     */
+    public synchronized RecordingStatus start(String settingsName) {
+        if (isRecording()) {
+            return status();
+        }
+        String name = settingsName != null ? settingsName : defaultSettings;
+        closeRecording();
+        try {
+            Files.createDirectories(dumpDir);
+            pruneDumps();
+            Recording started = new Recording(Configuration.getConfiguration(name));
+            started.setName(RECORDING_NAME);
+            started.setToDisk(true);
+            started.setMaxAge(maxAge);
+            started.setMaxSize(maxSizeBytes);
+            started.setDumpOnExit(true);
+            started.setDestination(newDumpPath());
+            started.start();
+            recording = started;
+            settings = name;
+            log.info("Started flight recording '{}' with settings '{}' (max age {}, max size {} MB)",
+                RECORDING_NAME, name, maxAge, maxSizeBytes / (1024 * 1024));
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("Cannot start flight recording with settings: " + name, e);
+        }
+        return status();
+    }
+
+    /**
+     * Stops the recording and writes it to its destination file.
+     *
+     * @return The recording status, with the destination the recording was written to
+     */
+    public synchronized RecordingStatus stop() {
+        if (!isRecording()) {
+            return status();
+        }
+        recording.stop();
+        RecordingStatus stopped = status();
+        log.info("Stopped flight recording '{}', written to {}", RECORDING_NAME, stopped.destination());
+        closeRecording();
+        return stopped;
+    }
+
+    /**
+     * Writes the data retained so far to a new file without stopping the recording.
+     *
+     * @return Path of the dump, or null if no recording is running
+     */
+    public synchronized Path dump() {
+        if (!isRecording()) {
+            return null;
+        }
+        pruneDumps();
+        Path path = newDumpPath();
+        try {
+            recording.dump(path);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to dump flight recording to " + path, e);
+        }
+        log.info("Dumped flight recording '{}' to {}", RECORDING_NAME, path);
+        return path;
+    }
+
+    public synchronized RecordingStatus status() {
+        if (recording == null) {
+            return new RecordingStatus(false, RECORDING_NAME, defaultSettings, null, 0, null);
+        }
+        Path destination = recording.getDestination();
+        return new RecordingStatus(
+            recording.getState() == RecordingState.RUNNING,
+            RECORDING_NAME,
+            settings,
+            recording.getStartTime(),
+            recording.getSize(),
+            destination != null ? destination.toAbsolutePath().toString() : null);
+    }
+
+    private boolean isRecording() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    /**
+     * Deletes the oldest dump files so that a new one keeps at most {@code maxDumps} in the directory.
+     */
+    private void pruneDumps() {
+        List<Path> dumps;
+        try (Stream<Path> files = Files.list(dumpDir)) {
+            // Timestamped names sort oldest first
+            dumps = files
+                .filter(f -> f.getFileName().toString().startsWith("ohlcv-"))
+                .filter(f -> f.getFileName().toString().endsWith(".jfr"))
+                .sorted()
+                .toList();
+        } catch (IOException e) {
+            log.warn("Cannot list flight recording dumps in {}: {}", dumpDir, e.toString());
+            return;
+        }
+        Path active = recording != null ? recording.getDestination() : null;
+        for (int i = 0; i <= dumps.size() - maxDumps; i++) {
+            Path dump = dumps.get(i);
+            if (dump.equals(active)) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(dump);
+                log.info("Deleted old flight recording dump {}", dump);
+            } catch (IOException e) {
+                log.warn("Cannot delete flight recording dump {}: {}", dump, e.toString());
+            }
+        }
+    }
+
+    private Path newDumpPath() {
+        return dumpDir.resolve("ohlcv-" + FILE_TIMESTAMP.format(Instant.now()) + ".jfr");
+    }
+}
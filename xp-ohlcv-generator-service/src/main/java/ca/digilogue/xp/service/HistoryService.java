@@ -0,0 +1,98 @@
+package ca.digilogue.xp.service;
+
+import ca.digilogue.xp.generator.OhlcvCandle;
+import ca.digilogue.xp.store.CompressedCandleSeries;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service layer for the in-memory compressed candle history.
+ * Owns one {@link CompressedCandleSeries} per symbol and serves range queries from it
+ * without going to InfluxDB.
+ */
+@Service
+public class HistoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(HistoryService.class);
+
+    private final boolean enabled;
+    private final int blockSize;
+    private final long retentionMillis;
+    private final double priceScale;
+    private final double volumeScale;
+    private final Map<String, CompressedCandleSeries> series = new ConcurrentHashMap<>();
+
+    public HistoryService(
+            @Value("${ohlcv.history.enabled:false}") boolean enabled,
+            @Value("${ohlcv.history.block-size:3600}") int blockSize,
+            @Value("${ohlcv.history.retention-hours:24}") long retentionHours,
+            @Value("${ohlcv.history.price-scale:0}") double priceScale,
+            @Value("${ohlcv.history.volume-scale:0}") double volumeScale) {
+        this.enabled = enabled;
+        this.blockSize = blockSize;
+        this.retentionMillis = TimeUnit.HOURS.toMillis(retentionHours);
+        this.priceScale = priceScale;
+        this.volumeScale = volumeScale;
+        log.info("Candle history enabled: {} (blockSize: {}, retention: {}h, priceScale: {}, volumeScale: {})",
+            enabled, blockSize, retentionHours, priceScale, volumeScale);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets the history series for a symbol, creating it if needed.
+     *
+     * @param symbol The trading symbol (e.g., "MEGA-USD")
+     * @return The symbol's compressed series
+     */
+    public CompressedCandleSeries seriesFor(String symbol) {
+        return series.computeIfAbsent(symbol,
+            s -> new CompressedCandleSeries(s, blockSize, retentionMillis, priceScale, volumeScale));
+    }
+
+    /**
+     * Gets the retained candles for a symbol within a time range, oldest first.
+     *
+     * @param symbol     The trading symbol
+     * @param fromMillis Start of the range (inclusive, epoch millis)
+     * @param toMillis   End of the range (inclusive, epoch millis)
+     * @param limit      Maximum number of candles to return
+     * @return The candles, or null if the symbol has no history
+     */
+    public List<OhlcvCandle> getHistory(String symbol, long fromMillis, long toMillis, int limit) {
+        CompressedCandleSeries symbolSeries = series.get(symbol);
+        if (symbolSeries == null) {
+            return null;
+        }
+
+        List<OhlcvCandle> candles = new ArrayList<>();
+        symbolSeries.scan(fromMillis, toMillis, (epochMillis, open, high, low, close, volume) -> {
+            candles.add(new OhlcvCandle(symbol, open, high, low, close, volume, epochMillis));
+            return candles.size() < limit;
+        });
+        return candles;
+    }
+
+    /**
+     * Gets the average compressed size per stored value (timestamp plus five OHLCV fields) across all symbols.
+     */
+    public double getBytesPerValue() {
+        long bytes = 0;
+        long candles = 0;
+        for (CompressedCandleSeries symbolSeries : series.values()) {
+            bytes += symbolSeries.getSizeInBytes();
+            candles += symbolSeries.getCandleCount();
+        }
+        return candles == 0 ? 0.0 : (double) bytes / (candles * 6);
+    }
+}
@@ -38,6 +38,22 @@ public class InfluxDbService {
         }
     }
 
+    /**
+     * Writes an OHLCV candle to a specific InfluxDB bucket (e.g. a simulation session's).
+     * 
+     * @param bucket The bucket to write to
+     * @param candle The OHLCV candle to write
+     */
+    public void writeCandle(String bucket, OhlcvCandle candle) {
+        try {
+            influxDbRepository.writeCandle(bucket, candle);
+            log.debug("Successfully wrote candle for symbol: {} to bucket: {}", candle.getSymbol(), bucket);
+        } catch (Exception e) {
+            log.error("Failed to write candle for symbol: {} to bucket: {}", candle.getSymbol(), bucket, e);
+            // Don't throw - allow generator to continue even if one write fails
+        }
+    }
+
     /**
      * Flushes any pending writes to InfluxDB.
      */
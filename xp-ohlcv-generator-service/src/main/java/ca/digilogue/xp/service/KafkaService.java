@@ -0,0 +1,176 @@
+package ca.digilogue.xp.service;
+
+import ca.digilogue.xp.book.BookSnapshot;
+import ca.digilogue.xp.clock.SimulationClock;
+import ca.digilogue.xp.clock.VirtualClock;
+import ca.digilogue.xp.encoding.EncodedSnapshot;
+import ca.digilogue.xp.generator.CandleSnapshot;
+import ca.digilogue.xp.jfr.KafkaCompletionEvent;
+import ca.digilogue.xp.jfr.KafkaSendEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import jdk.jfr.EventType;
+
+/**
+ * Service layer for Kafka operations.
+ * Provides business logic for publishing OHLCV candles collection to Kafka topics. On a
+ * {@link VirtualClock} each publish waits for the broker's acknowledgement, so the collector
+ * holds virtual time back until Kafka has absorbed the tick.
+ */
+@Service
+public class KafkaService {
+
+    private static final Logger log = LoggerFactory.getLogger(KafkaService.class);
+    private static final EventType SEND_EVENT = EventType.getEventType(KafkaSendEvent.class);
+    private static final EventType COMPLETION_EVENT = EventType.getEventType(KafkaCompletionEvent.class);
+
+    private final KafkaTemplate<String, ByteBuffer> kafkaTemplate;
+    private final SnapshotCacheService snapshotCacheService;
+    private final JsonMapper jsonMapper;
+    private final String ohlcvTopic;
+    private final boolean awaitAcks;
+
+    @Autowired
+    public KafkaService(
+            KafkaTemplate<String, ByteBuffer> kafkaTemplate,
+            SnapshotCacheService snapshotCacheService,
+            JsonMapper jsonMapper,
+            SimulationClock clock,
+            @Value("${spring.kafka.topic.ohlcv:ohlcv-topic}") String ohlcvTopic) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.snapshotCacheService = snapshotCacheService;
+        this.jsonMapper = jsonMapper;
+        this.ohlcvTopic = ohlcvTopic;
+        this.awaitAcks = clock instanceof VirtualClock;
+    }
+
+    /**
+     * Publishes the entire collection of OHLCV candles in a snapshot to the Kafka topic as a
+     * single message. The message value is a JSON representation of the Map<String, OhlcvCandle>,
+     * taken from the snapshot cache so it is encoded only once per tick.
+     * 
+     * @param snapshot The snapshot whose candles to publish
+     * @param timestampMillis Kafka record timestamp in epoch milliseconds, so simulated-time runs
+     *                        produce records stamped with simulated time
+     */
+    public void publishCandlesCollection(CandleSnapshot snapshot, long timestampMillis) {
+        if (snapshot == null || snapshot.isEmpty()) {
+            log.debug("No candles to publish, skipping");
+            return;
+        }
+        
+        try {
+            send(ohlcvTopic, snapshotCacheService.collection(snapshot), snapshot.candles().size(), timestampMillis);
+        } catch (Exception e) {
+            log.error("Error publishing candles collection to topic: {}", 
+                ohlcvTopic, e);
+            // Don't throw - allow collector to continue even if one publish fails
+        }
+    }
+
+    /**
+     * Publishes a snapshot that is not the service's own (e.g. a simulation session's) to the
+     * given topic. It is encoded per call, bypassing the snapshot cache.
+     * 
+     * @param topic The topic to publish to
+     * @param snapshot The snapshot whose candles to publish
+     * @param timestampMillis Kafka record timestamp in epoch milliseconds
+     */
+    public void publishCandlesCollection(String topic, CandleSnapshot snapshot, long timestampMillis) {
+        if (snapshot == null || snapshot.isEmpty()) {
+            return;
+        }
+        
+        try {
+            send(topic, snapshotCacheService.encodeCollection(snapshot), snapshot.candles().size(), timestampMillis);
+        } catch (Exception e) {
+            log.error("Error publishing candles collection to topic: {}", topic, e);
+        }
+    }
+
+    /**
+     * Publishes an order book snapshot as JSON, keyed by symbol so each book stays in order on
+     * one partition. May block for up to {@code max.block.ms} while broker metadata is unavailable
+     * or the producer buffer is full, so it must not be called on generator threads.
+     * 
+     * @param topic The topic to publish to
+     * @param snapshot The book snapshot
+     */
+    public void publishBookSnapshot(String topic, BookSnapshot snapshot) {
+        try {
+            ByteBuffer body = ByteBuffer.wrap(jsonMapper.writeValueAsBytes(snapshot));
+            kafkaTemplate.send(topic, null, snapshot.epochMillis(), snapshot.symbol(), body)
+                .whenComplete((result, exception) -> {
+                    if (exception != null) {
+                        log.error("Failed to publish order book snapshot for {} to topic: {}",
+                            snapshot.symbol(), topic, exception);
+                    }
+                });
+        } catch (Exception e) {
+            log.error("Error publishing order book snapshot for {} to topic: {}", snapshot.symbol(), topic, e);
+        }
+    }
+
+    private void send(String topic, EncodedSnapshot encoded, int candleCount, long timestampMillis) {
+        // Use a fixed key for the collection message (or could use timestamp-based key)
+        String key = "ohlcv-collection";
+        // Events are only created while a recording enables them, so sends do not allocate them per tick
+        KafkaCompletionEvent completion = COMPLETION_EVENT.isEnabled() ? new KafkaCompletionEvent() : null;
+        if (completion != null) {
+            completion.begin();
+        }
+        KafkaSendEvent send = SEND_EVENT.isEnabled() ? new KafkaSendEvent() : null;
+        if (send != null) {
+            send.begin();
+        }
+        CompletableFuture<SendResult<String, ByteBuffer>> future = 
+            kafkaTemplate.send(topic, null, timestampMillis, key, encoded.body().duplicate());
+        if (send != null && send.shouldCommit()) {
+            send.topic = topic;
+            send.batchSize = candleCount;
+            send.commit();
+        }
+        
+        future.whenComplete((result, exception) -> {
+            if (completion != null) {
+                completion.end();
+            }
+            if (completion != null && completion.shouldCommit()) {
+                completion.topic = topic;
+                completion.batchSize = candleCount;
+                completion.success = exception == null;
+                if (result != null && result.getRecordMetadata() != null) {
+                    completion.partition = result.getRecordMetadata().partition();
+                }
+                completion.commit();
+            }
+            if (exception == null) {
+                log.debug("Successfully published candles collection ({} symbols) to topic: {}", 
+                    candleCount, topic);
+            } else {
+                log.error("Failed to publish candles collection to topic: {}", 
+                    topic, exception);
+            }
+        });
+
+        if (awaitAcks) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                // Already logged by the completion callback
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
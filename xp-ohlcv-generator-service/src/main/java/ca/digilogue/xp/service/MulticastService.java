@@ -0,0 +1,144 @@
+package ca.digilogue.xp.service;
+
+import ca.digilogue.xp.generator.CandleSnapshot;
+import ca.digilogue.xp.multicast.CandlePacket;
+import ca.digilogue.xp.multicast.MulticastPublisher;
+import ca.digilogue.xp.multicast.MulticastStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+
+/**
+ * Service layer for the UDP multicast candle feed.
+ * Sends every collected snapshot as fixed-layout binary packets and serves retransmissions
+ * of recent packets to receivers that detected a gap.
+ */
+@Service
+public class MulticastService {
+
+    private static final Logger log = LoggerFactory.getLogger(MulticastService.class);
+
+    /**
+     * Maximum number of packets returned by a single retransmit request.
+     */
+    public static final int MAX_RETRANSMIT = 1024;
+
+    private final boolean enabled;
+    private final String group;
+    private final int port;
+    private final String interfaceName;
+    private final int ttl;
+    private final int retainPackets;
+
+    private volatile MulticastPublisher publisher;
+
+    public MulticastService(
+            @Value("${ohlcv.multicast.enabled:false}") boolean enabled,
+            @Value("${ohlcv.multicast.group:239.255.10.1}") String group,
+            @Value("${ohlcv.multicast.port:40100}") int port,
+            @Value("${ohlcv.multicast.interface:}") String interfaceName,
+            @Value("${ohlcv.multicast.ttl:1}") int ttl,
+            @Value("${ohlcv.multicast.retain-packets:8192}") int retainPackets) {
+        this.enabled = enabled;
+        this.group = group;
+        this.port = port;
+        this.interfaceName = interfaceName;
+        this.ttl = ttl;
+        this.retainPackets = retainPackets;
+    }
+
+    /**
+     * Opens the multicast socket if the feed is enabled. The feed is not started if any symbol
+     * does not fit the packet's fixed symbol field, rather than sending corrupted identities.
+     *
+     * @param symbols Every symbol that may be published
+     */
+    public synchronized void start(Collection<String> symbols) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            symbols.forEach(CandlePacket::checkSymbol);
+        } catch (IllegalArgumentException e) {
+            log.error("Multicast candle feed not started: {}", e.getMessage());
+            return;
+        }
+        try {
+            publisher = MulticastPublisher.open(group, port, interfaceName, ttl, retainPackets);
+            log.info("Multicast candle feed publishing to {}:{} (interface: {}, session: {})",
+                group, port, interfaceName.isBlank() ? "default" : interfaceName, publisher.getSession());
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Failed to open multicast candle feed on {}:{}", group, port, e);
+        }
+    }
+
+    /**
+     * Sends a snapshot's candles. Called by the collector once per tick.
+     *
+     * @param snapshot The snapshot to send
+     */
+    public void publish(CandleSnapshot snapshot) {
+        MulticastPublisher current = publisher;
+        if (current == null) {
+            return;
+        }
+        try {
+            current.publish(snapshot.tick(), snapshot.candles().values());
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Error sending multicast packets for tick {}", snapshot.tick(), e);
+        }
+    }
+
+    /**
+     * Gets the feed state, or null if the feed is not running.
+     */
+    public MulticastStatus status() {
+        MulticastPublisher current = publisher;
+        if (current == null) {
+            return null;
+        }
+        return new MulticastStatus(group, port, current.getSession(), current.getLastSequence(),
+            current.getOldestRetained());
+    }
+
+    /**
+     * Gets retained packets {@code from..to} (inclusive), back to back.
+     *
+     * @return The packets (possibly fewer than requested if the range extends past the last packet sent),
+     *         or null if {@code from} is no longer retained or the feed is not running
+     */
+    public byte[] retransmit(long from, long to) {
+        MulticastPublisher current = publisher;
+        if (current == null) {
+            return null;
+        }
+        long last = Math.min(to, current.getLastSequence());
+        if (from > last) {
+            return new byte[0];
+        }
+        long count = Math.min(last - from + 1, MAX_RETRANSMIT);
+        ByteBuffer out = ByteBuffer.allocate((int) count * CandlePacket.MAX_PACKET_SIZE);
+        if (current.copyPackets(from, from + count - 1, out) < 0) {
+            return null;
+        }
+        byte[] packets = new byte[out.position()];
+        out.flip().get(packets);
+        return packets;
+    }
+
+    public synchronized void stop() {
+        if (publisher != null) {
+            try {
+                publisher.close();
+            } catch (IOException e) {
+                log.warn("Error closing multicast candle feed", e);
+            }
+            publisher = null;
+        }
+    }
+}
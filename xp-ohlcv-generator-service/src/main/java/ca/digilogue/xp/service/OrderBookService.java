@@ -0,0 +1,114 @@
+package ca.digilogue.xp.service;
+
+import ca.digilogue.xp.book.BookListener;
+import ca.digilogue.xp.book.BookSnapshot;
+import ca.digilogue.xp.book.BookUpdate;
+import ca.digilogue.xp.book.BookUpdateBuffer;
+import ca.digilogue.xp.config.OrderBookSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Service layer for synthetic order books.
+ * Keeps the latest snapshot and a bounded buffer of recent level updates per symbol, so
+ * clients can load a snapshot and then apply the updates that followed it, and publishes
+ * snapshots to Kafka when {@code ohlcv.book.topic} is set.
+ * <p>
+ * Snapshots arrive on generator threads, which must never wait for Kafka, so they are
+ * published from a single background thread. Only the newest unpublished snapshot of each
+ * symbol is kept, so a slow or unreachable broker costs skipped snapshots, not memory or ticks.
+ */
+@Service
+public class OrderBookService implements BookListener {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderBookService.class);
+
+    private final OrderBookSettings settings;
+    private final KafkaService kafkaService;
+    private final Map<String, BookSnapshot> latestSnapshots = new ConcurrentHashMap<>();
+    private final Map<String, BookUpdateBuffer> updates = new ConcurrentHashMap<>();
+    private final Map<String, BookSnapshot> unpublished = new ConcurrentHashMap<>();
+    private final ExecutorService publisher;
+
+    public OrderBookService(OrderBookSettings settings, KafkaService kafkaService) {
+        this.settings = settings;
+        this.kafkaService = kafkaService;
+        this.publisher = settings.getTopic().isBlank() ? null : Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "book-publisher");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Gets the listener a symbol's order book publishes to, creating its update buffer if needed.
+     *
+     * @param symbol The trading symbol (e.g., "MEGA-USD")
+     * @return The listener recording the book's updates and snapshots
+     */
+    public BookListener listenerFor(String symbol) {
+        return updates.computeIfAbsent(symbol, s -> new BookUpdateBuffer(settings.getUpdateBuffer(), this));
+    }
+
+    /**
+     * Level updates are recorded by the per-symbol buffers from {@link #listenerFor(String)}.
+     */
+    @Override
+    public void onLevelUpdate(String symbol, long sequence, boolean bid, double price, double size) {
+        listenerFor(symbol).onLevelUpdate(symbol, sequence, bid, price, size);
+    }
+
+    @Override
+    public void onSnapshot(BookSnapshot snapshot) {
+        latestSnapshots.put(snapshot.symbol(), snapshot);
+        // At most one queued task per symbol; a pending one publishes whichever snapshot is newest
+        if (publisher != null && unpublished.put(snapshot.symbol(), snapshot) == null) {
+            publisher.execute(() -> publish(snapshot.symbol()));
+        }
+        log.debug("Recorded order book snapshot for symbol: {} (sequence {})", snapshot.symbol(), snapshot.sequence());
+    }
+
+    private void publish(String symbol) {
+        BookSnapshot snapshot = unpublished.remove(symbol);
+        if (snapshot != null) {
+            kafkaService.publishBookSnapshot(settings.getTopic(), snapshot);
+        }
+    }
+
+    /**
+     * Gets the latest published snapshot of a symbol's book.
+     *
+     * @param symbol The trading symbol (e.g., "MEGA-USD")
+     * @return The latest snapshot, or null if the symbol has no book
+     */
+    public BookSnapshot getLatestSnapshot(String symbol) {
+        return latestSnapshots.get(symbol);
+    }
+
+    /**
+     * Gets a symbol's level updates after a sequence number, oldest first.
+     *
+     * @param symbol   The trading symbol
+     * @param sequence Sequence of the last update the client has applied (e.g. its snapshot's)
+     * @return The updates, or null if the symbol has no book
+     * @throws IllegalStateException if some of the updates are no longer buffered
+     */
+    public List<BookUpdate> getUpdatesSince(String symbol, long sequence) {
+        BookUpdateBuffer buffer = updates.get(symbol);
+        if (buffer == null) {
+            return null;
+        }
+        List<BookUpdate> since = buffer.since(sequence);
+        if (since == null) {
+            throw new IllegalStateException("Updates after sequence " + sequence + " are no longer buffered");
+        }
+        return since;
+    }
+}
@@ -0,0 +1,324 @@
+package ca.digilogue.xp.service;
+
+import ca.digilogue.xp.clock.SimulationClock;
+import ca.digilogue.xp.config.GeneratorSettings;
+import ca.digilogue.xp.engine.SymbolSpec;
+import ca.digilogue.xp.generator.CandleSnapshot;
+import ca.digilogue.xp.indicator.IndicatorSpec;
+import ca.digilogue.xp.model.SessionInfo;
+import ca.digilogue.xp.model.SessionRequest;
+import ca.digilogue.xp.price.PriceModels;
+import ca.digilogue.xp.session.SessionScheduler;
+import ca.digilogue.xp.session.SessionSpec;
+import ca.digilogue.xp.session.SimulationSession;
+import ca.digilogue.xp.sink.CandleSink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Service layer for multi-tenant simulation sessions.
+ * Each session is an isolated synthetic market with its own symbols, price models, seed,
+ * Kafka topic and (optionally) InfluxDB bucket. Topics and buckets are always prefixed with
+ * {@code ohlcv.sessions.topic-prefix} / {@code bucket-prefix}, so a session can never write
+ * into the main feed or another session's output. All sessions share one worker pool
+ * ({@link SessionScheduler}), started with the first session, and are held to a per-session
+ * candles-per-second quota.
+ */
+@Service
+public class SessionService {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionService.class);
+
+    private static final Pattern ID_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final SimulationClock clock;
+    private final GeneratorSettings generatorSettings;
+    private final KafkaService kafkaService;
+    private final InfluxDbService influxDbService;
+    private final boolean enabled;
+    private final int workers;
+    private final int sliceSize;
+    private final int maxSessions;
+    private final int maxSymbols;
+    private final int maxIndicatorPeriod;
+    private final long minIntervalMillis;
+    private final double defaultMaxCandlesPerSecond;
+    private final double maxCandlesPerSecond;
+    private final String topicPrefix;
+    private final String bucketPrefix;
+    private final String mainTopic;
+    private final String mainBucket;
+
+    // Where each session's output goes
+    private record Destination(String topic, String bucket) {
+    }
+
+    private final Map<String, Destination> destinations = new ConcurrentHashMap<>();
+    private volatile SessionScheduler scheduler;
+
+    public SessionService(
+            SimulationClock clock,
+            GeneratorSettings generatorSettings,
+            KafkaService kafkaService,
+            InfluxDbService influxDbService,
+            @Value("${ohlcv.sessions.enabled:false}") boolean enabled,
+            @Value("${ohlcv.sessions.workers:0}") int workers,
+            @Value("${ohlcv.sessions.slice-size:64}") int sliceSize,
+            @Value("${ohlcv.sessions.max-sessions:64}") int maxSessions,
+            @Value("${ohlcv.sessions.max-symbols:1000}") int maxSymbols,
+            @Value("${ohlcv.sessions.max-indicator-period:1000}") int maxIndicatorPeriod,
+            @Value("${ohlcv.sessions.min-interval-ms:100}") long minIntervalMillis,
+            @Value("${ohlcv.sessions.default-max-candles-per-second:1000}") double defaultMaxCandlesPerSecond,
+            @Value("${ohlcv.sessions.max-candles-per-second:10000}") double maxCandlesPerSecond,
+            @Value("${ohlcv.sessions.topic-prefix:ohlcv-session-}") String topicPrefix,
+            @Value("${ohlcv.sessions.bucket-prefix:ohlcv_session_}") String bucketPrefix,
+            @Value("${spring.kafka.topic.ohlcv:ohlcv-topic}") String mainTopic,
+            @Value("${influxdb.bucket}") String mainBucket) {
+        if (topicPrefix.isBlank() || bucketPrefix.isBlank()) {
+            throw new IllegalArgumentException("ohlcv.sessions.topic-prefix and bucket-prefix must not be blank");
+        }
+        this.clock = clock;
+        this.generatorSettings = generatorSettings;
+        this.kafkaService = kafkaService;
+        this.influxDbService = influxDbService;
+        this.enabled = enabled;
+        this.workers = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        this.sliceSize = sliceSize;
+        this.maxSessions = maxSessions;
+        this.maxSymbols = maxSymbols;
+        this.maxIndicatorPeriod = maxIndicatorPeriod;
+        this.minIntervalMillis = minIntervalMillis;
+        this.defaultMaxCandlesPerSecond = defaultMaxCandlesPerSecond;
+        this.maxCandlesPerSecond = maxCandlesPerSecond;
+        this.topicPrefix = topicPrefix;
+        this.bucketPrefix = bucketPrefix;
+        this.mainTopic = mainTopic;
+        this.mainBucket = mainBucket;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Creates a session and starts generating on its next tick.
+     *
+     * @param request The session definition
+     * @return The new session's info
+     * @throws IllegalArgumentException if the request is invalid or exceeds a limit
+     * @throws IllegalStateException    if the session id is taken or the session limit is reached
+     */
+    public synchronized SessionInfo create(SessionRequest request) {
+        // Check everything the request sizes before allocating anything for it
+        String id = request.getId() == null || request.getId().isBlank()
+            ? UUID.randomUUID().toString().substring(0, 8)
+            : request.getId();
+        if (!ID_PATTERN.matcher(id).matches()) {
+            throw new IllegalArgumentException("Session id must match " + ID_PATTERN.pattern());
+        }
+        List<SymbolSpec> symbols = symbolsOf(request);
+        List<IndicatorSpec> indicators = request.getIndicators() == null
+            ? generatorSettings.getIndicators()
+            : IndicatorSpec.parseList(request.getIndicators(), maxIndicatorPeriod);
+
+        if (scheduler == null) {
+            scheduler = new SessionScheduler(clock, workers, sliceSize);
+            scheduler.start();
+        }
+        if (scheduler.size() >= maxSessions) {
+            throw new IllegalStateException("Session limit reached (" + maxSessions + ")");
+        }
+
+        long intervalMillis = request.getIntervalMs() != null
+            ? request.getIntervalMs()
+            : generatorSettings.getOptions().intervalMillis();
+        if (intervalMillis < minIntervalMillis) {
+            throw new IllegalArgumentException("intervalMs must be at least " + minIntervalMillis);
+        }
+
+        double quota = request.getMaxCandlesPerSecond() != null
+            ? request.getMaxCandlesPerSecond()
+            : defaultMaxCandlesPerSecond;
+        if (maxCandlesPerSecond > 0 && (quota <= 0 || quota > maxCandlesPerSecond)) {
+            throw new IllegalArgumentException("maxCandlesPerSecond must be in (0, " + maxCandlesPerSecond + "]");
+        }
+
+        String model = request.getModel() == null || request.getModel().isBlank()
+            ? PriceModels.DEFAULT_SPEC
+            : request.getModel();
+        long seed = request.getSeed() != null ? request.getSeed() : ThreadLocalRandom.current().nextLong();
+
+        SessionSpec spec = new SessionSpec(id, symbols, model, request.getModels(), seed, intervalMillis, quota,
+            indicators);
+
+        // Requested names are only suffixes, so sessions stay out of the main feed
+        String topic = topicPrefix + (request.getTopic() == null || request.getTopic().isBlank()
+            ? id
+            : checkName("topic", request.getTopic()));
+        String bucket = request.getBucket() == null || request.getBucket().isBlank()
+            ? null
+            : bucketPrefix + checkName("bucket", request.getBucket());
+        if (topic.equals(mainTopic) || mainBucket.equals(bucket)) {
+            throw new IllegalArgumentException("Sessions cannot write to the main topic or bucket");
+        }
+        CandleSink candleSink = bucket == null
+            ? CandleSink.NONE
+            : candle -> influxDbService.writeCandle(bucket, candle);
+
+        if (scheduler.get(id) != null) {
+            throw new IllegalStateException("Session already exists: " + id);
+        }
+        for (Destination used : destinations.values()) {
+            if (used.topic().equals(topic) || (bucket != null && bucket.equals(used.bucket()))) {
+                throw new IllegalStateException("Topic or bucket already used by another session");
+            }
+        }
+        Destination destination = new Destination(topic, bucket);
+        destinations.put(id, destination);
+
+        // Creates the generators, so malformed price models are rejected here
+        SimulationSession session;
+        try {
+            session = scheduler.create(spec, candleSink,
+                (snapshot, timestampMillis) -> kafkaService.publishCandlesCollection(topic, snapshot, timestampMillis));
+        } catch (RuntimeException e) {
+            destinations.remove(id);
+            throw e;
+        }
+
+        log.info("Created simulation session {} ({} symbols, interval {} ms, quota {}/s, topic: {}, bucket: {})",
+            id, symbols.size(), intervalMillis, quota, topic, bucket);
+        return infoOf(session, destination);
+    }
+
+    private static String checkName(String field, String name) {
+        if (!ID_PATTERN.matcher(name).matches()) {
+            throw new IllegalArgumentException(field + " must match " + ID_PATTERN.pattern());
+        }
+        return name;
+    }
+
+    private List<SymbolSpec> symbolsOf(SessionRequest request) {
+        int explicit = request.getSymbols() == null ? 0 : request.getSymbols().size();
+        int synthetic = request.getSyntheticSymbols();
+        if (synthetic < 0 || explicit > maxSymbols || synthetic > maxSymbols - explicit) {
+            throw new IllegalArgumentException("A session may have at most " + maxSymbols
+                + " symbols, including a non-negative number of syntheticSymbols");
+        }
+
+        List<SymbolSpec> symbols = new ArrayList<>(explicit + synthetic);
+        if (request.getSymbols() != null) {
+            symbols.addAll(request.getSymbols());
+        }
+        for (int i = 1; i <= synthetic; i++) {
+            symbols.add(new SymbolSpec(String.format("SYN%05d-USD", i), 100.0, 2.0));
+        }
+        if (symbols.isEmpty()) {
+            throw new IllegalArgumentException("A session needs at least one symbol");
+        }
+        Set<String> names = new HashSet<>();
+        for (SymbolSpec symbol : symbols) {
+            if (symbol.symbol() == null || symbol.symbol().isBlank() || !names.add(symbol.symbol())) {
+                throw new IllegalArgumentException("Symbols must be named and unique: " + symbol.symbol());
+            }
+            if (!(symbol.basePrice() > 0) || !(symbol.volatility() >= 0)) {
+                throw new IllegalArgumentException("Invalid base price or volatility for " + symbol.symbol());
+            }
+        }
+        return symbols;
+    }
+
+    /**
+     * Gets a session's info.
+     *
+     * @return The info, or null if the session does not exist
+     */
+    public SessionInfo get(String id) {
+        SessionScheduler current = scheduler;
+        return current == null ? null : infoOf(current.get(id));
+    }
+
+    public List<SessionInfo> list() {
+        SessionScheduler current = scheduler;
+        if (current == null) {
+            return List.of();
+        }
+        List<SessionInfo> sessions = new ArrayList<>();
+        for (SimulationSession session : current.getSessions()) {
+            SessionInfo info = infoOf(session);
+            if (info != null) {
+                sessions.add(info);
+            }
+        }
+        return sessions;
+    }
+
+    public SessionInfo pause(String id) {
+        SessionScheduler current = scheduler;
+        return current == null ? null : infoOf(current.pause(id));
+    }
+
+    public SessionInfo resume(String id) {
+        SessionScheduler current = scheduler;
+        return current == null ? null : infoOf(current.resume(id));
+    }
+
+    /**
+     * Destroys a session.
+     *
+     * @return true if the session existed
+     */
+    public boolean destroy(String id) {
+        SessionScheduler current = scheduler;
+        if (current == null || current.destroy(id) == null) {
+            return false;
+        }
+        destinations.remove(id);
+        log.info("Destroyed simulation session {}", id);
+        return true;
+    }
+
+    /**
+     * Gets the latest tick-consistent snapshot of a session.
+     *
+     * @return The snapshot, or null if the session does not exist
+     */
+    public CandleSnapshot getLatestSnapshot(String id) {
+        SessionScheduler current = scheduler;
+        SimulationSession session = current == null ? null : current.get(id);
+        return session == null ? null : session.getLatestSnapshot();
+    }
+
+    /**
+     * Stops the shared worker pool (called on shutdown).
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.stop();
+        }
+    }
+
+    private SessionInfo infoOf(SimulationSession session) {
+        if (session == null) {
+            return null;
+        }
+        Destination destination = destinations.get(session.getId());
+        return destination == null ? null : infoOf(session, destination);
+    }
+
+    private SessionInfo infoOf(SimulationSession session, Destination destination) {
+        return new SessionInfo(session.status(), destination.topic(), destination.bucket());
+    }
+}
@@ -0,0 +1,83 @@
+package ca.digilogue.xp.service;
+
+import ca.digilogue.xp.shm.SharedCandleSlot;
+import ca.digilogue.xp.shm.SharedCandleWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Service layer for the shared-memory latest-candle feed.
+ * Owns the {@link SharedCandleWriter} and allocates one slot per generator, so processes on
+ * the same host can read the latest candles with {@link ca.digilogue.xp.shm.SharedCandleReader}
+ * instead of going through Kafka or HTTP.
+ */
+@Service
+public class SharedMemoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(SharedMemoryService.class);
+
+    private final boolean enabled;
+    private final Path path;
+    private final int capacity;
+
+    private SharedCandleWriter writer;
+    private final Map<String, SharedCandleSlot> slots = new HashMap<>();
+
+    public SharedMemoryService(
+            @Value("${ohlcv.shm.enabled:false}") boolean enabled,
+            @Value("${ohlcv.shm.path:/dev/shm/xp-ohlcv-candles}") String path,
+            @Value("${ohlcv.shm.capacity:4096}") int capacity) {
+        this.enabled = enabled;
+        this.path = Paths.get(path);
+        this.capacity = capacity;
+    }
+
+    /**
+     * Creates the feed file. Must be called before slots are allocated.
+     *
+     * @param intervalMillis Candle interval, recorded in the feed header for readers
+     */
+    public synchronized void open(long intervalMillis) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            writer = SharedCandleWriter.create(path, capacity, intervalMillis);
+            log.info("Shared memory candle feed created at {} (capacity: {} symbols)", path, capacity);
+        } catch (IOException e) {
+            log.error("Failed to create shared memory candle feed: {}", path, e);
+        }
+    }
+
+    /**
+     * Allocates the feed slot for a symbol. A symbol that is removed and added again keeps its slot.
+     *
+     * @param symbol The trading symbol (e.g., "MEGA-USD")
+     * @return The slot, or null if the feed is disabled, unavailable or full
+     */
+    public synchronized SharedCandleSlot slotFor(String symbol) {
+        if (writer == null) {
+            return null;
+        }
+        SharedCandleSlot slot = slots.get(symbol);
+        if (slot != null) {
+            return slot;
+        }
+        try {
+            slot = writer.allocate(symbol);
+            slots.put(symbol, slot);
+            return slot;
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            log.warn("No shared memory slot for {}: {}", symbol, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package ca.digilogue.xp.service;
+
+import ca.digilogue.xp.App;
+import ca.digilogue.xp.encoding.BinaryCandleEncoder;
+import ca.digilogue.xp.encoding.CandleFormat;
+import ca.digilogue.xp.encoding.EncodedSnapshot;
+import ca.digilogue.xp.generator.CandleSnapshot;
+import ca.digilogue.xp.generator.OhlcvCandle;
+import ca.digilogue.xp.jfr.SnapshotEncodeEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import jdk.jfr.EventType;
+
+/**
+ * Service layer for encoded candle responses.
+ * Encodes each tick's snapshot once per format and symbol subset and shares the bytes
+ * (in read-only heap buffers) across every HTTP response and the Kafka publish for
+ * that tick, instead of serializing the same candles for every reader. The cache is
+ * dropped wholesale when the collector publishes the next snapshot.
+ */
+@Service
+public class SnapshotCacheService {
+
+    private static final String SNAPSHOT_VIEW = "snapshot";
+    private static final String CANDLE_VIEW = "candle";
+    private static final String COLLECTION_VIEW = "collection";
+    private static final EventType ENCODE_EVENT = EventType.getEventType(SnapshotEncodeEvent.class);
+
+    private final JsonMapper jsonMapper;
+    private final int maxEntriesPerTick;
+    private volatile Generation current = new Generation(CandleSnapshot.EMPTY);
+
+    /**
+     * Encodings of one snapshot, keyed by format, view and symbol subset.
+     */
+    private static final class Generation {
+        final CandleSnapshot snapshot;
+        final Map<String, EncodedSnapshot> entries = new ConcurrentHashMap<>();
+
+        Generation(CandleSnapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+    }
+
+    public SnapshotCacheService(
+            JsonMapper jsonMapper,
+            @Value("${ohlcv.cache.max-entries-per-tick:256}") int maxEntriesPerTick) {
+        this.jsonMapper = jsonMapper;
+        this.maxEntriesPerTick = maxEntriesPerTick;
+    }
+
+    /**
+     * Gets the latest snapshot encoded in the given format, served as by {@code GET /candles}.
+     *
+     * @param format  The wire format
+     * @param symbols Symbols to include, or null/empty for all of them
+     * @return The encoded snapshot
+     */
+    public EncodedSnapshot snapshot(CandleFormat format, Collection<String> symbols) {
+        Generation generation = generationFor(App.getLatestSnapshot());
+        CandleSnapshot snapshot = generation.snapshot;
+        if (symbols == null || symbols.isEmpty()) {
+            return cached(generation, format, SNAPSHOT_VIEW, "*", snapshot, snapshot.candles().values());
+        }
+
+        // Normalize the subset so equivalent requests share an entry
+        TreeSet<String> normalized = new TreeSet<>(symbols);
+        Map<String, OhlcvCandle> subset = new LinkedHashMap<>();
+        for (String symbol : normalized) {
+            OhlcvCandle candle = snapshot.candles().get(symbol);
+            if (candle != null) {
+                subset.put(symbol, candle);
+            }
+        }
+        return cached(generation, format, SNAPSHOT_VIEW, String.join(",", subset.keySet()),
+            new CandleSnapshot(snapshot.tick(), Collections.unmodifiableMap(subset)), subset.values());
+    }
+
+    /**
+     * Gets the latest candle of one symbol encoded in the given format, served as by
+     * {@code GET /candles/{symbol}}.
+     *
+     * @param format The wire format
+     * @param symbol The trading symbol (e.g., "MEGA-USD")
+     * @return The encoded candle, or null if the latest snapshot does not contain the symbol
+     */
+    public EncodedSnapshot candle(CandleFormat format, String symbol) {
+        Generation generation = generationFor(App.getLatestSnapshot());
+        OhlcvCandle candle = generation.snapshot.candles().get(symbol);
+        if (candle == null) {
+            return null;
+        }
+        return cached(generation, format, CANDLE_VIEW, symbol, candle, List.of(candle));
+    }
+
+    /**
+     * Gets a snapshot's candle map encoded as JSON, the payload published to Kafka.
+     *
+     * @param snapshot The snapshot being published
+     * @return The encoded candle map
+     */
+    public EncodedSnapshot collection(CandleSnapshot snapshot) {
+        return cached(generationFor(snapshot), CandleFormat.JSON, COLLECTION_VIEW, "*", snapshot.candles(),
+            snapshot.candles().values());
+    }
+
+    /**
+     * Encodes a snapshot's candle map as JSON without caching it, for snapshots that are not
+     * the service's own (e.g. a simulation session's) and must not displace its cache.
+     *
+     * @param snapshot The snapshot being published
+     * @return The encoded candle map
+     */
+    public EncodedSnapshot encodeCollection(CandleSnapshot snapshot) {
+        return encode(snapshot.tick(), CandleFormat.JSON, COLLECTION_VIEW, snapshot.candles(),
+            snapshot.candles().values(), false);
+    }
+
+    /**
+     * Gets the cache generation for a snapshot, starting a new one when the collector has
+     * published a newer snapshot. Older snapshots get a throwaway generation.
+     */
+    private Generation generationFor(CandleSnapshot snapshot) {
+        Generation generation = current;
+        if (generation.snapshot == snapshot) {
+            return generation;
+        }
+        synchronized (this) {
+            generation = current;
+            if (generation.snapshot == snapshot) {
+                return generation;
+            }
+            Generation next = new Generation(snapshot);
+            if (snapshot.tick() >= generation.snapshot.tick()) {
+                current = next;
+            }
+            return next;
+        }
+    }
+
+    /**
+     * Gets an encoding from the generation, encoding it on first use.
+     *
+     * @param jsonValue The object serialized for JSON
+     * @param candles   The candles written for binary
+     */
+    private EncodedSnapshot cached(Generation generation, CandleFormat format, String view, String symbols,
+                                   Object jsonValue, Collection<OhlcvCandle> candles) {
+        String key = format.name() + '|' + view + '|' + symbols;
+        EncodedSnapshot encoded = generation.entries.get(key);
+        if (encoded != null) {
+            return encoded;
+        }
+        long tick = generation.snapshot.tick();
+        if (generation.entries.size() >= maxEntriesPerTick) {
+            return encode(tick, format, view, jsonValue, candles, false);
+        }
+        return generation.entries.computeIfAbsent(key, k -> encode(tick, format, view, jsonValue, candles, true));
+    }
+
+    private EncodedSnapshot encode(long tick, CandleFormat format, String view, Object jsonValue,
+                                   Collection<OhlcvCandle> candles, boolean cached) {
+        SnapshotEncodeEvent event = ENCODE_EVENT.isEnabled() ? new SnapshotEncodeEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+
+        ByteBuffer body;
+        if (format == CandleFormat.BINARY) {
+            body = BinaryCandleEncoder.encode(tick, candles);
+        } else {
+            byte[] json = jsonMapper.writeValueAsBytes(jsonValue);
+            body = ByteBuffer.wrap(json);
+        }
+
+        // Strong tag: identical bytes for the same tick always get the same tag
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+        String etag = "\"" + tick + "-" + Long.toHexString(crc.getValue()) + "\"";
+
+        if (event != null && event.shouldCommit()) {
+            event.format = format.name();
+            event.view = view;
+            event.tick = tick;
+            event.batchSize = candles.size();
+            event.bytes = body.remaining();
+            event.cached = cached;
+            event.commit();
+        }
+        return new EncodedSnapshot(tick, format, etag, body.asReadOnlyBuffer());
+    }
+}
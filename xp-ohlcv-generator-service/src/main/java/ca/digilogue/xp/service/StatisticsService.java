@@ -0,0 +1,174 @@
+package ca.digilogue.xp.service;
+
+import ca.digilogue.xp.model.CandleStatsSketches;
+import ca.digilogue.xp.model.CandleStatsSummary;
+import ca.digilogue.xp.model.DistributionSummary;
+import ca.digilogue.xp.stats.CandleStatistics;
+import ca.digilogue.xp.stats.QuantileSketch;
+import ca.digilogue.xp.stats.SketchData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service layer for the streaming candle distributions.
+ * Owns one {@link CandleStatistics} per symbol, updated by its generator on every candle, and
+ * merges them across symbols on request. Exported sketches merge exactly, so the distributions
+ * of several instances can be combined with {@link #merge(List)}.
+ */
+@Service
+public class StatisticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(StatisticsService.class);
+
+    private static final double[] QUANTILES = {0.001, 0.01, 0.05, 0.25, 0.5, 0.75, 0.95, 0.99, 0.999};
+    private static final String[] QUANTILE_NAMES = {"p0.1", "p1", "p5", "p25", "p50", "p75", "p95", "p99", "p99.9"};
+
+    private final boolean enabled;
+    private final double relativeAccuracy;
+    private final int maxBuckets;
+    private final Map<String, CandleStatistics> statistics = new ConcurrentHashMap<>();
+
+    /**
+     * Statistics merged across some symbols.
+     */
+    private record Merged(int symbols, CandleStatistics statistics) {
+    }
+
+    public StatisticsService(
+            @Value("${ohlcv.stats.enabled:true}") boolean enabled,
+            @Value("${ohlcv.stats.relative-accuracy:0.01}") double relativeAccuracy,
+            @Value("${ohlcv.stats.max-buckets:512}") int maxBuckets) {
+        this.enabled = enabled;
+        this.relativeAccuracy = relativeAccuracy;
+        this.maxBuckets = maxBuckets;
+        new QuantileSketch(relativeAccuracy, maxBuckets); // Fail at startup on an invalid configuration
+        log.info("Candle statistics enabled: {} (relativeAccuracy: {}, maxBuckets: {})",
+            enabled, relativeAccuracy, maxBuckets);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets the statistics for a symbol, creating them if needed.
+     *
+     * @param symbol The trading symbol (e.g., "MEGA-USD")
+     * @return The symbol's statistics
+     */
+    public CandleStatistics statisticsFor(String symbol) {
+        return statistics.computeIfAbsent(symbol, s -> new CandleStatistics(relativeAccuracy, maxBuckets));
+    }
+
+    /**
+     * Summarizes the distributions merged across symbols.
+     *
+     * @param symbols The symbols to include, or null for all
+     * @return The summary, or null if none of the symbols have statistics
+     */
+    public CandleStatsSummary summary(Collection<String> symbols) {
+        Merged merged = mergeLocal(symbols);
+        return merged == null ? null : summarize(merged);
+    }
+
+    /**
+     * Exports the sketches merged across symbols, for merging with other instances.
+     *
+     * @param symbols The symbols to include, or null for all
+     * @return The sketches, or null if none of the symbols have statistics
+     */
+    public CandleStatsSketches sketches(Collection<String> symbols) {
+        Merged merged = mergeLocal(symbols);
+        if (merged == null) {
+            return null;
+        }
+        CandleStatistics stats = merged.statistics();
+        return new CandleStatsSketches(merged.symbols(), stats.getLogReturns().toData(),
+            stats.getLogRanges().toData(), stats.getVolumes().toData());
+    }
+
+    /**
+     * Merges sketches exported by several instances and summarizes the result.
+     *
+     * @param exported Sketches from {@link #sketches(Collection)}, e.g. one per instance
+     * @return The summary
+     * @throws IllegalArgumentException If the sketches are missing or inconsistent, or were not built with this
+     *                                  instance's relative accuracy and max buckets
+     */
+    public CandleStatsSummary merge(List<CandleStatsSketches> exported) {
+        if (exported == null || exported.isEmpty()) {
+            throw new IllegalArgumentException("No sketches to merge");
+        }
+        CandleStatistics merged = null;
+        int symbols = 0;
+        for (CandleStatsSketches sketches : exported) {
+            if (sketches == null || sketches.getLogReturn() == null || sketches.getLogRange() == null
+                    || sketches.getVolume() == null) {
+                throw new IllegalArgumentException("Sketches must include logReturn, logRange and volume");
+            }
+            CandleStatistics stats = new CandleStatistics(
+                rebuild(sketches.getLogReturn()),
+                rebuild(sketches.getLogRange()),
+                rebuild(sketches.getVolume()));
+            if (merged == null) {
+                merged = stats;
+            } else {
+                merged.merge(stats);
+            }
+            symbols += sketches.getSymbols();
+        }
+        return summarize(new Merged(symbols, merged));
+    }
+
+    /**
+     * Rebuilds a received sketch, accepting only this instance's configuration so that callers
+     * cannot choose how much memory the merge allocates.
+     */
+    private QuantileSketch rebuild(SketchData data) {
+        if (data.relativeAccuracy() != relativeAccuracy || data.maxBuckets() != maxBuckets) {
+            throw new IllegalArgumentException("Sketches must use relativeAccuracy " + relativeAccuracy
+                + " and maxBuckets " + maxBuckets);
+        }
+        return QuantileSketch.fromData(data);
+    }
+
+    private Merged mergeLocal(Collection<String> symbols) {
+        Collection<String> selected = symbols == null ? statistics.keySet() : symbols;
+        CandleStatistics merged = new CandleStatistics(relativeAccuracy, maxBuckets);
+        int count = 0;
+        for (String symbol : selected) {
+            CandleStatistics symbolStats = statistics.get(symbol);
+            if (symbolStats != null) {
+                merged.merge(symbolStats);
+                count++;
+            }
+        }
+        return count == 0 ? null : new Merged(count, merged);
+    }
+
+    private static CandleStatsSummary summarize(Merged merged) {
+        CandleStatistics stats = merged.statistics();
+        QuantileSketch logReturns = stats.getLogReturns();
+        return new CandleStatsSummary(merged.symbols(), logReturns.getRelativeAccuracy(),
+            summarize(logReturns), summarize(stats.getLogRanges()), summarize(stats.getVolumes()));
+    }
+
+    private static DistributionSummary summarize(QuantileSketch sketch) {
+        if (sketch.getCount() == 0) {
+            return new DistributionSummary(0, null, null, null, Map.of());
+        }
+        Map<String, Double> quantiles = new LinkedHashMap<>();
+        for (int i = 0; i < QUANTILES.length; i++) {
+            quantiles.put(QUANTILE_NAMES[i], sketch.quantile(QUANTILES[i]));
+        }
+        return new DistributionSummary(sketch.getCount(), sketch.getMin(), sketch.getMax(), sketch.getMean(), quantiles);
+    }
+}
@@ -0,0 +1,98 @@
+package ca.digilogue.xp.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * In-process stand-in for the InfluxDB 2.x HTTP API. Accepts {@code POST /api/v2/write}
+ * line-protocol batches, records the write latency of every point from its timestamp,
+ * and answers the health and ping endpoints the client may probe.
+ */
+class InfluxWriteStandIn implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final LatencyRecorder latencies = new LatencyRecorder();
+
+    InfluxWriteStandIn() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/v2/write", this::handleWrite);
+        server.createContext("/ping", exchange -> respond(exchange, 204));
+        server.createContext("/health", exchange -> respond(exchange, 200));
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    LatencyRecorder latencies() {
+        return latencies;
+    }
+
+    private void handleWrite(HttpExchange exchange) throws IOException {
+        long receivedMillis = System.currentTimeMillis();
+        String precision = queryParam(exchange.getRequestURI().getRawQuery(), "precision");
+        boolean gzip = "gzip".equalsIgnoreCase(exchange.getRequestHeaders().getFirst("Content-Encoding"));
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                gzip ? new GZIPInputStream(exchange.getRequestBody()) : exchange.getRequestBody(),
+                StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int lastSpace = line.lastIndexOf(' ');
+                if (lastSpace < 0) {
+                    continue;
+                }
+                long timestampMillis = toMillis(Long.parseLong(line.substring(lastSpace + 1).trim()), precision);
+                latencies.record(receivedMillis - timestampMillis, 1);
+            }
+        }
+        respond(exchange, 204);
+    }
+
+    private static long toMillis(long timestamp, String precision) {
+        if (precision == null) {
+            return timestamp / 1_000_000; // Default precision is nanoseconds
+        }
+        return switch (precision) {
+            case "s" -> timestamp * 1000;
+            case "ms" -> timestamp;
+            case "us" -> timestamp / 1000;
+            default -> timestamp / 1_000_000;
+        };
+    }
+
+    private static String queryParam(String query, String name) {
+        if (query == null) {
+            return null;
+        }
+        for (String param : query.split("&")) {
+            if (param.startsWith(name + "=")) {
+                return param.substring(name.length() + 1);
+            }
+        }
+        return null;
+    }
+
+    private static void respond(HttpExchange exchange, int status) throws IOException {
+        exchange.sendResponseHeaders(status, -1);
+        exchange.close();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,61 @@
+package ca.digilogue.xp.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Collects latency samples (in milliseconds) while recording is enabled and reports percentiles.
+ */
+class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int count;
+    private long events;
+    private volatile boolean recording;
+
+    void start() {
+        synchronized (this) {
+            count = 0;
+            events = 0;
+        }
+        recording = true;
+    }
+
+    void stop() {
+        recording = false;
+    }
+
+    /**
+     * Records one sample per event, weighted by the number of candles it carried.
+     */
+    synchronized void record(long latencyMillis, int candles) {
+        if (!recording) {
+            return;
+        }
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = latencyMillis;
+        events += candles;
+    }
+
+    synchronized long events() {
+        return events;
+    }
+
+    synchronized int sampleCount() {
+        return count;
+    }
+
+    /**
+     * Gets a percentile (0-100) of the recorded latencies, or -1 if nothing was recorded.
+     */
+    synchronized long percentile(double percentile) {
+        if (count == 0) {
+            return -1;
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        return sorted[Math.max(0, Math.min(index, count - 1))];
+    }
+}
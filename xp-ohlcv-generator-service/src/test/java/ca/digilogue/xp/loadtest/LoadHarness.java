@@ -0,0 +1,259 @@
+package ca.digilogue.xp.loadtest;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * End-to-end load harness for the generator → InfluxDB → Kafka pipeline.
+ * <p>
+ * Starts an in-process InfluxDB write API stand-in and an embedded Kafka broker, then for
+ * every combination of symbol count and interval boots the service in a child JVM pointed
+ * at them. After a warm-up it measures, over a fixed window:
+ * <ul>
+ *   <li>sustained candles/sec written to InfluxDB and published to Kafka,</li>
+ *   <li>p50/p99/p999 latency from candle timestamp to arrival at each sink,</li>
+ *   <li>GC pause count/time and allocation rate of the service, from its actuator metrics.</li>
+ * </ul>
+ * Results are written as JSON to {@code target/loadtest/report-<timestamp>.json}.
+ * <p>
+ * Run with {@code mvn -Ploadtest verify}; sweep parameters are the system properties
+ * {@code loadtest.symbols}, {@code loadtest.intervals}, {@code loadtest.warmup} and
+ * {@code loadtest.duration} (seconds).
+ */
+public class LoadHarness {
+
+    private static final String TOPIC = "loadtest-ohlcv";
+    private static final int BUILT_IN_SYMBOLS = 3;
+    private static final Pattern EPOCH_MILLIS = Pattern.compile("\"epochMillis\":(\\d+)");
+    private static final Pattern METRIC_VALUE = Pattern.compile("\"statistic\":\"(\\w+)\",\"value\":([0-9.eE+-]+)");
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+
+    public static void main(String[] args) throws Exception {
+        List<Integer> symbolCounts = parseList(System.getProperty("loadtest.symbols", "3,100,500"));
+        List<Integer> intervals = parseList(System.getProperty("loadtest.intervals", "1000,250"));
+        int warmupSeconds = Integer.getInteger("loadtest.warmup", 10);
+        int durationSeconds = Integer.getInteger("loadtest.duration", 30);
+
+        new LoadHarness().run(symbolCounts, intervals, warmupSeconds, durationSeconds);
+    }
+
+    private void run(List<Integer> symbolCounts, List<Integer> intervals, int warmupSeconds, int durationSeconds)
+            throws Exception {
+        EmbeddedKafkaKraftBroker kafka = new EmbeddedKafkaKraftBroker(1, 1, TOPIC);
+        kafka.afterPropertiesSet();
+
+        List<String> results = new ArrayList<>();
+        try (InfluxWriteStandIn influx = new InfluxWriteStandIn()) {
+            for (int symbols : symbolCounts) {
+                for (int interval : intervals) {
+                    log("Scenario: %d symbols @ %d ms", symbols, interval);
+                    results.add(runScenario(influx, kafka.getBrokersAsString(), symbols, interval,
+                        warmupSeconds, durationSeconds));
+                }
+            }
+        } finally {
+            kafka.destroy();
+        }
+
+        Path report = writeReport(results, warmupSeconds, durationSeconds);
+        log("Report written to %s", report.toAbsolutePath());
+    }
+
+    private String runScenario(InfluxWriteStandIn influx, String brokers, int symbols, int interval,
+                               int warmupSeconds, int durationSeconds) throws Exception {
+        int port = freePort();
+        Process service = startService(influx.url(), brokers, port, symbols, interval);
+        LatencyRecorder kafkaLatencies = new LatencyRecorder();
+        AtomicBoolean consuming = new AtomicBoolean(true);
+        Thread consumer = startConsumer(brokers, kafkaLatencies, consuming);
+
+        try {
+            awaitReady(port, service);
+            TimeUnit.SECONDS.sleep(warmupSeconds);
+
+            Map<String, Double> gcBefore = metric(port, "jvm.gc.pause");
+            Map<String, Double> allocatedBefore = metric(port, "jvm.gc.memory.allocated");
+            influx.latencies().start();
+            kafkaLatencies.start();
+
+            TimeUnit.SECONDS.sleep(durationSeconds);
+
+            influx.latencies().stop();
+            kafkaLatencies.stop();
+            Map<String, Double> gcAfter = metric(port, "jvm.gc.pause");
+            Map<String, Double> allocatedAfter = metric(port, "jvm.gc.memory.allocated");
+
+            return String.format(Locale.ROOT,
+                "{\"symbols\":%d,\"intervalMs\":%d,\"durationSec\":%d,"
+                    + "\"influx\":%s,\"kafka\":%s,"
+                    + "\"gcPauses\":%.0f,\"gcPauseTotalMs\":%.1f,\"allocatedBytesPerSec\":%.0f}",
+                symbols + BUILT_IN_SYMBOLS, interval, durationSeconds,
+                sinkJson(influx.latencies(), durationSeconds),
+                sinkJson(kafkaLatencies, durationSeconds),
+                delta(gcBefore, gcAfter, "COUNT"),
+                delta(gcBefore, gcAfter, "TOTAL_TIME") * 1000.0,
+                delta(allocatedBefore, allocatedAfter, "COUNT") / durationSeconds);
+        } finally {
+            consuming.set(false);
+            consumer.join(5000);
+            service.destroy();
+            if (!service.waitFor(15, TimeUnit.SECONDS)) {
+                service.destroyForcibly();
+            }
+        }
+    }
+
+    private Process startService(String influxUrl, String brokers, int port, int symbols, int interval)
+            throws IOException {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        List<String> command = new ArrayList<>(List.of(
+            java, "-cp", System.getProperty("java.class.path"), "ca.digilogue.xp.App",
+            "--server.port=" + port,
+            "--grpc.server.port=-1",
+            "--influxdb.url=" + influxUrl,
+            "--spring.kafka.bootstrap-servers=" + brokers,
+            "--spring.kafka.topic.ohlcv=" + TOPIC,
+            "--ohlcv.symbols.synthetic-count=" + symbols,
+            "--ohlcv.generator.interval-ms=" + interval,
+            "--ohlcv.generator.console-sample-every=0",
+            "--ohlcv.checkpoint.enabled=false",
+            "--management.endpoints.web.exposure.include=health,info,metrics"
+        ));
+
+        File log = Paths.get("target", "loadtest", "service-" + symbols + "-" + interval + ".log").toFile();
+        Files.createDirectories(log.toPath().getParent());
+        return new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(log)
+            .start();
+    }
+
+    private Thread startConsumer(String brokers, LatencyRecorder latencies, AtomicBoolean consuming) {
+        Thread thread = new Thread(() -> {
+            Map<String, Object> config = Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, brokers,
+                ConsumerConfig.GROUP_ID_CONFIG, "loadtest-" + System.nanoTime(),
+                ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest",
+                ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class,
+                ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+            try (KafkaConsumer<String, String> consumer = new KafkaConsumer<>(config)) {
+                consumer.subscribe(List.of(TOPIC));
+                while (consuming.get()) {
+                    for (ConsumerRecord<String, String> record : consumer.poll(Duration.ofMillis(100))) {
+                        long receivedMillis = System.currentTimeMillis();
+                        Matcher matcher = EPOCH_MILLIS.matcher(record.value());
+                        while (matcher.find()) {
+                            latencies.record(receivedMillis - Long.parseLong(matcher.group(1)), 1);
+                        }
+                    }
+                }
+            }
+        }, "loadtest-consumer");
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private void awaitReady(int port, Process service) throws Exception {
+        long deadline = System.currentTimeMillis() + 120_000;
+        while (System.currentTimeMillis() < deadline) {
+            if (!service.isAlive()) {
+                throw new IllegalStateException("Service exited during startup (see target/loadtest/*.log)");
+            }
+            try {
+                HttpResponse<Void> response = http.send(
+                    HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/info")).build(),
+                    HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException ignored) {
+                // Not listening yet
+            }
+            TimeUnit.MILLISECONDS.sleep(500);
+        }
+        throw new IllegalStateException("Service did not become ready on port " + port);
+    }
+
+    /**
+     * Reads an actuator metric as a map of statistic name (COUNT, TOTAL_TIME, ...) to value.
+     */
+    private Map<String, Double> metric(int port, String name) throws Exception {
+        HttpResponse<String> response = http.send(
+            HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/metrics/" + name)).build(),
+            HttpResponse.BodyHandlers.ofString());
+        Map<String, Double> values = new java.util.HashMap<>();
+        Matcher matcher = METRIC_VALUE.matcher(response.body());
+        while (matcher.find()) {
+            values.put(matcher.group(1), Double.parseDouble(matcher.group(2)));
+        }
+        return values;
+    }
+
+    private static double delta(Map<String, Double> before, Map<String, Double> after, String statistic) {
+        return after.getOrDefault(statistic, 0.0) - before.getOrDefault(statistic, 0.0);
+    }
+
+    private static String sinkJson(LatencyRecorder latencies, int durationSeconds) {
+        return String.format(Locale.ROOT,
+            "{\"candlesPerSec\":%.1f,\"latencyMs\":{\"p50\":%d,\"p99\":%d,\"p999\":%d}}",
+            (double) latencies.events() / durationSeconds,
+            latencies.percentile(50), latencies.percentile(99), latencies.percentile(99.9));
+    }
+
+    private static Path writeReport(List<String> results, int warmupSeconds, int durationSeconds) throws IOException {
+        Path dir = Paths.get("target", "loadtest");
+        Files.createDirectories(dir);
+        Path report = dir.resolve("report-" + System.currentTimeMillis() + ".json");
+        String json = String.format(Locale.ROOT,
+            "{\"timestamp\":\"%s\",\"javaVersion\":\"%s\",\"cpus\":%d,\"warmupSec\":%d,\"durationSec\":%d,"
+                + "\"scenarios\":[%s]}%n",
+            Instant.now(), System.getProperty("java.version"), Runtime.getRuntime().availableProcessors(),
+            warmupSeconds, durationSeconds, String.join(",", results));
+        Files.writeString(report, json);
+        return report;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static List<Integer> parseList(String values) {
+        List<Integer> parsed = new ArrayList<>();
+        for (String value : values.split(",")) {
+            parsed.add(Integer.parseInt(value.trim()));
+        }
+        return parsed;
+    }
+
+    private static void log(String format, Object... args) {
+        System.out.printf("[loadtest] " + format + "%n", args);
+    }
+}
@@ -0,0 +1,57 @@
+package ca.digilogue.xp.service;
+
+import ca.digilogue.xp.engine.OhlcvEngine;
+import ca.digilogue.xp.engine.SymbolSpec;
+import ca.digilogue.xp.model.HandoffRequest;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClusterServiceTest {
+
+    // Nothing listens on the discard port, so fetching from "b" fails fast and "a" starts fresh
+    private static final String MEMBERS = "a=http://127.0.0.1:9,b=http://127.0.0.1:9";
+
+    @Test
+    void handsOffOnlyToRingMembers() {
+        ClusterService clusterService = clusterService("s3cret");
+        OhlcvEngine engine = OhlcvEngine.builder().build();
+        List<SymbolSpec> universe = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            universe.add(new SymbolSpec(String.format("SYN%05d-USD", i), 100.0, 2.0));
+        }
+        List<String> symbols = universe.stream().map(SymbolSpec::symbol).toList();
+
+        clusterService.start(engine, universe, "a");
+        int owned = engine.getGenerators().size();
+        assertTrue(owned > 0);
+        clusterService.stop(); // Releases every symbol for handoff
+        String version = clusterService.status().getVersion();
+
+        assertTrue(clusterService.handoff(new HandoffRequest("mallory", version, symbols)).isEmpty());
+        assertTrue(clusterService.handoff(new HandoffRequest("a", version, symbols)).isEmpty());
+        assertEquals(owned, clusterService.handoff(new HandoffRequest("b", version, symbols)).size());
+    }
+
+    @Test
+    void trustsOnlyTheSharedSecret() {
+        ClusterService clusterService = clusterService("s3cret");
+        assertTrue(clusterService.isTrusted("s3cret"));
+        assertFalse(clusterService.isTrusted("guess"));
+        assertFalse(clusterService.isTrusted(null));
+
+        // Without a secret, handoff is disabled
+        assertFalse(clusterService("").isTrusted(""));
+    }
+
+    private static ClusterService clusterService(String secret) {
+        return new ClusterService(JsonMapper.builder().build(), true, "a", MEMBERS, "", 16,
+            60_000, 200, 300_000, 0, secret);
+    }
+}
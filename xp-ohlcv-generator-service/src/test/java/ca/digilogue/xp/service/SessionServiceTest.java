@@ -0,0 +1,43 @@
+package ca.digilogue.xp.service;
+
+import ca.digilogue.xp.engine.SymbolSpec;
+import ca.digilogue.xp.model.SessionRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SessionServiceTest {
+
+    // Oversized requests must be rejected before anything touches the clock, sinks or scheduler
+    private final SessionService sessionService = new SessionService(null, null, null, null,
+        true, 1, 64, 64, 1000, 1000, 100, 1000, 10000,
+        "ohlcv-session-", "ohlcv_session_", "ohlcv-topic", "ohlcv");
+
+    @Test
+    void rejectsSyntheticSymbolCountsBeyondTheLimit() {
+        SessionRequest huge = new SessionRequest();
+        huge.setSyntheticSymbols(2_000_000_000);
+        assertThrows(IllegalArgumentException.class, () -> sessionService.create(huge));
+
+        SessionRequest negative = new SessionRequest();
+        negative.setSymbols(List.of(new SymbolSpec("A-USD", 100.0, 2.0)));
+        negative.setSyntheticSymbols(-1);
+        assertThrows(IllegalArgumentException.class, () -> sessionService.create(negative));
+
+        SessionRequest combined = new SessionRequest();
+        combined.setSymbols(List.of(new SymbolSpec("A-USD", 100.0, 2.0)));
+        combined.setSyntheticSymbols(1000);
+        assertThrows(IllegalArgumentException.class, () -> sessionService.create(combined));
+    }
+
+    @Test
+    void rejectsIndicatorPeriodsBeyondTheLimit() {
+        SessionRequest request = new SessionRequest();
+        request.setSymbols(List.of(new SymbolSpec("A-USD", 100.0, 2.0)));
+        request.setIndicators("sma:2000000000");
+
+        assertThrows(IllegalArgumentException.class, () -> sessionService.create(request));
+    }
+}